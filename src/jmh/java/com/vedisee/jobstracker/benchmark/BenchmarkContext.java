@@ -0,0 +1,80 @@
+package com.vedisee.jobstracker.benchmark;
+
+import com.vedisee.jobstracker.JobstrackerApplication;
+import com.vedisee.jobstracker.config.SyntheticScraperProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import com.vedisee.jobstracker.service.scraper.SyntheticJobScraperService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Application context of a benchmark, on an in-memory H2 database or on a PostgreSQL container
+ * (Docker required), with background scraping disabled. PostgreSQL gets the Flyway schema, indexes included.
+ */
+final class BenchmarkContext {
+
+    static final String H2 = "h2";
+    static final String POSTGRES = "postgres";
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("job.scraping.refresh.enabled", false);
+        PostgreSQLContainer<?> postgres = null;
+        if (POSTGRES.equals(database)) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            properties.put("spring.datasource.url", postgres.getJdbcUrl());
+            properties.put("spring.datasource.username", postgres.getUsername());
+            properties.put("spring.datasource.password", postgres.getPassword());
+            properties.put("spring.datasource.driver-class-name", "org.postgresql.Driver");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.PostgreSQLDialect");
+            properties.put("spring.flyway.enabled", true);
+            properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        } else {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            properties.put("spring.flyway.enabled", false);
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        }
+        // Command line arguments, unlike default properties, take precedence over application.yml
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(JobstrackerApplication.class)
+                .logStartupInfo(false)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+        if (postgres != null) {
+            PostgreSQLContainer<?> container = postgres;
+            context.addApplicationListener((ApplicationListener<ContextClosedEvent>) event -> container.stop());
+        }
+        return context;
+    }
+
+    /**
+     * {@code count} distinct jobs, the same for the same keyword.
+     */
+    static List<Job> jobs(String keyword, int count) {
+        SyntheticScraperProperties properties = new SyntheticScraperProperties(42, count, 1_000, 0, 500, Duration.ZERO, 0, 0);
+        return new SyntheticJobScraperService(Platform.LINKEDIN, properties, new ScrapePipelineMetrics(new SimpleMeterRegistry()))
+                .fetch(ScrapeQuery.of(Platform.LINKEDIN, keyword, "paris"))
+                .collectList()
+                .block();
+    }
+}
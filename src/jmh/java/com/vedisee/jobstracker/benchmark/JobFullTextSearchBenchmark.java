@@ -0,0 +1,66 @@
+package com.vedisee.jobstracker.benchmark;
+
+import com.vedisee.jobstracker.dto.JobSearchHit;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.repository.JobRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@link JobRepository#search} on a PostgreSQL table of {@code rows} jobs, a tenth of them matching
+ * the keyword in their title, next to the {@link JobSearchBenchmark} substring search on the same data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JobFullTextSearchBenchmark {
+
+    private static final String[] KEYWORDS = {"kotlin", "java", "python", "golang", "rust", "scala", "react", "angular",
+            "devops", "data"};
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private JobRepository jobRepository;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start(BenchmarkContext.POSTGRES);
+        jobRepository = context.getBean(JobRepository.class);
+        for (String keyword: KEYWORDS) {
+            List<Job> jobs = BenchmarkContext.jobs(keyword, rows / KEYWORDS.length);
+            for (int from = 0; from < jobs.size(); from += 1_000) {
+                jobRepository.insertIgnoringDuplicates(jobs.subList(from, Math.min(from + 1_000, jobs.size())));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<JobSearchHit> search() {
+        return jobRepository.search("kotlin", false, 0, 50);
+    }
+}
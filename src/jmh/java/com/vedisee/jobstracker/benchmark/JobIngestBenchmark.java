@@ -0,0 +1,127 @@
+package com.vedisee.jobstracker.benchmark;
+
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.repository.JobRepository;
+import com.vedisee.jobstracker.service.JobIngestWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One ingest chunk through {@link JobIngestWriter}: in-chunk dedup, Bloom filter, lookup of possibly known ids
+ * and insert of the new jobs, in one transaction. {@link #rowByRow} is the per-job lookup and insert it replaced,
+ * kept as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JobIngestBenchmark {
+
+    private static final int EXISTING_JOBS = 20_000;
+
+    @Param({BenchmarkContext.H2, BenchmarkContext.POSTGRES})
+    public String database;
+
+    @Param({"500"})
+    public int chunkSize;
+
+    @Param({"0.8"})
+    public double knownRatio;
+
+    private ConfigurableApplicationContext context;
+    private JobIngestWriter jobIngestWriter;
+    private JdbcTemplate jdbcTemplate;
+    private List<Job> existing;
+    private final Random random = new Random(42);
+    private int batch;
+    private List<Job> chunk;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkContext.start(database);
+        jobIngestWriter = context.getBean(JobIngestWriter.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        JobRepository jobRepository = context.getBean(JobRepository.class);
+        existing = BenchmarkContext.jobs("existing", EXISTING_JOBS);
+        for (int from = 0; from < existing.size(); from += 1_000) {
+            jobRepository.insertIgnoringDuplicates(existing.subList(from, Math.min(from + 1_000, existing.size())));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextChunk() {
+        int known = (int) Math.round(chunkSize * knownRatio);
+        chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < known; i++) {
+            chunk.add(copy(existing.get(random.nextInt(existing.size()))));
+        }
+        chunk.addAll(BenchmarkContext.jobs("batch " + batch++, chunkSize - known));
+        Collections.shuffle(chunk, random);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Job> saveNewJobs() {
+        return jobIngestWriter.saveNewJobs(chunk);
+    }
+
+    @Benchmark
+    public int rowByRow() {
+        int inserted = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Job job: chunk) {
+            Integer found = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job WHERE external_id = ?",
+                    Integer.class, job.getExternalId());
+            if (found == null || found == 0) {
+                jdbcTemplate.update("INSERT INTO job (external_id, title, company, description, platform, location, url, created_at, updated_at) "
+                                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        job.getExternalId(), job.getTitle(), job.getCompany(), job.getDescription(),
+                        job.getPlatform().name(), job.getLocation(), job.getUrl(), now, now);
+                inserted++;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * A freshly scraped copy, without the timestamps set when the original was inserted.
+     */
+    private static Job copy(Job job) {
+        return Job.builder()
+                .externalId(job.getExternalId())
+                .title(job.getTitle())
+                .company(job.getCompany())
+                .description(job.getDescription())
+                .platform(job.getPlatform())
+                .location(job.getLocation())
+                .url(job.getUrl())
+                .build();
+    }
+}
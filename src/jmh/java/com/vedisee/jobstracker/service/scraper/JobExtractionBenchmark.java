@@ -0,0 +1,48 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of one result page fixture and extraction of its jobs with the shipped rules, in pages per second;
+ * the gc profiler of the {@code benchmark} profile adds the bytes allocated per page ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobExtractionBenchmark {
+
+    @Param({"LINKEDIN", "INDEED", "GOOGLE_JOBS"})
+    public Platform platform;
+
+    private JobExtractor jobExtractor;
+    private String html;
+    private String url;
+
+    @Setup
+    public void loadFixture() {
+        jobExtractor = new JobExtractor(JobExtractorTest.shippedRules());
+        html = JobExtractorTest.fixture(platform);
+        url = jobExtractor.searchUrl(ScrapeQuery.of(platform, "java developer", "paris"));
+    }
+
+    @Benchmark
+    public ExtractedPage extract() {
+        return jobExtractor.extract(platform, html, url);
+    }
+}
@@ -1,25 +1,46 @@
 package com.vedisee.jobstracker.component;
 
-import com.vedisee.jobstracker.service.JobScrapingService;
+import com.vedisee.jobstracker.config.RefreshScheduleProperties;
+import com.vedisee.jobstracker.service.ScrapeRunService;
+import com.vedisee.jobstracker.service.ScrapeRunTicket;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JobScrapingScheduler {
-    private final JobScrapingService jobScrapingService;
+    private final ScrapeRunService scrapeRunService;
+    private final RefreshScheduleProperties refreshScheduleProperties;
 
     @Scheduled(cron = "${job.scraping.cron:0 0 2 * * *}")
     public void scheduleScrapping() {
+        if (refreshScheduleProperties.enabled()) {
+            log.debug("Adaptive refresh enabled, skipping the global scraping cron");
+            return;
+        }
         log.info("Starting scraping...");
 
         try {
-            jobScrapingService.scrapAllPlatforms();
+            ScrapeRunTicket ticket = scrapeRunService.trigger(false, scheduledRunId(Instant.now()));
+            log.info("Scheduled scraping {} run {}", ticket.joined() ? "joined" : "started", ticket.runId());
         } catch (Exception e) {
             log.error("Failed while scheduling the jobs scraping: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Every replica fires the same cron; deriving the run id from the firing minute makes them all
+     * enqueue into, and share, the same run.
+     */
+    public static UUID scheduledRunId(Instant firedAt) {
+        return UUID.nameUUIDFromBytes(("scheduled:" + firedAt.truncatedTo(ChronoUnit.MINUTES)).getBytes(StandardCharsets.UTF_8));
+    }
 }
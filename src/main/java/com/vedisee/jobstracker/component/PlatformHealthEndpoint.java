@@ -0,0 +1,22 @@
+package com.vedisee.jobstracker.component;
+
+import com.vedisee.jobstracker.service.PlatformHealthRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "platforms")
+@RequiredArgsConstructor
+public class PlatformHealthEndpoint {
+
+    private final PlatformHealthRegistry platformHealthRegistry;
+
+    @ReadOperation
+    public Map<String, PlatformHealthRegistry.Snapshot> platforms() {
+        return platformHealthRegistry.snapshot();
+    }
+}
@@ -0,0 +1,22 @@
+package com.vedisee.jobstracker.component;
+
+import com.vedisee.jobstracker.service.AdaptiveRefreshScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "refreshschedule")
+@RequiredArgsConstructor
+public class RefreshScheduleEndpoint {
+
+    private final AdaptiveRefreshScheduler adaptiveRefreshScheduler;
+
+    @ReadOperation
+    public List<AdaptiveRefreshScheduler.Snapshot> refreshSchedule() {
+        return adaptiveRefreshScheduler.snapshot();
+    }
+}
@@ -0,0 +1,17 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "job.scraping.ingest")
+public record IngestProperties(
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("2") int prefetchChunks,
+        @DefaultValue("100") int criteriaPageSize
+) {
+    public IngestProperties {
+        batchSize = Math.max(1, batchSize);
+        prefetchChunks = Math.max(1, prefetchChunks);
+        criteriaPageSize = Math.max(1, criteriaPageSize);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk export of {@code GET /api/jobs/export}: rows are read through a database cursor {@code fetchSize} at a time
+ * and written out before the next batch is fetched.
+ */
+@ConfigurationProperties(prefix = "job.api.export")
+public record JobExportProperties(
+        @DefaultValue("1000") int fetchSize
+) {
+    public JobExportProperties {
+        fetchSize = Math.max(1, fetchSize);
+    }
+}
@@ -0,0 +1,22 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Page sizes of {@code GET /api/jobs}: {@code defaultSize} when the client asks for none, {@code maxSize} at most.
+ */
+@ConfigurationProperties(prefix = "job.api.page")
+public record JobPageProperties(
+        @DefaultValue("50") int defaultSize,
+        @DefaultValue("500") int maxSize
+) {
+    public JobPageProperties {
+        maxSize = Math.max(1, maxSize);
+        defaultSize = Math.min(Math.max(1, defaultSize), maxSize);
+    }
+
+    public int sizeOf(Integer requested) {
+        return requested == null ? defaultSize : Math.min(Math.max(1, requested), maxSize);
+    }
+}
@@ -0,0 +1,25 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param minRebuildInterval shortest delay between two rebuilds triggered by capacity or false-positive drift
+ */
+@ConfigurationProperties(prefix = "job.scraping.known-ids")
+public record KnownExternalIdProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long expectedInsertions,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("8MB") DataSize maxSize,
+        @DefaultValue("5000") int fetchSize,
+        @DefaultValue("10m") Duration minRebuildInterval
+) {
+    public KnownExternalIdProperties {
+        expectedInsertions = Math.max(1, expectedInsertions);
+        fetchSize = Math.max(1, fetchSize);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Near-duplicate detection of newly inserted jobs. Two jobs become candidates when the {@code rows} MinHash values
+ * of one of the {@code bands} bands all agree, which for a Jaccard similarity s happens with probability
+ * 1 - (1 - s^rows)^bands; candidates are then confirmed against {@code similarityThreshold}. Changing the shingle
+ * size, bands or rows leaves the buckets already stored unmatchable.
+ *
+ * @param shingleSize            words per shingle
+ * @param similarityThreshold    Jaccard similarity of the shingles from which two jobs are the same posting
+ * @param maxCandidatesPerBucket most recent jobs of a bucket loaded as candidates, so that a bucket shared by
+ *                               boilerplate postings does not load thousands of jobs per chunk
+ */
+@ConfigurationProperties(prefix = "job.scraping.near-duplicates")
+public record NearDuplicateProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int shingleSize,
+        @DefaultValue("16") int bands,
+        @DefaultValue("4") int rows,
+        @DefaultValue("0.7") double similarityThreshold,
+        @DefaultValue("50") int maxCandidatesPerBucket
+) {
+    public NearDuplicateProperties {
+        shingleSize = Math.max(1, shingleSize);
+        bands = Math.max(1, bands);
+        rows = Math.max(1, rows);
+        similarityThreshold = Math.min(Math.max(similarityThreshold, 0), 1);
+        maxCandidatesPerBucket = Math.max(1, maxCandidatesPerBucket);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job.scraping.health")
+public record PlatformHealthProperties(
+        @DefaultValue("1m") Duration cacheTtl,
+        @DefaultValue("3") int failureThreshold,
+        @DefaultValue("5m") Duration openDuration
+) {
+    public PlatformHealthProperties {
+        failureThreshold = Math.max(1, failureThreshold);
+    }
+}
@@ -0,0 +1,39 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job.scraping.refresh")
+public record RefreshScheduleProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1h") Duration minInterval,
+        @DefaultValue("24h") Duration maxInterval,
+        @DefaultValue("6h") Duration initialInterval,
+        @DefaultValue("5") double targetNewJobs,
+        @DefaultValue("0.3") double smoothing,
+        @DefaultValue("0.1") double jitter,
+        @DefaultValue("1m") Duration tickInterval,
+        @DefaultValue("50") int maxRefreshesPerTick,
+        @DefaultValue("10m") Duration resyncInterval
+) {
+    public RefreshScheduleProperties {
+        if (maxInterval.compareTo(minInterval) < 0) {
+            maxInterval = minInterval;
+        }
+        initialInterval = clamp(initialInterval, minInterval, maxInterval);
+        targetNewJobs = Math.max(targetNewJobs, 0.1);
+        smoothing = Math.min(Math.max(smoothing, 0.01), 1.0);
+        jitter = Math.min(Math.max(jitter, 0.0), 0.5);
+        maxRefreshesPerTick = Math.max(1, maxRefreshesPerTick);
+    }
+
+    public Duration clamp(Duration interval) {
+        return clamp(interval, minInterval, maxInterval);
+    }
+
+    private static Duration clamp(Duration interval, Duration min, Duration max) {
+        return interval.compareTo(min) < 0 ? min : interval.compareTo(max) > 0 ? max : interval;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "job.scraping.planner")
+public record ScrapePlannerProperties(
+        Map<Platform, Integer> requestBudget
+) {
+    public ScrapePlannerProperties {
+        requestBudget = requestBudget == null ? Map.of() : Map.copyOf(requestBudget);
+    }
+}
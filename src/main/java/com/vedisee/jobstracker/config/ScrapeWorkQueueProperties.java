@@ -0,0 +1,22 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job.scraping.work-queue")
+public record ScrapeWorkQueueProperties(
+        @DefaultValue("false") boolean enabled,
+        String nodeId,
+        @DefaultValue("8") int batchSize,
+        @DefaultValue("2m") Duration leaseDuration,
+        @DefaultValue("30s") Duration heartbeatInterval,
+        @DefaultValue("15s") Duration pollInterval,
+        @DefaultValue("3") int maxAttempts
+) {
+    public ScrapeWorkQueueProperties {
+        batchSize = Math.max(1, batchSize);
+        maxAttempts = Math.max(1, maxAttempts);
+    }
+}
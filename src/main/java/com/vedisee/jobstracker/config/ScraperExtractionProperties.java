@@ -0,0 +1,95 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Declarative scraping rules per platform: the search URL template, how result pages follow each other and
+ * the CSS selectors mapping a result item to a job. A platform without rules scrapes nothing.
+ */
+@ConfigurationProperties(prefix = "job.scraping.extraction")
+public record ScraperExtractionProperties(
+        @DefaultValue("Mozilla/5.0 (compatible; JobsTracker/1.0)") String userAgent,
+        Map<Platform, Site> platforms
+) {
+    public ScraperExtractionProperties {
+        platforms = platforms == null ? Map.of() : Map.copyOf(platforms);
+    }
+
+    /**
+     * @param searchUrl template with the {@code {keyword}}, {@code {location}}, {@code {page}} (1-based) and
+     *                  {@code {offset}} placeholders
+     * @param item      selector of one result item in a page
+     */
+    public record Site(
+            String searchUrl,
+            String item,
+            Fields fields,
+            @DefaultValue Pagination pagination
+    ) {
+    }
+
+    public record Fields(
+            Field externalId,
+            Field title,
+            Field company,
+            Field location,
+            Field description,
+            Field url
+    ) {
+    }
+
+    /**
+     * @param value     fixed value, the page is not read when set
+     * @param selector  selector relative to the item, the item itself when blank
+     * @param attribute attribute holding the value, the element text when blank
+     * @param pattern   optional regular expression, its first group is kept
+     */
+    public record Field(
+            String value,
+            String selector,
+            String attribute,
+            String pattern,
+            @DefaultValue("TEXT") Mapper mapper
+    ) {
+    }
+
+    public enum Mapper {
+        /** Whitespace collapsed and trimmed. */
+        TEXT,
+        /** Resolved against the page URL. */
+        URL
+    }
+
+    /**
+     * @param mode     {@code OFFSET} and {@code PAGE} fill the search URL placeholders, {@code NEXT_LINK} follows
+     *                 the link matched by {@code nextSelector}
+     * @param pageSize items of a full page; a shorter page is the last one
+     * @param maxPages pages fetched at most per query
+     * @param prefetch page fetches kept in flight while earlier pages are parsed and ingested, {@code 1} fetches
+     *                 one page after the other; {@code NEXT_LINK} pages are only known once the previous one is
+     *                 parsed, so at most the next page is fetched ahead
+     */
+    public record Pagination(
+            @DefaultValue("OFFSET") Mode mode,
+            @DefaultValue("0") int pageSize,
+            @DefaultValue("1") int maxPages,
+            String nextSelector,
+            @DefaultValue("1") int prefetch
+    ) {
+        public Pagination {
+            pageSize = Math.max(0, pageSize);
+            maxPages = Math.max(1, maxPages);
+            prefetch = Math.max(1, prefetch);
+        }
+
+        public enum Mode {
+            OFFSET,
+            PAGE,
+            NEXT_LINK
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job.scraping.http-cache")
+public record ScraperHttpCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("32MB") DataSize maxSize
+) {
+    public ScraperHttpCacheProperties {
+        maxEntries = Math.max(1, maxEntries);
+    }
+}
@@ -0,0 +1,56 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Transport of the shared scraper {@code WebClient}: one named connection pool per platform, plus a default pool
+ * for any other host.
+ *
+ * @param readTimeout     longest silence while reading a response
+ * @param responseTimeout longest wait for the response headers once the request is sent
+ * @param http2           negotiates HTTP/2 over TLS when the server offers it, HTTP/1.1 otherwise
+ * @param compression     asks for compressed responses and decodes them (brotli when its codec is on the classpath)
+ */
+@ConfigurationProperties(prefix = "job.scraping.http-client")
+public record ScraperHttpClientProperties(
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("30s") Duration responseTimeout,
+        @DefaultValue("true") boolean http2,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue Pool defaults,
+        Map<Platform, Pool> platforms
+) {
+    public ScraperHttpClientProperties {
+        platforms = platforms == null ? Map.of() : Map.copyOf(platforms);
+    }
+
+    public Pool poolFor(Platform platform) {
+        return platforms.getOrDefault(platform, defaults);
+    }
+
+    /**
+     * @param pendingAcquireMaxCount requests waiting for a connection at most, further ones fail fast
+     * @param maxIdleTime            idle connections are closed after this delay
+     * @param maxLifeTime            connections are recycled after this age, so DNS changes are picked up
+     * @param evictionInterval       how often idle and expired connections are evicted in the background
+     */
+    public record Pool(
+            @DefaultValue("16") int maxConnections,
+            @DefaultValue("64") int pendingAcquireMaxCount,
+            @DefaultValue("10s") Duration pendingAcquireTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("5m") Duration maxLifeTime,
+            @DefaultValue("30s") Duration evictionInterval
+    ) {
+        public Pool {
+            maxConnections = Math.max(1, maxConnections);
+            pendingAcquireMaxCount = Math.max(1, pendingAcquireMaxCount);
+        }
+    }
+}
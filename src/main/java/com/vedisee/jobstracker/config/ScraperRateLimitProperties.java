@@ -0,0 +1,42 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "job.scraping.rate-limit")
+public record ScraperRateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit defaults,
+        Map<Platform, Limit> platforms,
+        @DefaultValue("5s") Duration latencyThreshold,
+        @DefaultValue("0.5") double backoffFactor
+) {
+    public ScraperRateLimitProperties {
+        platforms = platforms == null ? Map.of() : Map.copyOf(platforms);
+        backoffFactor = Math.min(Math.max(backoffFactor, 0.1), 0.9);
+    }
+
+    public Limit limitFor(Platform platform) {
+        return platforms.getOrDefault(platform, defaults);
+    }
+
+    public record Limit(
+            @DefaultValue("1") double permitsPerSecond,
+            @DefaultValue("5") int burst,
+            @DefaultValue("2") int initialConcurrency,
+            @DefaultValue("1") int minConcurrency,
+            @DefaultValue("8") int maxConcurrency
+    ) {
+        public Limit {
+            permitsPerSecond = Math.max(permitsPerSecond, 0.01);
+            burst = Math.max(1, burst);
+            minConcurrency = Math.max(1, minConcurrency);
+            maxConcurrency = Math.max(minConcurrency, maxConcurrency);
+            initialConcurrency = Math.min(Math.max(initialConcurrency, minConcurrency), maxConcurrency);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "job.scraping.concurrency")
+public record ScrapingConcurrencyProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("4") int defaultParallelism,
+        Map<Platform, Integer> platformParallelism,
+        @DefaultValue("2m") Duration taskTimeout,
+        @DefaultValue("30m") Duration runTimeout
+) {
+    public ScrapingConcurrencyProperties {
+        platformParallelism = platformParallelism == null ? Map.of() : Map.copyOf(platformParallelism);
+    }
+
+    public int parallelismFor(Platform platform) {
+        return Math.max(1, platformParallelism.getOrDefault(platform, defaultParallelism));
+    }
+}
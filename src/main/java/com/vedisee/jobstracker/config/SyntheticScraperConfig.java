@@ -0,0 +1,33 @@
+package com.vedisee.jobstracker.config;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import com.vedisee.jobstracker.service.scraper.JobScraperService;
+import com.vedisee.jobstracker.service.scraper.SyntheticJobScraperService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the platform scrapers by synthetic ones in the {@code synthetic} profile, for load and benchmark runs
+ * without network.
+ */
+@Configuration
+@Profile("synthetic")
+public class SyntheticScraperConfig {
+
+    @Bean
+    public JobScraperService syntheticLinkedInScraper(SyntheticScraperProperties properties, ScrapePipelineMetrics pipelineMetrics) {
+        return new SyntheticJobScraperService(Platform.LINKEDIN, properties, pipelineMetrics);
+    }
+
+    @Bean
+    public JobScraperService syntheticIndeedScraper(SyntheticScraperProperties properties, ScrapePipelineMetrics pipelineMetrics) {
+        return new SyntheticJobScraperService(Platform.INDEED, properties, pipelineMetrics);
+    }
+
+    @Bean
+    public JobScraperService syntheticGoogleJobsScraper(SyntheticScraperProperties properties, ScrapePipelineMetrics pipelineMetrics) {
+        return new SyntheticJobScraperService(Platform.GOOGLE_JOBS, properties, pipelineMetrics);
+    }
+}
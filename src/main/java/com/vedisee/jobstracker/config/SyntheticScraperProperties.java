@@ -0,0 +1,39 @@
+package com.vedisee.jobstracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Synthetic scrapers of the {@code synthetic} profile. Jobs derive from the seed and the query only, so two runs
+ * with the same settings return the same jobs, and a rescan finds every job already known.
+ *
+ * @param jobsPerQuery    jobs returned by one query
+ * @param pageSize        jobs per simulated result page, latency and errors apply per page
+ * @param duplicateRate   share of jobs drawn from a pool common to all queries of a platform, found again by
+ *                        other queries of the same run
+ * @param descriptionSize characters of each job description, 2000 at most like scraped ones
+ * @param pageLatency     mean latency of a page, the actual one is uniform within {@code latencyJitter} of it
+ * @param errorRate       probability that a page fails, failing the query
+ */
+@ConfigurationProperties(prefix = "job.scraping.synthetic")
+public record SyntheticScraperProperties(
+        @DefaultValue("42") long seed,
+        @DefaultValue("1000") int jobsPerQuery,
+        @DefaultValue("25") int pageSize,
+        @DefaultValue("0.2") double duplicateRate,
+        @DefaultValue("1000") int descriptionSize,
+        @DefaultValue("0ms") Duration pageLatency,
+        @DefaultValue("0.5") double latencyJitter,
+        @DefaultValue("0") double errorRate
+) {
+    public SyntheticScraperProperties {
+        jobsPerQuery = Math.max(0, jobsPerQuery);
+        pageSize = Math.max(1, pageSize);
+        duplicateRate = Math.min(Math.max(duplicateRate, 0), 1);
+        descriptionSize = Math.min(Math.max(0, descriptionSize), 2000);
+        latencyJitter = Math.min(Math.max(latencyJitter, 0), 1);
+        errorRate = Math.min(Math.max(errorRate, 0), 1);
+    }
+}
@@ -1,5 +1,9 @@
 package com.vedisee.jobstracker.config;
 
+import com.vedisee.jobstracker.service.scraper.PlatformHttpConnector;
+import com.vedisee.jobstracker.service.scraper.PlatformRateLimiter;
+import com.vedisee.jobstracker.service.scraper.ScraperResponseCache;
+import com.vedisee.jobstracker.service.scraper.ScraperTrafficMeter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -8,7 +12,18 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient.Builder webClientBuilder(ScraperHttpCacheProperties cacheProperties, ScraperResponseCache responseCache,
+                                              ScraperRateLimitProperties rateLimitProperties, PlatformRateLimiter rateLimiter,
+                                              ScraperTrafficMeter trafficMeter, PlatformHttpConnector httpConnector) {
+        WebClient.Builder builder = WebClient.builder().clientConnector(httpConnector);
+        // Cache first: responses served from the cache do not spend rate limit permits nor count as downloaded.
+        if (cacheProperties.enabled()) {
+            builder.filter(responseCache);
+        }
+        builder.filter(trafficMeter);
+        if (rateLimitProperties.enabled()) {
+            builder.filter(rateLimiter);
+        }
+        return builder;
     }
 }
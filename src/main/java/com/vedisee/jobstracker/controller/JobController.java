@@ -1,16 +1,32 @@
 package com.vedisee.jobstracker.controller;
 
 import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.JobExportFormat;
+import com.vedisee.jobstracker.service.JobExportService;
 import com.vedisee.jobstracker.service.JobService;
+import com.vedisee.jobstracker.service.ScrapeRunStatus;
+import com.vedisee.jobstracker.service.ScrapeRunTicket;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.dto.JobPage;
+import com.vedisee.jobstracker.dto.JobSearchPage;
 import com.vedisee.jobstracker.dto.SearchCriteriaDto;
 import jakarta.validation.Valid;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api")
@@ -18,10 +34,50 @@ import java.util.List;
 public class JobController {
 
     private final JobService jobService;
+    private final JobExportService jobExportService;
 
     @GetMapping("/jobs")
-    public ResponseEntity<List<Job>> getAllJobs() {
-        return ResponseEntity.ok(jobService.findAllJobs());
+    public ResponseEntity<JobPage> getJobs(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(defaultValue = "false") boolean collapseDuplicates) {
+        try {
+            return ResponseEntity.ok(jobService.findJobs(cursor, size, collapseDuplicates));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/jobs/search")
+    public ResponseEntity<JobSearchPage> searchJobs(@RequestParam String q,
+                                                    @RequestParam(required = false) Integer page,
+                                                    @RequestParam(required = false) Integer size,
+                                                    @RequestParam(defaultValue = "false") boolean collapseDuplicates) {
+        try {
+            return ResponseEntity.ok(jobService.searchJobs(q, page, size, collapseDuplicates));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/jobs/export")
+    public ResponseEntity<StreamingResponseBody> exportJobs(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Platform platform,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince) {
+        JobExportFormat exportFormat;
+        try {
+            exportFormat = JobExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        JobExportFilter filter = new JobExportFilter(platform, since, until, updatedSince);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("jobs." + exportFormat.getExtension()).build().toString())
+                .body(out -> jobExportService.export(filter, exportFormat, out));
     }
 
     @GetMapping("/jobs/{id}")
@@ -31,6 +87,13 @@ public class JobController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/jobs/{id}/duplicates")
+    public ResponseEntity<List<Job>> getJobDuplicates(@PathVariable Long id) {
+        return jobService.findDuplicates(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/criteria")
     public ResponseEntity<List<SearchCriteria>> getAllSearchCriteria() {
         return ResponseEntity.ok(jobService.findAllSearchCriteria());
@@ -47,8 +110,17 @@ public class JobController {
     }
 
     @PostMapping("/jobs/scrape")
-    public ResponseEntity<Void> triggerJobScraping() {
-        jobService.triggerJobScraping();
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ScrapeRunTicket> triggerJobScraping(@RequestParam(defaultValue = "false") boolean fullRescan) {
+        ScrapeRunTicket ticket = jobService.triggerJobScraping(fullRescan);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/scrape-runs/" + ticket.runId()))
+                .body(ticket);
+    }
+
+    @GetMapping("/scrape-runs/{id}")
+    public ResponseEntity<ScrapeRunStatus> getScrapeRun(@PathVariable UUID id) {
+        return jobService.findScrapeRun(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
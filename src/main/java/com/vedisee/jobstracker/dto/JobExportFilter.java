@@ -0,0 +1,20 @@
+package com.vedisee.jobstracker.dto;
+
+import com.vedisee.jobstracker.model.Platform;
+
+import java.time.LocalDateTime;
+
+/**
+ * Jobs of a bulk export, every criterion being optional: {@code platform}, created from {@code since} included
+ * until {@code until} excluded, and updated from {@code updatedSince} included.
+ */
+public record JobExportFilter(
+    Platform platform,
+    LocalDateTime since,
+    LocalDateTime until,
+    LocalDateTime updatedSince
+) {
+    public static JobExportFilter all() {
+        return new JobExportFilter(null, null, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.vedisee.jobstracker.dto;
+
+import com.vedisee.jobstracker.model.Job;
+
+import java.util.List;
+
+/**
+ * One page of jobs in creation order; {@code nextCursor} fetches the following page and is {@code null} on the last one.
+ */
+public record JobPage(
+    List<Job> items,
+    String nextCursor
+) {}
@@ -0,0 +1,13 @@
+package com.vedisee.jobstracker.dto;
+
+import com.vedisee.jobstracker.model.Job;
+
+/**
+ * Job matching a full-text search, with its relevance and an excerpt of its description where the matched
+ * terms are wrapped in {@code <mark>} tags.
+ */
+public record JobSearchHit(
+    Job job,
+    double rank,
+    String snippet
+) {}
@@ -0,0 +1,11 @@
+package com.vedisee.jobstracker.dto;
+
+import java.util.List;
+
+/**
+ * One page of search hits by decreasing relevance; {@code nextPage} is {@code null} on the last one.
+ */
+public record JobSearchPage(
+    List<JobSearchHit> items,
+    Integer nextPage
+) {}
@@ -1,12 +1,16 @@
 package com.vedisee.jobstracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Entity
 @Data
@@ -46,6 +50,25 @@ public class Job {
     @Column
     private LocalDateTime updatedAt;
 
+    @JsonIgnore
+    @Column
+    private Long contentHash;
+
+    /**
+     * Id of the canonical job of the near-duplicate cluster this job joined, {@code null} for canonical jobs.
+     */
+    @Column
+    private Long clusterId;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "job_lsh_bucket", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = "idx_job_lsh_bucket_bucket", columnList = "bucket"))
+    @Column(name = "bucket")
+    private Set<Long> lshBuckets;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
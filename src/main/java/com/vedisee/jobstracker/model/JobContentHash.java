@@ -0,0 +1,41 @@
+package com.vedisee.jobstracker.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 64-bit fingerprint of the scraped content of a {@link Job}: the first 8 bytes of the SHA-256 of its title,
+ * company, location, url and description. Identity fields are left out, so an edited posting keeps its row and
+ * only changes hash.
+ */
+public final class JobContentHash {
+
+    private static final byte SEPARATOR = 0x1F;
+    private static final byte NULL_FIELD = 0x00;
+
+    private JobContentHash() {
+    }
+
+    public static long of(Job job) {
+        MessageDigest digest = sha256();
+        for (String field: new String[]{job.getTitle(), job.getCompany(), job.getLocation(), job.getUrl(), job.getDescription()}) {
+            if (field == null) {
+                digest.update(NULL_FIELD);
+            } else {
+                digest.update(field.getBytes(StandardCharsets.UTF_8));
+            }
+            digest.update(SEPARATOR);
+        }
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
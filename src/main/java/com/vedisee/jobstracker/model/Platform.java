@@ -1,5 +1,8 @@
 package com.vedisee.jobstracker.model;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 public enum Platform {
     LINKEDIN("LinkedIn", "https://www.linkedin.com/jobs"),
     INDEED("Indeed", "https://www.indeed.com"),
@@ -20,4 +23,13 @@ public enum Platform {
     public String getUrl() {
         return url;
     }
+
+    public static Optional<Platform> fromUrl(String url) {
+        if (url == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(platform -> url.startsWith(platform.url))
+                .findFirst();
+    }
 }
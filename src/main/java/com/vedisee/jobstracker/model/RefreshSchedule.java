@@ -0,0 +1,44 @@
+package com.vedisee.jobstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * When one (criteria, platform) pair is next refreshed by the adaptive refresh, and the interval and smoothed
+ * rate of new jobs that due time was derived from. Shared by every node.
+ */
+@Entity
+@Table(name = "refresh_schedule",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"criteria_id", "platform"}),
+        indexes = @Index(name = "idx_refresh_schedule_next_due_at", columnList = "next_due_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "criteria_id", nullable = false)
+    private Long criteriaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Platform platform;
+
+    @Column(name = "interval_ms", nullable = false)
+    private long intervalMs;
+
+    @Column(name = "next_due_at", nullable = false)
+    private LocalDateTime nextDueAt;
+
+    private LocalDateTime lastRefreshAt;
+
+    private Double newJobsPerHour;
+}
@@ -0,0 +1,67 @@
+package com.vedisee.jobstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one finished scraping run. Its per-platform and per-criteria breakdown is in {@link ScrapeRunStat}.
+ */
+@Entity
+@Table(name = "scrape_run_history",
+        indexes = @Index(name = "idx_scrape_run_history_started_at", columnList = "started_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeRunHistory {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false, unique = true, length = 36)
+    private String runId;
+
+    @Column(nullable = false, length = 32)
+    private String state;
+
+    @Column(nullable = false)
+    private boolean fullRescan;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(nullable = false)
+    private long criteria;
+
+    @Column(nullable = false)
+    private long tasks;
+
+    @Column(nullable = false)
+    private long failedTasks;
+
+    @Column(nullable = false)
+    private long fetchedJobs;
+
+    @Column(nullable = false)
+    private long newJobs;
+
+    @Column(nullable = false)
+    private double dedupHitRatio;
+
+    @Column(nullable = false)
+    private long bytesDownloaded;
+
+    @Column(length = 1000)
+    private String error;
+}
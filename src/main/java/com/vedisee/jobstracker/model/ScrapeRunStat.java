@@ -0,0 +1,63 @@
+package com.vedisee.jobstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of a finished scraping run for one platform or one criteria. The duration adds up the time spent
+ * in each query of that scope.
+ */
+@Entity
+@Table(name = "scrape_run_stat",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "scope", "scope_key"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeRunStat {
+    public enum Scope {
+        PLATFORM,
+        CRITERIA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false, length = 36)
+    private String runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Scope scope;
+
+    @Column(name = "scope_key", nullable = false)
+    private String scopeKey;
+
+    @Column(nullable = false)
+    private long tasks;
+
+    @Column(nullable = false)
+    private long failedTasks;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+
+    @Column(nullable = false)
+    private long fetchedJobs;
+
+    @Column(nullable = false)
+    private long newJobs;
+
+    @Column(nullable = false)
+    private double dedupHitRatio;
+
+    @Column(nullable = false)
+    private long bytesDownloaded;
+
+    @Column(length = 1000)
+    private String lastError;
+}
@@ -0,0 +1,80 @@
+package com.vedisee.jobstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One coalesced (platform, keyword, location) query of a scraping run, queued for whichever node claims it.
+ */
+@Entity
+@Table(name = "scrape_task",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"run_id", "platform", "keyword", "location"}),
+        indexes = @Index(name = "idx_scrape_task_status", columnList = "status, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeTask {
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false, length = 36)
+    private String runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Platform platform;
+
+    @Column(nullable = false)
+    private String keyword;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false, length = 4000)
+    private String criteriaIds;
+
+    @Column(nullable = false)
+    private boolean fullRescan;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column
+    private String leaseOwner;
+
+    @Column
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(nullable = false)
+    private long fetchedJobs;
+
+    @Column(nullable = false)
+    private long newJobs;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
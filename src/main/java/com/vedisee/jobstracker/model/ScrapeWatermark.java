@@ -0,0 +1,41 @@
+package com.vedisee.jobstracker.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "scrape_watermark",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"criteria_id", "platform", "keyword", "location"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrapeWatermark {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "criteria_id", nullable = false)
+    private Long criteriaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Platform platform;
+
+    @Column(nullable = false)
+    private String keyword;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private String lastExternalId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,7 @@ package com.vedisee.jobstracker.repository;
 
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.Platform;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,14 +13,32 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JobRepositoryCustom {
     Optional<Job> findByExternalId(String externalId);
 
     List<Job> findByPlatform(Platform platform);
 
+    @Query("SELECT j FROM Job j ORDER BY j.createdAt, j.id")
+    List<Job> findFirstPage(Limit limit);
+
+    @Query("SELECT j FROM Job j WHERE (j.createdAt, j.id) > (:createdAt, :id) ORDER BY j.createdAt, j.id")
+    List<Job> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT j FROM Job j WHERE j.clusterId IS NULL ORDER BY j.createdAt, j.id")
+    List<Job> findFirstCanonicalPage(Limit limit);
+
+    @Query("SELECT j FROM Job j WHERE j.clusterId IS NULL AND (j.createdAt, j.id) > (:createdAt, :id) ORDER BY j.createdAt, j.id")
+    List<Job> findCanonicalPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT j FROM Job j WHERE j.id = :clusterId OR j.clusterId = :clusterId ORDER BY j.id")
+    List<Job> findCluster(@Param("clusterId") Long clusterId);
+
     @Query("SELECT j FROM Job j WHERE j.createdAt >= :since")
     List<Job> findNewJobsSince(@Param("since") LocalDateTime since);
 
+    /**
+     * Portable substring search, which no index can serve; {@link #search} is the indexed full-text search.
+     */
     @Query("SELECT j FROM Job j WHERE " +
         "LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
         "LOWER(j.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
@@ -0,0 +1,53 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.dto.JobSearchHit;
+import com.vedisee.jobstracker.model.Job;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface JobRepositoryCustom {
+    /**
+     * Stored content hash of each known external id, {@code null} for rows written before hashes existed.
+     */
+    Map<String, Long> findContentHashes(Collection<String> externalIds);
+
+    /**
+     * Inserts the jobs whose external id is not stored yet and returns those actually inserted, with their ids.
+     */
+    List<Job> insertIgnoringDuplicates(List<Job> jobs);
+
+    /**
+     * Rewrites the content of already stored jobs whose content hash differs and returns those actually updated,
+     * with their ids.
+     */
+    List<Job> updateChangedContent(List<Job> jobs);
+
+    /**
+     * Ids of the most recent jobs filed under each of the given LSH buckets, at most {@code limitPerBucket} per bucket.
+     */
+    Map<Long, List<Long>> findJobIdsByLshBuckets(Collection<Long> buckets, int limitPerBucket);
+
+    void insertLshBuckets(Map<Long, long[]> bucketsByJobId);
+
+    void deleteLshBuckets(Collection<Long> jobIds);
+
+    void assignClusters(Map<Long, Long> clusterIdByJobId);
+
+    void forEachExternalId(int fetchSize, Consumer<String> consumer);
+
+    /**
+     * Streams the jobs matching {@code filter} in id order, {@code fetchSize} rows at a time. The rows are detached
+     * copies, not managed entities; Postgres only reads through a cursor inside a transaction.
+     */
+    void forEachJob(JobExportFilter filter, int fetchSize, Consumer<Job> consumer);
+
+    /**
+     * Full-text search of the weighted {@code search_vector} column (PostgreSQL only), best hits first.
+     * {@code query} uses web search syntax: quoted phrases, {@code or} and {@code -} exclusions.
+     */
+    List<JobSearchHit> search(String query, boolean canonicalOnly, long offset, int limit);
+}
@@ -0,0 +1,322 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.dto.JobSearchHit;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.JobContentHash;
+import com.vedisee.jobstracker.model.Platform;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Set-based ingest operations for {@link JobRepository}. One lookup and one multi-row insert per chunk
+ * replace the per-job findByExternalId/save round trips, which IDENTITY ids prevent Hibernate from batching.
+ * Writes report the rows they actually changed, with their ids, through {@link #returning} rather than update
+ * counts, which drivers rewriting batches (pgjdbc {@code reWriteBatchedInserts}) only give as SUCCESS_NO_INFO.
+ */
+@RequiredArgsConstructor
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    private static final String SELECT_CONTENT_HASHES = "SELECT external_id, content_hash FROM job WHERE external_id IN (:externalIds)";
+
+    private static final String SELECT_ALL_EXTERNAL_IDS = "SELECT external_id FROM job";
+
+    private static final String SELECT_EXPORT = """
+            SELECT id, external_id, title, company, description, platform, location, url, created_at, updated_at, cluster_id
+            FROM job""";
+
+    /**
+     * Ranks the matches served by the GIN index and builds the snippets of the requested page only,
+     * ts_headline reparsing each description.
+     */
+    private static final String SEARCH = """
+            SELECT j.id, j.external_id, j.title, j.company, j.description, j.platform, j.location, j.url,
+                j.created_at, j.updated_at, j.cluster_id, hit.rank,
+                ts_headline('english', j.description, hit.query,
+                    'StartSel=<mark>, StopSel=</mark>, MinWords=15, MaxWords=35, MaxFragments=2') AS snippet
+            FROM (SELECT job.id, ts_rank_cd(job.search_vector, query) AS rank, query
+                  FROM job, websearch_to_tsquery('english', :query) query
+                  WHERE job.search_vector @@ query%s
+                  ORDER BY rank DESC, job.id
+                  LIMIT :limit OFFSET :offset) hit
+            JOIN job j ON j.id = hit.id
+            ORDER BY hit.rank DESC, j.id""";
+
+    private static final String INSERT_IGNORING_DUPLICATES = """
+            INSERT INTO job (external_id, title, company, description, platform, location, url, content_hash, created_at, updated_at)
+            VALUES %s
+            ON CONFLICT DO NOTHING""";
+
+    private static final String INSERTED_ROW = "(:externalId%1$d, :title%1$d, :company%1$d, :description%1$d, :platform%1$d, "
+            + ":location%1$d, :url%1$d, :contentHash%1$d, :createdAt, :updatedAt)";
+
+    /**
+     * Rows without a hash predate content hashing: they get one without being reported as updated.
+     */
+    private static final String UPDATE_CHANGED_CONTENT = """
+            UPDATE job SET title = :title, company = :company, description = :description, location = :location, url = :url,
+                updated_at = CASE WHEN content_hash IS NULL THEN updated_at ELSE :updatedAt END,
+                content_hash = :contentHash
+            WHERE external_id = :externalId AND (content_hash IS NULL OR content_hash <> :contentHash)""";
+
+    /**
+     * Job ids come from IDENTITY columns, so the highest ones are the most recently inserted jobs.
+     */
+    private static final String SELECT_BY_LSH_BUCKETS = """
+            SELECT bucket, job_id
+            FROM (SELECT bucket, job_id, ROW_NUMBER() OVER (PARTITION BY bucket ORDER BY job_id DESC) AS position
+                  FROM job_lsh_bucket
+                  WHERE bucket IN (:buckets)) ranked
+            WHERE position <= :limit""";
+
+    private static final String INSERT_LSH_BUCKET = """
+            INSERT INTO job_lsh_bucket (job_id, bucket) VALUES (:jobId, :bucket)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String DELETE_LSH_BUCKETS = "DELETE FROM job_lsh_bucket WHERE job_id IN (:jobIds)";
+
+    private static final String ASSIGN_CLUSTER = "UPDATE job SET cluster_id = :clusterId WHERE id = :id";
+
+    private static final int IN_CLAUSE_SIZE = 1_000;
+
+    private static final int ROWS_PER_INSERT = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    @Override
+    public Map<String, Long> findContentHashes(Collection<String> externalIds) {
+        if (externalIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Long> hashes = new HashMap<>();
+        jdbcTemplate.query(SELECT_CONTENT_HASHES, new MapSqlParameterSource("externalIds", externalIds),
+                (RowCallbackHandler) rs -> hashes.put(rs.getString("external_id"), rs.getObject("content_hash", Long.class)));
+        return hashes;
+    }
+
+    @Override
+    public List<Job> insertIgnoringDuplicates(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<String, Long> ids = new HashMap<>();
+        for (int from = 0; from < jobs.size(); from += ROWS_PER_INSERT) {
+            List<Job> slice = jobs.subList(from, Math.min(from + ROWS_PER_INSERT, jobs.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("createdAt", now)
+                    .addValue("updatedAt", now);
+            StringJoiner rows = new StringJoiner(", ");
+            for (int i = 0; i < slice.size(); i++) {
+                Job job = slice.get(i);
+                int row = i;
+                content(job).addValue("platform", job.getPlatform() == null ? null : job.getPlatform().name())
+                        .getValues().forEach((name, value) -> params.addValue(name + row, value));
+                rows.add(INSERTED_ROW.formatted(i));
+            }
+            jdbcTemplate.query(returning(INSERT_IGNORING_DUPLICATES.formatted(rows), "id, external_id"), params,
+                    (RowCallbackHandler) rs -> ids.putIfAbsent(rs.getString("external_id"), rs.getLong("id")));
+        }
+
+        List<Job> inserted = new ArrayList<>(ids.size());
+        for (Job job: jobs) {
+            Long id = ids.remove(job.getExternalId());
+            if (id != null) {
+                job.setId(id);
+                job.setCreatedAt(now.toLocalDateTime());
+                job.setUpdatedAt(now.toLocalDateTime());
+                inserted.add(job);
+            }
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<Job> updateChangedContent(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+
+        // One statement per job: edits are rare once every row has a hash, and each one reports its own row.
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = returning(UPDATE_CHANGED_CONTENT, "id");
+        List<Job> updated = new ArrayList<>(jobs.size());
+        for (Job job: jobs) {
+            List<Long> ids = jdbcTemplate.queryForList(sql, content(job).addValue("updatedAt", now), Long.class);
+            if (!ids.isEmpty()) {
+                job.setId(ids.getFirst());
+                job.setUpdatedAt(now.toLocalDateTime());
+                updated.add(job);
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public Map<Long, List<Long>> findJobIdsByLshBuckets(Collection<Long> buckets, int limitPerBucket) {
+        Map<Long, List<Long>> jobIds = new HashMap<>();
+        List<Long> distinct = List.copyOf(new HashSet<>(buckets));
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_SIZE) {
+            List<Long> slice = distinct.subList(from, Math.min(from + IN_CLAUSE_SIZE, distinct.size()));
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("buckets", slice)
+                    .addValue("limit", limitPerBucket);
+            jdbcTemplate.query(SELECT_BY_LSH_BUCKETS, params, (RowCallbackHandler) rs ->
+                    jobIds.computeIfAbsent(rs.getLong("bucket"), bucket -> new ArrayList<>()).add(rs.getLong("job_id")));
+        }
+        return jobIds;
+    }
+
+    @Override
+    public void insertLshBuckets(Map<Long, long[]> bucketsByJobId) {
+        List<SqlParameterSource> batch = new ArrayList<>();
+        bucketsByJobId.forEach((jobId, buckets) -> {
+            for (long bucket: buckets) {
+                batch.add(new MapSqlParameterSource().addValue("jobId", jobId).addValue("bucket", bucket));
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LSH_BUCKET, batch.toArray(SqlParameterSource[]::new));
+        }
+    }
+
+    @Override
+    public void deleteLshBuckets(Collection<Long> jobIds) {
+        List<Long> ids = List.copyOf(jobIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_SIZE) {
+            jdbcTemplate.update(DELETE_LSH_BUCKETS,
+                    new MapSqlParameterSource("jobIds", ids.subList(from, Math.min(from + IN_CLAUSE_SIZE, ids.size()))));
+        }
+    }
+
+    @Override
+    public void assignClusters(Map<Long, Long> clusterIdByJobId) {
+        if (clusterIdByJobId.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = clusterIdByJobId.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource().addValue("id", entry.getKey()).addValue("clusterId", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(ASSIGN_CLUSTER, batch);
+    }
+
+    @Override
+    public void forEachExternalId(int fetchSize, Consumer<String> consumer) {
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL_EXTERNAL_IDS,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    @Override
+    public void forEachJob(JobExportFilter filter, int fetchSize, Consumer<Job> consumer) {
+        StringBuilder sql = new StringBuilder(SELECT_EXPORT);
+        List<Object> args = new ArrayList<>();
+        if (filter.platform() != null) {
+            where(sql, args, "platform = ?", filter.platform().name());
+        }
+        if (filter.since() != null) {
+            where(sql, args, "created_at >= ?", Timestamp.valueOf(filter.since()));
+        }
+        if (filter.until() != null) {
+            where(sql, args, "created_at < ?", Timestamp.valueOf(filter.until()));
+        }
+        if (filter.updatedSince() != null) {
+            where(sql, args, "updated_at >= ?", Timestamp.valueOf(filter.updatedSince()));
+        }
+        sql.append(" ORDER BY id");
+
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(readJob(rs)));
+    }
+
+    @Override
+    public List<JobSearchHit> search(String query, boolean canonicalOnly, long offset, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH.formatted(canonicalOnly ? " AND job.cluster_id IS NULL" : ""), params,
+                (rs, rowNum) -> new JobSearchHit(readJob(rs), rs.getDouble("rank"), rs.getString("snippet")));
+    }
+
+    private static void where(StringBuilder sql, List<Object> args, String condition, Object arg) {
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(condition);
+        args.add(arg);
+    }
+
+    private static Job readJob(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return Job.builder()
+                .id(rs.getLong("id"))
+                .externalId(rs.getString("external_id"))
+                .title(rs.getString("title"))
+                .company(rs.getString("company"))
+                .description(rs.getString("description"))
+                .platform(Platform.valueOf(rs.getString("platform")))
+                .location(rs.getString("location"))
+                .url(rs.getString("url"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime())
+                .clusterId(rs.getObject("cluster_id", Long.class))
+                .build();
+    }
+
+    private static MapSqlParameterSource content(Job job) {
+        if (job.getContentHash() == null) {
+            job.setContentHash(JobContentHash.of(job));
+        }
+        return new MapSqlParameterSource()
+                .addValue("externalId", job.getExternalId())
+                .addValue("title", job.getTitle())
+                .addValue("company", job.getCompany())
+                .addValue("description", job.getDescription())
+                .addValue("location", job.getLocation())
+                .addValue("url", job.getUrl())
+                .addValue("contentHash", job.getContentHash());
+    }
+
+    /**
+     * {@code statement} returning {@code columns} of the rows it wrote: with RETURNING on PostgreSQL, through a
+     * FINAL TABLE data change delta table on H2, which serves the tests and the benchmarks.
+     */
+    private String returning(String statement, String columns) {
+        if (postgres == null) {
+            postgres = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return Boolean.TRUE.equals(postgres)
+                ? statement + " RETURNING " + columns
+                : "SELECT " + columns + " FROM FINAL TABLE (" + statement + ")";
+    }
+}
@@ -0,0 +1,9 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.RefreshSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RefreshScheduleRepository extends JpaRepository<RefreshSchedule, Long>, RefreshScheduleRepositoryCustom {
+}
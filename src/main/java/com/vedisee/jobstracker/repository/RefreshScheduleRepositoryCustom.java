@@ -0,0 +1,24 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.RefreshSchedule;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface RefreshScheduleRepositoryCustom {
+    Set<Key> findKeys();
+
+    int insertIgnoringDuplicates(List<RefreshSchedule> schedules);
+
+    List<RefreshSchedule> claimDue(Collection<Platform> platforms, int limit, LocalDateTime now, LocalDateTime leaseUntil);
+
+    void reschedule(List<RefreshSchedule> schedules);
+
+    List<RefreshSchedule> findSchedule();
+
+    record Key(Long criteriaId, Platform platform) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.RefreshSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Refresh schedule shared by all nodes. Claiming locks due rows with {@code FOR UPDATE SKIP LOCKED} and pushes
+ * their due time to the end of a lease, so concurrent nodes never refresh the same pair and a pair whose node
+ * died is due again once the lease ends; it must run inside a transaction. Pairs of deleted criteria are
+ * deleted with them, and inserting a pair of a criteria deleted meanwhile is a no-op.
+ */
+@RequiredArgsConstructor
+public class RefreshScheduleRepositoryImpl implements RefreshScheduleRepositoryCustom {
+
+    private static final String SELECT_KEYS = "SELECT criteria_id, platform FROM refresh_schedule";
+
+    private static final String INSERT_IGNORING_DUPLICATES = """
+            INSERT INTO refresh_schedule (criteria_id, platform, interval_ms, next_due_at)
+            SELECT id, :platform, :intervalMs, :nextDueAt FROM search_criteria WHERE id = :criteriaId
+            ON CONFLICT DO NOTHING""";
+
+    private static final String SELECT_DUE = """
+            SELECT id FROM refresh_schedule
+            WHERE next_due_at <= :now AND platform IN (:platforms)
+            ORDER BY next_due_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String SELECT_BY_IDS = "SELECT * FROM refresh_schedule WHERE id IN (:ids) ORDER BY next_due_at, id";
+
+    private static final String LEASE = "UPDATE refresh_schedule SET next_due_at = :leaseUntil WHERE id IN (:ids)";
+
+    private static final String RESCHEDULE = """
+            UPDATE refresh_schedule
+            SET interval_ms = :intervalMs, next_due_at = :nextDueAt, last_refresh_at = :lastRefreshAt,
+                new_jobs_per_hour = :newJobsPerHour
+            WHERE id = :id""";
+
+    private static final String SELECT_ALL = "SELECT * FROM refresh_schedule ORDER BY next_due_at, id";
+
+    private static final RowMapper<RefreshSchedule> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp lastRefreshAt = rs.getTimestamp("last_refresh_at");
+        return RefreshSchedule.builder()
+                .id(rs.getLong("id"))
+                .criteriaId(rs.getLong("criteria_id"))
+                .platform(Platform.valueOf(rs.getString("platform")))
+                .intervalMs(rs.getLong("interval_ms"))
+                .nextDueAt(rs.getTimestamp("next_due_at").toLocalDateTime())
+                .lastRefreshAt(lastRefreshAt == null ? null : lastRefreshAt.toLocalDateTime())
+                .newJobsPerHour(rs.getObject("new_jobs_per_hour", Double.class))
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<Key> findKeys() {
+        return new HashSet<>(jdbcTemplate.query(SELECT_KEYS, (rs, rowNum) ->
+                new Key(rs.getLong("criteria_id"), Platform.valueOf(rs.getString("platform")))));
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<RefreshSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] batch = schedules.stream()
+                .map(schedule -> new MapSqlParameterSource()
+                        .addValue("criteriaId", schedule.getCriteriaId())
+                        .addValue("platform", schedule.getPlatform().name())
+                        .addValue("intervalMs", schedule.getIntervalMs())
+                        .addValue("nextDueAt", Timestamp.valueOf(schedule.getNextDueAt())))
+                .toArray(SqlParameterSource[]::new);
+        return Arrays.stream(jdbcTemplate.batchUpdate(INSERT_IGNORING_DUPLICATES, batch))
+                .map(count -> Math.max(count, 0))
+                .sum();
+    }
+
+    @Override
+    public List<RefreshSchedule> claimDue(Collection<Platform> platforms, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        if (platforms.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_DUE, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("platforms", platforms.stream().map(Platform::name).toList())
+                .addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Read before leasing: the caller derives the next due time from the schedule as it was.
+        List<RefreshSchedule> due = jdbcTemplate.query(SELECT_BY_IDS, new MapSqlParameterSource("ids", ids), ROW_MAPPER);
+        jdbcTemplate.update(LEASE, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil)));
+        return due;
+    }
+
+    @Override
+    public void reschedule(List<RefreshSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = schedules.stream()
+                .map(schedule -> new MapSqlParameterSource()
+                        .addValue("id", schedule.getId())
+                        .addValue("intervalMs", schedule.getIntervalMs())
+                        .addValue("nextDueAt", Timestamp.valueOf(schedule.getNextDueAt()))
+                        .addValue("lastRefreshAt", schedule.getLastRefreshAt() == null ? null : Timestamp.valueOf(schedule.getLastRefreshAt()))
+                        .addValue("newJobsPerHour", schedule.getNewJobsPerHour()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(RESCHEDULE, batch);
+    }
+
+    @Override
+    public List<RefreshSchedule> findSchedule() {
+        return jdbcTemplate.query(SELECT_ALL, ROW_MAPPER);
+    }
+}
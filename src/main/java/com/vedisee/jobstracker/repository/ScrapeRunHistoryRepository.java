@@ -0,0 +1,12 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ScrapeRunHistoryRepository extends JpaRepository<ScrapeRunHistory, Long>, ScrapeRunHistoryRepositoryCustom {
+    Optional<ScrapeRunHistory> findByRunId(String runId);
+}
@@ -0,0 +1,10 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+
+import java.util.List;
+
+public interface ScrapeRunHistoryRepositoryCustom {
+    void merge(ScrapeRunHistory run, List<ScrapeRunStat> stats);
+}
@@ -0,0 +1,184 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Records a run once per node that took part in it. The first node inserts the run; the others lock its row and
+ * merge into it: run-wide totals, which every node reads from the shared queue, keep their highest value, while
+ * bytes and the per-platform and per-criteria counters, which each node only observed for its own share, add up.
+ * Must run inside a transaction.
+ */
+@RequiredArgsConstructor
+public class ScrapeRunHistoryRepositoryImpl implements ScrapeRunHistoryRepositoryCustom {
+
+    private static final String FAILED = "FAILED";
+
+    private static final String INSERT_RUN = """
+            INSERT INTO scrape_run_history (run_id, state, full_rescan, started_at, finished_at, duration_ms, criteria, tasks,
+                                            failed_tasks, fetched_jobs, new_jobs, dedup_hit_ratio, bytes_downloaded, error)
+            VALUES (:runId, :state, :fullRescan, :startedAt, :finishedAt, :durationMs, :criteria, :tasks,
+                    :failedTasks, :fetchedJobs, :newJobs, :dedupHitRatio, :bytesDownloaded, :error)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String SELECT_RUN_FOR_UPDATE = "SELECT * FROM scrape_run_history WHERE run_id = :runId FOR UPDATE";
+
+    private static final String UPDATE_RUN = """
+            UPDATE scrape_run_history
+            SET state = :state, started_at = :startedAt, finished_at = :finishedAt, duration_ms = :durationMs,
+                criteria = :criteria, tasks = :tasks, failed_tasks = :failedTasks, fetched_jobs = :fetchedJobs,
+                new_jobs = :newJobs, dedup_hit_ratio = :dedupHitRatio, bytes_downloaded = :bytesDownloaded, error = :error
+            WHERE run_id = :runId""";
+
+    private static final String INSERT_STAT = """
+            INSERT INTO scrape_run_stat (run_id, scope, scope_key, tasks, failed_tasks, duration_ms, fetched_jobs, new_jobs,
+                                         dedup_hit_ratio, bytes_downloaded, last_error)
+            VALUES (:runId, :scope, :scopeKey, :tasks, :failedTasks, :durationMs, :fetchedJobs, :newJobs,
+                    :dedupHitRatio, :bytesDownloaded, :lastError)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String SELECT_STAT = "SELECT * FROM scrape_run_stat WHERE run_id = :runId AND scope = :scope AND scope_key = :scopeKey";
+
+    private static final String UPDATE_STAT = """
+            UPDATE scrape_run_stat
+            SET tasks = :tasks, failed_tasks = :failedTasks, duration_ms = :durationMs, fetched_jobs = :fetchedJobs,
+                new_jobs = :newJobs, dedup_hit_ratio = :dedupHitRatio, bytes_downloaded = :bytesDownloaded, last_error = :lastError
+            WHERE run_id = :runId AND scope = :scope AND scope_key = :scopeKey""";
+
+    private static final RowMapper<ScrapeRunHistory> RUN_MAPPER = (rs, rowNum) -> ScrapeRunHistory.builder()
+            .id(rs.getLong("id"))
+            .runId(rs.getString("run_id"))
+            .state(rs.getString("state"))
+            .fullRescan(rs.getBoolean("full_rescan"))
+            .startedAt(rs.getTimestamp("started_at").toLocalDateTime())
+            .finishedAt(rs.getTimestamp("finished_at").toLocalDateTime())
+            .durationMs(rs.getLong("duration_ms"))
+            .criteria(rs.getLong("criteria"))
+            .tasks(rs.getLong("tasks"))
+            .failedTasks(rs.getLong("failed_tasks"))
+            .fetchedJobs(rs.getLong("fetched_jobs"))
+            .newJobs(rs.getLong("new_jobs"))
+            .dedupHitRatio(rs.getDouble("dedup_hit_ratio"))
+            .bytesDownloaded(rs.getLong("bytes_downloaded"))
+            .error(rs.getString("error"))
+            .build();
+
+    private static final RowMapper<ScrapeRunStat> STAT_MAPPER = (rs, rowNum) -> ScrapeRunStat.builder()
+            .id(rs.getLong("id"))
+            .runId(rs.getString("run_id"))
+            .scope(ScrapeRunStat.Scope.valueOf(rs.getString("scope")))
+            .scopeKey(rs.getString("scope_key"))
+            .tasks(rs.getLong("tasks"))
+            .failedTasks(rs.getLong("failed_tasks"))
+            .durationMs(rs.getLong("duration_ms"))
+            .fetchedJobs(rs.getLong("fetched_jobs"))
+            .newJobs(rs.getLong("new_jobs"))
+            .dedupHitRatio(rs.getDouble("dedup_hit_ratio"))
+            .bytesDownloaded(rs.getLong("bytes_downloaded"))
+            .lastError(rs.getString("last_error"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public void merge(ScrapeRunHistory run, List<ScrapeRunStat> stats) {
+        if (jdbcTemplate.update(INSERT_RUN, params(run)) == 0) {
+            // Holding the run row serializes the nodes merging into this run, stats included.
+            ScrapeRunHistory stored = jdbcTemplate.queryForObject(SELECT_RUN_FOR_UPDATE,
+                    new MapSqlParameterSource("runId", run.getRunId()), RUN_MAPPER);
+            jdbcTemplate.update(UPDATE_RUN, params(merged(stored, run)));
+        }
+        for (ScrapeRunStat stat: stats) {
+            if (jdbcTemplate.update(INSERT_STAT, params(stat)) == 0) {
+                ScrapeRunStat stored = jdbcTemplate.queryForObject(SELECT_STAT, new MapSqlParameterSource()
+                        .addValue("runId", stat.getRunId())
+                        .addValue("scope", stat.getScope().name())
+                        .addValue("scopeKey", stat.getScopeKey()), STAT_MAPPER);
+                jdbcTemplate.update(UPDATE_STAT, params(merged(stored, stat)));
+            }
+        }
+    }
+
+    private static ScrapeRunHistory merged(ScrapeRunHistory stored, ScrapeRunHistory run) {
+        if (run.getStartedAt().isBefore(stored.getStartedAt())) {
+            stored.setStartedAt(run.getStartedAt());
+        }
+        if (run.getFinishedAt().isAfter(stored.getFinishedAt())) {
+            stored.setFinishedAt(run.getFinishedAt());
+        }
+        if (FAILED.equals(run.getState())) {
+            stored.setState(run.getState());
+        }
+        stored.setDurationMs(Duration.between(stored.getStartedAt(), stored.getFinishedAt()).toMillis());
+        stored.setCriteria(Math.max(stored.getCriteria(), run.getCriteria()));
+        stored.setTasks(Math.max(stored.getTasks(), run.getTasks()));
+        stored.setFailedTasks(Math.max(stored.getFailedTasks(), run.getFailedTasks()));
+        stored.setFetchedJobs(Math.max(stored.getFetchedJobs(), run.getFetchedJobs()));
+        stored.setNewJobs(Math.max(stored.getNewJobs(), run.getNewJobs()));
+        stored.setDedupHitRatio(dedupHitRatio(stored.getFetchedJobs(), stored.getNewJobs()));
+        stored.setBytesDownloaded(stored.getBytesDownloaded() + run.getBytesDownloaded());
+        if (stored.getError() == null) {
+            stored.setError(run.getError());
+        }
+        return stored;
+    }
+
+    private static ScrapeRunStat merged(ScrapeRunStat stored, ScrapeRunStat stat) {
+        stored.setTasks(stored.getTasks() + stat.getTasks());
+        stored.setFailedTasks(stored.getFailedTasks() + stat.getFailedTasks());
+        stored.setDurationMs(stored.getDurationMs() + stat.getDurationMs());
+        stored.setFetchedJobs(stored.getFetchedJobs() + stat.getFetchedJobs());
+        stored.setNewJobs(stored.getNewJobs() + stat.getNewJobs());
+        stored.setDedupHitRatio(dedupHitRatio(stored.getFetchedJobs(), stored.getNewJobs()));
+        stored.setBytesDownloaded(stored.getBytesDownloaded() + stat.getBytesDownloaded());
+        if (stat.getLastError() != null) {
+            stored.setLastError(stat.getLastError());
+        }
+        return stored;
+    }
+
+    private static double dedupHitRatio(long fetchedJobs, long newJobs) {
+        return fetchedJobs == 0 ? 0 : (double) (fetchedJobs - newJobs) / fetchedJobs;
+    }
+
+    private static MapSqlParameterSource params(ScrapeRunHistory run) {
+        return new MapSqlParameterSource()
+                .addValue("runId", run.getRunId())
+                .addValue("state", run.getState())
+                .addValue("fullRescan", run.isFullRescan())
+                .addValue("startedAt", Timestamp.valueOf(run.getStartedAt()))
+                .addValue("finishedAt", Timestamp.valueOf(run.getFinishedAt()))
+                .addValue("durationMs", run.getDurationMs())
+                .addValue("criteria", run.getCriteria())
+                .addValue("tasks", run.getTasks())
+                .addValue("failedTasks", run.getFailedTasks())
+                .addValue("fetchedJobs", run.getFetchedJobs())
+                .addValue("newJobs", run.getNewJobs())
+                .addValue("dedupHitRatio", run.getDedupHitRatio())
+                .addValue("bytesDownloaded", run.getBytesDownloaded())
+                .addValue("error", run.getError());
+    }
+
+    private static MapSqlParameterSource params(ScrapeRunStat stat) {
+        return new MapSqlParameterSource()
+                .addValue("runId", stat.getRunId())
+                .addValue("scope", stat.getScope().name())
+                .addValue("scopeKey", stat.getScopeKey())
+                .addValue("tasks", stat.getTasks())
+                .addValue("failedTasks", stat.getFailedTasks())
+                .addValue("durationMs", stat.getDurationMs())
+                .addValue("fetchedJobs", stat.getFetchedJobs())
+                .addValue("newJobs", stat.getNewJobs())
+                .addValue("dedupHitRatio", stat.getDedupHitRatio())
+                .addValue("bytesDownloaded", stat.getBytesDownloaded())
+                .addValue("lastError", stat.getLastError());
+    }
+}
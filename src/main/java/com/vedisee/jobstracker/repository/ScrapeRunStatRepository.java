@@ -0,0 +1,12 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScrapeRunStatRepository extends JpaRepository<ScrapeRunStat, Long> {
+    List<ScrapeRunStat> findByRunId(String runId);
+}
@@ -0,0 +1,12 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScrapeTaskRepository extends JpaRepository<ScrapeTask, Long>, ScrapeTaskRepositoryCustom {
+    List<ScrapeTask> findByRunIdOrderById(String runId);
+}
@@ -0,0 +1,28 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeTask;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface ScrapeTaskRepositoryCustom {
+    int enqueue(List<ScrapeTask> tasks);
+
+    List<ScrapeTask> claim(String runId, String owner, int limit, int maxAttempts, LocalDateTime now, LocalDateTime leaseUntil);
+
+    int extendLeases(Collection<Long> ids, String owner, LocalDateTime leaseUntil);
+
+    boolean complete(long id, String owner, long fetchedJobs, long newJobs, LocalDateTime now);
+
+    boolean release(long id, String owner, String error, int maxAttempts, LocalDateTime now);
+
+    int failAbandoned(int maxAttempts, LocalDateTime now);
+
+    long countOpen(String runId);
+
+    Summary summarize(String runId);
+
+    record Summary(long tasks, long failedTasks, long fetchedJobs, long newJobs) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queue operations on {@code scrape_task}. Claiming locks candidate rows with {@code FOR UPDATE SKIP LOCKED}
+ * so concurrent nodes never wait on each other nor claim the same task; it must run inside a transaction.
+ * Every state change after the claim is fenced by the lease owner, so a node whose lease was reclaimed
+ * cannot overwrite the new owner's outcome.
+ */
+@RequiredArgsConstructor
+public class ScrapeTaskRepositoryImpl implements ScrapeTaskRepositoryCustom {
+
+    private static final String INSERT_IGNORING_DUPLICATES = """
+            INSERT INTO scrape_task (run_id, platform, keyword, location, criteria_ids, full_rescan, status, attempts,
+                                     fetched_jobs, new_jobs, created_at, updated_at)
+            VALUES (:runId, :platform, :keyword, :location, :criteriaIds, :fullRescan, 'PENDING', 0, 0, 0, :now, :now)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String SELECT_CLAIMABLE = """
+            SELECT id FROM scrape_task
+            WHERE (status = 'PENDING' OR (status = 'RUNNING' AND lease_expires_at < :now))
+              AND attempts < :maxAttempts%s
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String MARK_CLAIMED = """
+            UPDATE scrape_task
+            SET status = 'RUNNING', lease_owner = :owner, lease_expires_at = :leaseUntil, attempts = attempts + 1,
+                error = NULL, updated_at = :now
+            WHERE id IN (:ids)""";
+
+    private static final String SELECT_BY_IDS = "SELECT * FROM scrape_task WHERE id IN (:ids) ORDER BY id";
+
+    private static final String EXTEND_LEASES = """
+            UPDATE scrape_task SET lease_expires_at = :leaseUntil
+            WHERE id IN (:ids) AND lease_owner = :owner AND status = 'RUNNING'""";
+
+    private static final String COMPLETE = """
+            UPDATE scrape_task
+            SET status = 'COMPLETED', fetched_jobs = :fetchedJobs, new_jobs = :newJobs, lease_owner = NULL,
+                lease_expires_at = NULL, updated_at = :now
+            WHERE id = :id AND lease_owner = :owner AND status = 'RUNNING'""";
+
+    private static final String RELEASE = """
+            UPDATE scrape_task
+            SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END,
+                error = :error, lease_owner = NULL, lease_expires_at = NULL, updated_at = :now
+            WHERE id = :id AND lease_owner = :owner AND status = 'RUNNING'""";
+
+    private static final String FAIL_ABANDONED = """
+            UPDATE scrape_task
+            SET status = 'FAILED', error = 'Lease expired on the last attempt', lease_owner = NULL,
+                lease_expires_at = NULL, updated_at = :now
+            WHERE status = 'RUNNING' AND lease_expires_at < :now AND attempts >= :maxAttempts""";
+
+    private static final String COUNT_OPEN = "SELECT COUNT(*) FROM scrape_task WHERE run_id = :runId AND status IN ('PENDING', 'RUNNING')";
+
+    private static final String SUMMARIZE = """
+            SELECT COUNT(*) AS tasks,
+                   COALESCE(SUM(CASE WHEN status = 'FAILED' THEN 1 ELSE 0 END), 0) AS failed_tasks,
+                   COALESCE(SUM(fetched_jobs), 0) AS fetched_jobs,
+                   COALESCE(SUM(new_jobs), 0) AS new_jobs
+            FROM scrape_task WHERE run_id = :runId""";
+
+    private static final RowMapper<ScrapeTask> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp leaseExpiresAt = rs.getTimestamp("lease_expires_at");
+        return ScrapeTask.builder()
+                .id(rs.getLong("id"))
+                .runId(rs.getString("run_id"))
+                .platform(Platform.valueOf(rs.getString("platform")))
+                .keyword(rs.getString("keyword"))
+                .location(rs.getString("location"))
+                .criteriaIds(rs.getString("criteria_ids"))
+                .fullRescan(rs.getBoolean("full_rescan"))
+                .status(ScrapeTask.Status.valueOf(rs.getString("status")))
+                .attempts(rs.getInt("attempts"))
+                .leaseOwner(rs.getString("lease_owner"))
+                .leaseExpiresAt(leaseExpiresAt == null ? null : leaseExpiresAt.toLocalDateTime())
+                .fetchedJobs(rs.getLong("fetched_jobs"))
+                .newJobs(rs.getLong("new_jobs"))
+                .error(rs.getString("error"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(rs.getTimestamp("updated_at").toLocalDateTime())
+                .build();
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public int enqueue(List<ScrapeTask> tasks) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            ScrapeTask task = tasks.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("runId", task.getRunId())
+                    .addValue("platform", task.getPlatform().name())
+                    .addValue("keyword", task.getKeyword())
+                    .addValue("location", task.getLocation())
+                    .addValue("criteriaIds", task.getCriteriaIds())
+                    .addValue("fullRescan", task.isFullRescan())
+                    .addValue("now", Timestamp.valueOf(task.getCreatedAt()));
+        }
+        return Arrays.stream(jdbcTemplate.batchUpdate(INSERT_IGNORING_DUPLICATES, batch))
+                .map(count -> Math.max(count, 0))
+                .sum();
+    }
+
+    @Override
+    public List<ScrapeTask> claim(String runId, String owner, int limit, int maxAttempts, LocalDateTime now, LocalDateTime leaseUntil) {
+        String sql = SELECT_CLAIMABLE.formatted(runId == null ? "" : " AND run_id = :runId");
+        List<Long> ids = jdbcTemplate.queryForList(sql, new MapSqlParameterSource()
+                .addValue("now", Timestamp.valueOf(now))
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("runId", runId)
+                .addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        jdbcTemplate.update(MARK_CLAIMED, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("owner", owner)
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil))
+                .addValue("now", Timestamp.valueOf(now)));
+        return jdbcTemplate.query(SELECT_BY_IDS, new MapSqlParameterSource("ids", ids), ROW_MAPPER);
+    }
+
+    @Override
+    public int extendLeases(Collection<Long> ids, String owner, LocalDateTime leaseUntil) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(EXTEND_LEASES, new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("owner", owner)
+                .addValue("leaseUntil", Timestamp.valueOf(leaseUntil)));
+    }
+
+    @Override
+    public boolean complete(long id, String owner, long fetchedJobs, long newJobs, LocalDateTime now) {
+        return jdbcTemplate.update(COMPLETE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("owner", owner)
+                .addValue("fetchedJobs", fetchedJobs)
+                .addValue("newJobs", newJobs)
+                .addValue("now", Timestamp.valueOf(now))) == 1;
+    }
+
+    @Override
+    public boolean release(long id, String owner, String error, int maxAttempts, LocalDateTime now) {
+        return jdbcTemplate.update(RELEASE, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("owner", owner)
+                .addValue("error", error == null ? null : error.substring(0, Math.min(error.length(), 1000)))
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("now", Timestamp.valueOf(now))) == 1;
+    }
+
+    @Override
+    public int failAbandoned(int maxAttempts, LocalDateTime now) {
+        return jdbcTemplate.update(FAIL_ABANDONED, new MapSqlParameterSource()
+                .addValue("maxAttempts", maxAttempts)
+                .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    @Override
+    public long countOpen(String runId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_OPEN, new MapSqlParameterSource("runId", runId), Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public Summary summarize(String runId) {
+        return jdbcTemplate.queryForObject(SUMMARIZE, new MapSqlParameterSource("runId", runId), (rs, rowNum) ->
+                new Summary(rs.getLong("tasks"), rs.getLong("failed_tasks"), rs.getLong("fetched_jobs"), rs.getLong("new_jobs")));
+    }
+}
@@ -0,0 +1,15 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ScrapeWatermarkRepository extends JpaRepository<ScrapeWatermark, Long> {
+    List<ScrapeWatermark> findByPlatformAndKeywordAndLocationAndCriteriaIdIn(Platform platform, String keyword, String location,
+                                                                              Collection<Long> criteriaIds);
+}
@@ -1,9 +1,27 @@
 package com.vedisee.jobstracker.repository;
 
 import com.vedisee.jobstracker.model.SearchCriteria;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface SearchCriteriaRepository extends JpaRepository<SearchCriteria, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {"keywords", "locations"})
+    List<SearchCriteria> findAll();
+
+    @Query("SELECT c.id FROM SearchCriteria c")
+    Slice<Long> findAllIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"keywords", "locations"})
+    List<SearchCriteria> findAllByIdIn(Collection<Long> ids, Sort sort);
 }
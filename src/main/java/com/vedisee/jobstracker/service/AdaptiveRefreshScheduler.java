@@ -0,0 +1,307 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.RefreshScheduleProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.RefreshSchedule;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.RefreshScheduleRepository;
+import com.vedisee.jobstracker.repository.RefreshScheduleRepositoryCustom;
+import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
+import com.vedisee.jobstracker.service.scraper.JobScraperService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Refreshes each (criteria, platform) pair on its own schedule instead of all criteria at once. The schedule
+ * lives in {@code refresh_schedule}, so it survives restarts and is shared by every node: each tick claims the
+ * pairs due now, leasing them for the min interval so no other node refreshes them meanwhile, and scrapes them
+ * together, coalesced by the planner as usual. With the work queue enabled the refresh is enqueued as a run that
+ * every node helps drain, and each pair's outcome is read back from its tasks; otherwise it is scraped in process.
+ * The next interval aims at {@code targetNewJobs} per refresh from a smoothed rate of new jobs per hour,
+ * doubles while nothing new shows up, and is always kept within the min/max bounds. Due times carry random
+ * jitter so refreshes spread out instead of lining up. Every tick that refreshes pairs is recorded in the run
+ * history like a triggered run.
+ */
+@Component
+@Slf4j
+public class AdaptiveRefreshScheduler {
+
+    public record Snapshot(
+            Long criteriaId,
+            Platform platform,
+            Instant nextDueAt,
+            Duration interval,
+            Double newJobsPerHour,
+            Instant lastRefreshAt
+    ) {
+    }
+
+    private static final int ID_PAGE_SIZE = 1000;
+
+    private final RefreshScheduleProperties properties;
+    private final JobScrapingService jobScrapingService;
+    private final ScrapeWorker scrapeWorker;
+    private final ScrapeRunHistoryService scrapeRunHistoryService;
+    private final SearchCriteriaRepository searchCriteriaRepository;
+    private final RefreshScheduleRepository refreshScheduleRepository;
+    private final TransactionOperations transactionOperations;
+    private final Set<Platform> platforms;
+    private final Clock clock;
+    private final RandomGenerator random;
+    private volatile Instant lastSyncAt;
+    private Thread loop;
+
+    @Autowired
+    public AdaptiveRefreshScheduler(RefreshScheduleProperties properties, JobScrapingService jobScrapingService,
+                                    ScrapeWorker scrapeWorker, ScrapeRunHistoryService scrapeRunHistoryService,
+                                    SearchCriteriaRepository searchCriteriaRepository,
+                                    RefreshScheduleRepository refreshScheduleRepository,
+                                    TransactionOperations transactionOperations, List<JobScraperService> scraperServices) {
+        this(properties, jobScrapingService, scrapeWorker, scrapeRunHistoryService, searchCriteriaRepository,
+                refreshScheduleRepository, transactionOperations, platformsOf(scraperServices), Clock.systemUTC(),
+                RandomGenerator.getDefault());
+    }
+
+    AdaptiveRefreshScheduler(RefreshScheduleProperties properties, JobScrapingService jobScrapingService,
+                             ScrapeWorker scrapeWorker, ScrapeRunHistoryService scrapeRunHistoryService,
+                             SearchCriteriaRepository searchCriteriaRepository,
+                             RefreshScheduleRepository refreshScheduleRepository,
+                             TransactionOperations transactionOperations, Set<Platform> platforms, Clock clock,
+                             RandomGenerator random) {
+        this.properties = properties;
+        this.jobScrapingService = jobScrapingService;
+        this.scrapeWorker = scrapeWorker;
+        this.scrapeRunHistoryService = scrapeRunHistoryService;
+        this.searchCriteriaRepository = searchCriteriaRepository;
+        this.refreshScheduleRepository = refreshScheduleRepository;
+        this.transactionOperations = transactionOperations;
+        this.platforms = platforms;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("Adaptive refresh enabled: intervals {} to {}, targeting {} new jobs per refresh",
+                properties.minInterval(), properties.maxInterval(), properties.targetNewJobs());
+        loop = Thread.ofVirtual().name("adaptive-refresh").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    tick();
+                    Thread.sleep(properties.tickInterval());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("Adaptive refresh tick failed: {}", e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (loop != null) {
+            loop.interrupt();
+        }
+    }
+
+    /**
+     * Scrapes the pairs due now, at most {@code maxRefreshesPerTick}, and reschedules them from their outcome.
+     *
+     * @return the number of pairs refreshed
+     */
+    public int tick() {
+        Instant now = clock.instant();
+        if (lastSyncAt == null || !now.isBefore(lastSyncAt.plus(properties.resyncInterval()))) {
+            sync(allCriteriaIds(), now);
+        }
+        List<RefreshSchedule> due = transactionOperations.execute(status -> refreshScheduleRepository.claimDue(platforms,
+                properties.maxRefreshesPerTick(), utc(now), utc(now.plus(properties.minInterval()))));
+        if (due == null || due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Set<Platform>> selection = new LinkedHashMap<>();
+        due.forEach(schedule -> selection.computeIfAbsent(schedule.getCriteriaId(), id -> EnumSet.noneOf(Platform.class)).add(schedule.getPlatform()));
+        Map<RefreshScheduleRepositoryCustom.Key, Long> newJobs = new ConcurrentHashMap<>();
+        Set<RefreshScheduleRepositoryCustom.Key> failed = ConcurrentHashMap.newKeySet();
+        ScrapeRunProgress run = new ScrapeRunProgress(UUID.randomUUID(), false, now);
+
+        boolean runFailed = false;
+        try {
+            ScrapeReport report;
+            if (scrapeWorker.isEnabled()) {
+                report = scrapeWorker.run(run.id(), jobScrapingService.planSelected(selection), false, run);
+                // Other nodes scraped part of the run: outcomes come from its tasks, not from what this node observed.
+                for (ScrapeTask task: scrapeWorker.tasks(run.id())) {
+                    outcome(task.getPlatform(), ScrapeWorkQueue.toPlannedQuery(task).criteriaIds(),
+                            task.getStatus() == ScrapeTask.Status.COMPLETED, task.getNewJobs(), newJobs, failed);
+                }
+            } else {
+                report = jobScrapingService.ingestSelected(selection, new ScrapeListener() {
+                    @Override
+                    public void onPlanned(ScrapePlan plan) {
+                        run.onPlanned(plan);
+                    }
+
+                    @Override
+                    public void onTaskFinished(ScrapeTaskResult result) {
+                        run.onTaskFinished(result);
+                        outcome(result.platform(), result.criteriaIds(), result.status() == ScrapeTaskResult.Status.COMPLETED,
+                                result.newJobCount(), newJobs, failed);
+                    }
+                });
+            }
+            run.succeeded(report, clock.instant());
+        } catch (Exception e) {
+            log.error("Refresh of {} criteria failed: {}", selection.size(), e.getMessage(), e);
+            run.failed(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage(), clock.instant());
+            runFailed = true;
+        }
+        try {
+            scrapeRunHistoryService.record(run.snapshot());
+        } catch (Exception e) {
+            log.warn("Could not record refresh run {} in history: {}", run.id(), e.getMessage(), e);
+        }
+
+        Instant finishedAt = clock.instant();
+        for (RefreshSchedule schedule: due) {
+            RefreshScheduleRepositoryCustom.Key key = new RefreshScheduleRepositoryCustom.Key(schedule.getCriteriaId(), schedule.getPlatform());
+            if (runFailed || failed.contains(key)) {
+                retry(schedule, finishedAt);
+            } else {
+                record(schedule, newJobs.getOrDefault(key, 0L), finishedAt);
+            }
+        }
+        refreshScheduleRepository.reschedule(due);
+        log.info("Refreshed {} (criteria, platform) pairs in run {}", due.size(), run.id());
+        return due.size();
+    }
+
+    /**
+     * Adds pairs for new criteria, due within the min interval so a fresh start does not refresh everything at
+     * once. Pairs of deleted criteria are deleted with them.
+     */
+    void sync(Set<Long> criteriaIds, Instant now) {
+        lastSyncAt = now;
+        Set<RefreshScheduleRepositoryCustom.Key> known = refreshScheduleRepository.findKeys();
+        List<RefreshSchedule> added = new ArrayList<>();
+        for (Long criteriaId: criteriaIds) {
+            for (Platform platform: platforms) {
+                if (!known.contains(new RefreshScheduleRepositoryCustom.Key(criteriaId, platform))) {
+                    added.add(RefreshSchedule.builder()
+                            .criteriaId(criteriaId)
+                            .platform(platform)
+                            .intervalMs(properties.initialInterval().toMillis())
+                            .nextDueAt(utc(now.plusMillis((long) (random.nextDouble() * properties.minInterval().toMillis()))))
+                            .build());
+                }
+            }
+        }
+        if (!added.isEmpty()) {
+            log.info("Scheduled {} new (criteria, platform) pairs for refresh", refreshScheduleRepository.insertIgnoringDuplicates(added));
+        }
+    }
+
+    public List<Snapshot> snapshot() {
+        return refreshScheduleRepository.findSchedule().stream()
+                .map(schedule -> new Snapshot(schedule.getCriteriaId(), schedule.getPlatform(), instant(schedule.getNextDueAt()),
+                        Duration.ofMillis(schedule.getIntervalMs()), schedule.getNewJobsPerHour(), instant(schedule.getLastRefreshAt())))
+                .toList();
+    }
+
+    private static void outcome(Platform platform, List<Long> criteriaIds, boolean completed, long newJobCount,
+                                Map<RefreshScheduleRepositoryCustom.Key, Long> newJobs, Set<RefreshScheduleRepositoryCustom.Key> failed) {
+        for (Long criteriaId: criteriaIds) {
+            RefreshScheduleRepositoryCustom.Key key = new RefreshScheduleRepositoryCustom.Key(criteriaId, platform);
+            if (completed) {
+                newJobs.merge(key, newJobCount, Long::sum);
+            } else {
+                failed.add(key);
+            }
+        }
+    }
+
+    private void record(RefreshSchedule schedule, long newJobs, Instant at) {
+        Duration interval = Duration.ofMillis(schedule.getIntervalMs());
+        Duration elapsed = schedule.getLastRefreshAt() == null ? interval : Duration.between(instant(schedule.getLastRefreshAt()), at);
+        double hours = Math.max(elapsed.toMillis(), 1) / 3_600_000d;
+        double rate = newJobs / hours;
+        Double previous = schedule.getNewJobsPerHour();
+        double newJobsPerHour = previous == null ? rate : properties.smoothing() * rate + (1 - properties.smoothing()) * previous;
+        interval = newJobsPerHour > 0
+                ? properties.clamp(Duration.ofMillis((long) (properties.targetNewJobs() / newJobsPerHour * 3_600_000d)))
+                : properties.clamp(interval.multipliedBy(2));
+        schedule.setNewJobsPerHour(newJobsPerHour);
+        schedule.setIntervalMs(interval.toMillis());
+        schedule.setLastRefreshAt(utc(at));
+        schedule.setNextDueAt(utc(at.plus(jittered(interval))));
+    }
+
+    private void retry(RefreshSchedule schedule, Instant at) {
+        schedule.setNextDueAt(utc(at.plus(jittered(properties.minInterval()))));
+    }
+
+    private Set<Long> allCriteriaIds() {
+        Set<Long> ids = new HashSet<>();
+        Pageable page = PageRequest.of(0, ID_PAGE_SIZE, Sort.by("id"));
+        while (page != null) {
+            Slice<Long> slice = searchCriteriaRepository.findAllIds(page);
+            ids.addAll(slice.getContent());
+            page = slice.hasNext() ? slice.nextPageable() : null;
+        }
+        return ids;
+    }
+
+    private Duration jittered(Duration interval) {
+        double factor = 1 + properties.jitter() * (2 * random.nextDouble() - 1);
+        return Duration.ofMillis((long) (interval.toMillis() * factor));
+    }
+
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant instant(LocalDateTime utc) {
+        return utc == null ? null : utc.toInstant(ZoneOffset.UTC);
+    }
+
+    private static Set<Platform> platformsOf(List<JobScraperService> scraperServices) {
+        Set<Platform> platforms = EnumSet.noneOf(Platform.class);
+        scraperServices.stream().map(JobScraperService::getPlatform).filter(Objects::nonNull).forEach(platforms::add);
+        return platforms;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vedisee.jobstracker.service;
+
+import java.time.Duration;
+
+public record Availability(
+        String site,
+        boolean reachable,
+        Integer statusCode,
+        Duration latency,
+        String error
+) {
+    public static Availability circuitOpen(String site) {
+        return new Availability(site, false, null, Duration.ZERO, "circuit open");
+    }
+}
@@ -0,0 +1,148 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapingConcurrencyProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.JobScraperService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fans a scraping run out on virtual threads, one task per planned query.
+ * Each platform gets its own permit pool so a slow platform only ever blocks its own tasks,
+ * and every task is bounded by both its own timeout and the run-wide deadline.
+ * Queries are pulled lazily: at most twice the total parallelism is ever submitted ahead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrentScrapeExecutor {
+
+    private final ScrapingConcurrencyProperties properties;
+
+    @FunctionalInterface
+    public interface ScrapeTask {
+        ScrapeTaskResult run(ScrapePlan.PlannedQuery query, JobScraperService scraper) throws Exception;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public List<ScrapeTaskResult> execute(Iterable<ScrapePlan.PlannedQuery> queries, Map<Platform, JobScraperService> scrapers,
+                                          ScrapeTask task) {
+        long runDeadline = System.nanoTime() + properties.runTimeout().toNanos();
+        Map<Platform, Semaphore> permits = new EnumMap<>(Platform.class);
+        int totalParallelism = 0;
+        for (Platform platform: scrapers.keySet()) {
+            int parallelism = properties.parallelismFor(platform);
+            permits.put(platform, new Semaphore(parallelism));
+            totalParallelism += parallelism;
+        }
+        Semaphore submissionWindow = new Semaphore(Math.max(1, totalParallelism * 2));
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<PendingTask> pending = new ArrayList<>();
+        try {
+            for (ScrapePlan.PlannedQuery query: queries) {
+                if (!submissionWindow.tryAcquire(remaining(runDeadline), TimeUnit.NANOSECONDS)) {
+                    log.warn("Run deadline reached before {} could be scheduled", query.query());
+                    pending.add(new PendingTask(query, null));
+                    continue;
+                }
+                JobScraperService scraper = scrapers.get(query.platform());
+                Semaphore platformPermits = permits.get(query.platform());
+                Future<ScrapeTaskResult> future = executor.submit(() -> {
+                    try {
+                        return runTask(executor, task, query, scraper, platformPermits, runDeadline);
+                    } finally {
+                        submissionWindow.release();
+                    }
+                });
+                pending.add(new PendingTask(query, future));
+            }
+
+            List<ScrapeTaskResult> results = new ArrayList<>(pending.size());
+            for (PendingTask pendingTask: pending) {
+                results.add(await(pendingTask, runDeadline));
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Scraping run interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ScrapeTaskResult runTask(ExecutorService executor, ScrapeTask task, ScrapePlan.PlannedQuery query,
+                                     JobScraperService scraper, Semaphore platformPermits, long runDeadline) {
+        Platform platform = query.platform();
+        Future<ScrapeTaskResult> attempt = null;
+        try {
+            if (!platformPermits.tryAcquire(remaining(runDeadline), TimeUnit.NANOSECONDS)) {
+                log.warn("No {} slot freed up before the run deadline for {}", platform, query.query());
+                return ScrapeTaskResult.timedOut(query);
+            }
+            try {
+                attempt = executor.submit(() -> task.run(query, scraper));
+                long timeout = Math.min(properties.taskTimeout().toNanos(), remaining(runDeadline));
+                return attempt.get(timeout, TimeUnit.NANOSECONDS);
+            } finally {
+                platformPermits.release();
+            }
+        } catch (TimeoutException e) {
+            attempt.cancel(true);
+            log.warn("Scraping {} exceeded its deadline", query.query());
+            return ScrapeTaskResult.timedOut(query);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            log.error("Error while scraping {} with message: {}", platform, cause.getMessage(), cause);
+            return ScrapeTaskResult.failed(query, cause.getMessage());
+        } catch (InterruptedException e) {
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return ScrapeTaskResult.timedOut(query);
+        }
+    }
+
+    private ScrapeTaskResult await(PendingTask task, long runDeadline) {
+        if (task.future() == null) {
+            return ScrapeTaskResult.timedOut(task.query());
+        }
+        try {
+            return task.future().get(remaining(runDeadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.future().cancel(true);
+            log.warn("Run deadline reached before {} finished", task.query().query());
+            return ScrapeTaskResult.timedOut(task.query());
+        } catch (ExecutionException e) {
+            return ScrapeTaskResult.failed(task.query(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future().cancel(true);
+            return ScrapeTaskResult.timedOut(task.query());
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    private record PendingTask(ScrapePlan.PlannedQuery query, Future<ScrapeTaskResult> future) {
+    }
+}
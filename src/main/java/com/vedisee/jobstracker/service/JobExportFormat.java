@@ -0,0 +1,31 @@
+package com.vedisee.jobstracker.service;
+
+import java.util.Locale;
+
+public enum JobExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    JobExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the format is unknown
+     */
+    public static JobExportFormat of(String format) {
+        return valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
+}
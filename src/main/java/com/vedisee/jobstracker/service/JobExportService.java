@@ -0,0 +1,125 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.JobExportProperties;
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk export of jobs as NDJSON or CSV. Rows are read through a database cursor within a read-only transaction
+ * and each one is written to the output as soon as it is read, so memory stays flat whatever the row count.
+ */
+@Service
+@Slf4j
+public class JobExportService {
+
+    static final String CSV_HEADER = "id,external_id,platform,title,company,location,url,description,created_at,updated_at,cluster_id";
+
+    private final JobExportProperties properties;
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JobExportService(JobExportProperties properties, JobRepository jobRepository, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Writes the jobs matching {@code filter} to {@code out} in id order; {@code out} is flushed but left open.
+     */
+    public long export(JobExportFilter filter, JobExportFormat format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        AtomicLong rows = new AtomicLong();
+        if (format == JobExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                    jobRepository.forEachJob(filter, properties.fetchSize(), job -> {
+                        write(writer, format, job);
+                        rows.incrementAndGet();
+                    }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} jobs as {} in {} ms", rows.get(), format, (System.nanoTime() - start) / 1_000_000);
+        return rows.get();
+    }
+
+    private void write(Writer writer, JobExportFormat format, Job job) {
+        try {
+            if (format == JobExportFormat.CSV) {
+                writeCsv(writer, job);
+            } else {
+                writer.write(objectMapper.writeValueAsString(job));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(Writer writer, Job job) throws IOException {
+        writer.write(String.valueOf(job.getId()));
+        writeCsvField(writer, job.getExternalId());
+        writeCsvField(writer, job.getPlatform() == null ? null : job.getPlatform().name());
+        writeCsvField(writer, job.getTitle());
+        writeCsvField(writer, job.getCompany());
+        writeCsvField(writer, job.getLocation());
+        writeCsvField(writer, job.getUrl());
+        writeCsvField(writer, job.getDescription());
+        writeCsvField(writer, timestamp(job.getCreatedAt()));
+        writeCsvField(writer, timestamp(job.getUpdatedAt()));
+        writeCsvField(writer, job.getClusterId() == null ? null : job.getClusterId().toString());
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 field: quoted, with quotes doubled, when it holds a separator, a quote or a line break.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String timestamp(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.JobContentHash;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Persists one chunk of scraped jobs per transaction. Scraping itself never runs inside a transaction,
+ * so a connection is only held while a chunk is written and each chunk's progress survives later failures.
+ * Jobs seen again are compared by {@link JobContentHash}, and only those whose content changed are rewritten and
+ * refiled under their new LSH buckets; new jobs are then clustered with their near-duplicates by the
+ * {@link NearDuplicateDetector}. Jobs the {@link KnownExternalIdFilter} reported new but whose insert was ignored
+ * as a duplicate, because another node stored them first, are compared by content hash like any other known job.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobIngestWriter {
+
+    private final JobRepository jobRepository;
+    private final TransactionOperations transactionOperations;
+    private final KnownExternalIdFilter knownExternalIdFilter;
+    private final ScrapePipelineMetrics pipelineMetrics;
+    private final NearDuplicateDetector nearDuplicateDetector;
+
+    public List<Job> saveNewJobs(List<Job> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        List<Job> saved = transactionOperations.execute(status -> filterAndSaveNewJobs(chunk));
+        return saved == null ? List.of() : saved;
+    }
+
+    public List<Job> saveNewJobs(List<Job> chunk, Runnable inSameTransaction) {
+        List<Job> saved = transactionOperations.execute(status -> {
+            List<Job> inserted = chunk.isEmpty() ? List.<Job>of() : filterAndSaveNewJobs(chunk);
+            pipelineMetrics.time(ScrapePipelineMetrics.Stage.WATERMARK, platform(chunk), () -> {
+                inSameTransaction.run();
+                return null;
+            });
+            return inserted;
+        });
+        return saved == null ? List.of() : saved;
+    }
+
+    private List<Job> filterAndSaveNewJobs(List<Job> jobs) {
+        Platform platform = platform(jobs);
+        Partition partition = pipelineMetrics.time(ScrapePipelineMetrics.Stage.DEDUP, platform, () -> partition(jobs));
+        pipelineMetrics.jobs(ScrapePipelineMetrics.Stage.DEDUP, platform, jobs.size());
+        Written written = partition.unseen().isEmpty() && partition.changed().isEmpty()
+                ? new Written(List.of(), List.of(), 0)
+                : pipelineMetrics.time(ScrapePipelineMetrics.Stage.PERSIST, platform, () -> {
+                    List<Job> saved = partition.unseen().isEmpty() ? List.of() : jobRepository.insertIgnoringDuplicates(partition.unseen());
+                    knownExternalIdFilter.addAll(saved.stream().map(Job::getExternalId).toList());
+                    List<Job> changed = new ArrayList<>(partition.changed());
+                    changed.addAll(changedAmongIgnored(partition, saved));
+                    List<Job> updated = changed.isEmpty() ? List.of() : jobRepository.updateChangedContent(changed);
+                    return new Written(saved, updated, changed.size());
+                });
+        List<Job> inserted = written.inserted();
+        pipelineMetrics.jobs(ScrapePipelineMetrics.Stage.PERSIST, platform, inserted.size());
+        if (written.changed() > 0) {
+            pipelineMetrics.updated(platform, written.updated().size());
+        }
+        if (!inserted.isEmpty() || !written.updated().isEmpty()) {
+            int clustered = pipelineMetrics.time(ScrapePipelineMetrics.Stage.CLUSTER, platform, () -> {
+                nearDuplicateDetector.refile(written.updated());
+                return nearDuplicateDetector.link(inserted);
+            });
+            pipelineMetrics.clustered(platform, clustered);
+        }
+        pipelineMetrics.deduplicated(platform, jobs.size(), inserted.size());
+        return inserted;
+    }
+
+    private Partition partition(List<Job> jobs) {
+        Map<String, Job> uniqueJobs = new LinkedHashMap<>();
+        for (Job job: jobs) {
+            uniqueJobs.putIfAbsent(job.getExternalId(), job);
+        }
+
+        List<String> possiblyKnown = uniqueJobs.keySet().stream()
+                .filter(knownExternalIdFilter::mightContain)
+                .toList();
+        Map<String, Long> storedHashes = possiblyKnown.isEmpty() ? Map.of() : jobRepository.findContentHashes(possiblyKnown);
+        knownExternalIdFilter.recordLookups(uniqueJobs.size() - possiblyKnown.size(), possiblyKnown.size(), storedHashes.size());
+
+        Set<String> skippedLookup = new HashSet<>(uniqueJobs.keySet());
+        possiblyKnown.forEach(skippedLookup::remove);
+        List<Job> unseen = new ArrayList<>();
+        List<Job> changed = new ArrayList<>();
+        for (Job job: uniqueJobs.values()) {
+            job.setContentHash(JobContentHash.of(job));
+            if (!storedHashes.containsKey(job.getExternalId())) {
+                unseen.add(job);
+            } else if (!Objects.equals(storedHashes.get(job.getExternalId()), job.getContentHash())) {
+                changed.add(job);
+            }
+        }
+        return new Partition(unseen, changed, skippedLookup);
+    }
+
+    private List<Job> changedAmongIgnored(Partition partition, List<Job> saved) {
+        Set<String> inserted = saved.stream().map(Job::getExternalId).collect(Collectors.toSet());
+        List<Job> ignored = partition.unseen().stream()
+                .filter(job -> !inserted.contains(job.getExternalId()))
+                .toList();
+        if (ignored.isEmpty()) {
+            return List.of();
+        }
+        List<String> ignoredIds = ignored.stream().map(Job::getExternalId).toList();
+        knownExternalIdFilter.recordFalseNegatives(ignoredIds.stream().filter(partition.skippedLookup()::contains).count());
+        knownExternalIdFilter.addAll(ignoredIds);
+        Map<String, Long> storedHashes = jobRepository.findContentHashes(ignoredIds);
+        return ignored.stream()
+                .filter(job -> storedHashes.containsKey(job.getExternalId())
+                        && !Objects.equals(storedHashes.get(job.getExternalId()), job.getContentHash()))
+                .toList();
+    }
+
+    private static Platform platform(List<Job> jobs) {
+        return jobs.isEmpty() ? null : jobs.getFirst().getPlatform();
+    }
+
+    private record Partition(List<Job> unseen, List<Job> changed, Set<String> skippedLookup) {
+    }
+
+    private record Written(List<Job> inserted, List<Job> updated, int changed) {
+    }
+}
@@ -1,9 +1,26 @@
 package com.vedisee.jobstracker.service;
 
 import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface JobScrapingService {
     List<Job> scrapAllPlatforms();
+
+    ScrapeReport ingestAllPlatforms();
+
+    ScrapeReport ingestAllPlatforms(boolean fullRescan);
+
+    ScrapeReport ingestAllPlatforms(boolean fullRescan, ScrapeListener listener);
+
+    ScrapePlan planAllPlatforms();
+
+    ScrapePlan planSelected(Map<Long, Set<Platform>> selection);
+
+    ScrapeReport ingestSelected(Map<Long, Set<Platform>> selection, ScrapeListener listener);
+
+    List<ScrapeTaskResult> ingestQueries(List<ScrapePlan.PlannedQuery> queries, boolean fullRescan, ScrapeListener listener);
 }
@@ -1,17 +1,30 @@
 package com.vedisee.jobstracker.service;
 
+import com.vedisee.jobstracker.config.IngestProperties;
 import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
-import com.vedisee.jobstracker.repository.JobRepository;
 import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
 import com.vedisee.jobstracker.service.scraper.JobScraperService;
-import jakarta.transaction.Transactional;
+import com.vedisee.jobstracker.service.scraper.ScraperTrafficMeter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 @RequiredArgsConstructor
@@ -20,49 +33,241 @@ public class JobScrapingServiceImpl implements JobScrapingService {
 
     private final List<JobScraperService> scraperServices;
     private final SearchCriteriaRepository searchCriteriaRepository;
-    private final JobRepository jobRepository;
+    private final JobIngestWriter jobIngestWriter;
+    private final ConcurrentScrapeExecutor concurrentScrapeExecutor;
+    private final IngestProperties ingestProperties;
+    private final SiteAvailabilityService siteAvailabilityService;
+    private final ScrapeQueryPlanner scrapeQueryPlanner;
+    private final ScrapeWatermarkService scrapeWatermarkService;
+    private final ScrapePipelineMetrics pipelineMetrics;
 
     @Override
-    @Transactional
     public List<Job> scrapAllPlatforms() {
-        log.info("Starting scraping ...");
-        List<SearchCriteria> searchCriteriaList = searchCriteriaRepository.findAll();
+        List<Job> jobs = new ArrayList<>();
+        for (ScrapeTaskResult result: run(true, false, ScrapeListener.NONE).results()) {
+            jobs.addAll(result.newJobs());
+        }
+        return jobs;
+    }
+
+    @Override
+    public ScrapeReport ingestAllPlatforms() {
+        return ingestAllPlatforms(false);
+    }
+
+    @Override
+    public ScrapeReport ingestAllPlatforms(boolean fullRescan) {
+        return ingestAllPlatforms(fullRescan, ScrapeListener.NONE);
+    }
+
+    @Override
+    public ScrapeReport ingestAllPlatforms(boolean fullRescan, ScrapeListener listener) {
+        ScrapeRun run = run(false, fullRescan, listener);
+        if (run.results().isEmpty()) {
+            return ScrapeReport.empty();
+        }
+        return report(run);
+    }
 
-        if (searchCriteriaList.isEmpty()) {
+    @Override
+    public ScrapeReport ingestSelected(Map<Long, Set<Platform>> selection, ScrapeListener listener) {
+        if (selection.isEmpty()) {
+            return ScrapeReport.empty();
+        }
+        ScrapePlan plan = planSelected(selection);
+        listener.onPlanned(plan);
+        if (plan.queries().isEmpty()) {
+            return ScrapeReport.empty();
+        }
+        preflight();
+        return report(new ScrapeRun(plan, execute(plan.queries(), false, false, listener)));
+    }
+
+    private ScrapeReport report(ScrapeRun run) {
+        List<ScrapeTaskResult> results = run.results();
+        long failed = results.stream().filter(result -> result.status() != ScrapeTaskResult.Status.COMPLETED).count();
+        long fetched = results.stream().mapToLong(ScrapeTaskResult::fetchedJobs).sum();
+        long newJobs = results.stream().mapToLong(ScrapeTaskResult::newJobCount).sum();
+        ScrapeReport report = new ScrapeReport(run.plan().criteria(), results.size(), failed, fetched, newJobs,
+                run.plan().requestedQueries(), run.plan().skippedRequests());
+        log.info("Scraping done: {}", report);
+        return report;
+    }
+
+    @Override
+    public ScrapePlan planSelected(Map<Long, Set<Platform>> selection) {
+        List<SearchCriteria> criteria = selection.isEmpty() ? List.of()
+                : searchCriteriaRepository.findAllByIdIn(selection.keySet(), Sort.by("id"));
+        return scrapeQueryPlanner.plan(criteria, scrapers().keySet(),
+                (searchCriteria, platform) -> selection.getOrDefault(searchCriteria.getId(), Set.of()).contains(platform));
+    }
+
+    @Override
+    public ScrapePlan planAllPlatforms() {
+        Iterator<SearchCriteria> pages = new SearchCriteriaPages(searchCriteriaRepository, ingestProperties.criteriaPageSize()).iterator();
+        if (!pages.hasNext()) {
             log.warn("No criteria found");
-            return List.of();
+            return null;
         }
+        ScrapePlan plan = scrapeQueryPlanner.plan(() -> pages, scrapers().keySet());
+        log.info("Planned {} requests for {} criteria ({} before coalescing, skipped over budget: {})",
+                plan.plannedRequests(), plan.criteria(), plan.requestedQueries(), plan.skippedByBudget());
+        return plan;
+    }
 
-        List<Job> jobs = new ArrayList<>();
+    @Override
+    public List<ScrapeTaskResult> ingestQueries(List<ScrapePlan.PlannedQuery> queries, boolean fullRescan, ScrapeListener listener) {
+        Set<Platform> platforms = scrapers().keySet();
+        List<ScrapePlan.PlannedQuery> supported = queries.stream().filter(query -> platforms.contains(query.platform())).toList();
+        Iterator<ScrapeTaskResult> executed = execute(supported, false, fullRescan, listener).iterator();
+        return queries.stream()
+                .map(query -> platforms.contains(query.platform()) ? executed.next() : ScrapeTaskResult.unavailable(query))
+                .toList();
+    }
 
-        for (SearchCriteria criteria: searchCriteriaList) {
-            log.info("Scraping for criteria: {}", criteria);
-            for (JobScraperService scraper: scraperServices) {
-                log.info("Scraping for plateform: {}", scraper.getPlatform());
-                if (!scraper.isAvailable()) {
-                    log.warn("Plateform {} is not reachable", scraper.getPlatform());
-                    continue;
-                }
-                try {
-                    List<Job> newJobs = filterAndSaveNewJobs(scraper.scrapeJobs(criteria));
-                    jobs.addAll(newJobs);
-                    log.info("{} new jobs have been scraped from {}", newJobs.size(), scraper.getPlatform());
-                } catch (Exception e) {
-                    log.error("Error while scraping {} with message: {}", scraper.getPlatform(), e.getMessage(), e);
+    private ScrapeRun run(boolean collectNewJobs, boolean fullRescan, ScrapeListener listener) {
+        log.info(fullRescan ? "Starting full rescan ..." : "Starting scraping ...");
+        ScrapePlan plan = planAllPlatforms();
+        if (plan == null) {
+            return new ScrapeRun(null, List.of());
+        }
+        listener.onPlanned(plan);
+        if (plan.queries().isEmpty()) {
+            return new ScrapeRun(plan, List.of());
+        }
+        preflight();
+        return new ScrapeRun(plan, execute(plan.queries(), collectNewJobs, fullRescan, listener));
+    }
+
+    private List<ScrapeTaskResult> execute(List<ScrapePlan.PlannedQuery> queries, boolean collectNewJobs, boolean fullRescan,
+                                           ScrapeListener listener) {
+        Map<Platform, JobScraperService> scrapers = scrapers();
+        ConcurrentScrapeExecutor.ScrapeTask task = (query, scraper) -> {
+            LongAdder bytes = new LongAdder();
+            long start = System.nanoTime();
+            try {
+                ScrapeTaskResult result = scrapeAndIngest(query, scraper, collectNewJobs, fullRescan, bytes)
+                        .measured(bytes.sum(), Duration.ofNanos(System.nanoTime() - start));
+                listener.onTaskFinished(result);
+                return result;
+            } catch (Exception e) {
+                listener.onTaskFinished(ScrapeTaskResult.failed(query, e.getMessage())
+                        .measured(bytes.sum(), Duration.ofNanos(System.nanoTime() - start)));
+                throw e;
+            }
+        };
+        List<ScrapeTaskResult> results = concurrentScrapeExecutor.isEnabled()
+                ? concurrentScrapeExecutor.execute(queries, scrapers, task)
+                : runSequentially(queries, scrapers, task);
+
+        for (ScrapeTaskResult result: results) {
+            pipelineMetrics.taskFinished(result);
+            switch (result.status()) {
+                case COMPLETED -> log.info("{} new jobs have been scraped from {} for {} criteria",
+                        result.newJobCount(), result.query(), result.criteriaIds().size());
+                case UNAVAILABLE -> log.warn("Plateform {} is not reachable", result.platform());
+                case TIMED_OUT -> {
+                    log.warn("Scraping timed out for {}", result.query());
+                    listener.onTaskFinished(result);
                 }
+                case FAILED -> log.error("Error while scraping {} with message: {}", result.query(), result.error());
             }
         }
-        return jobs;
+        return results;
+    }
+
+    private Map<Platform, JobScraperService> scrapers() {
+        Map<Platform, JobScraperService> scrapers = new LinkedHashMap<>();
+        scraperServices.forEach(scraper -> scrapers.putIfAbsent(scraper.getPlatform(), scraper));
+        return scrapers;
+    }
+
+    private void preflight() {
+        List<String> sites = scraperServices.stream()
+                .filter(JobScraperService::isRemote)
+                .map(JobScraperService::getPlatform)
+                .filter(Objects::nonNull)
+                .map(Platform::getUrl)
+                .toList();
+        if (sites.isEmpty()) {
+            return;
+        }
+        Map<String, Availability> availabilities = siteAvailabilityService.probeAll(sites).block();
+        if (availabilities != null) {
+            availabilities.values().forEach(availability -> pipelineMetrics.record(ScrapePipelineMetrics.Stage.AVAILABILITY,
+                    Platform.fromUrl(availability.site()).orElse(null), availability.latency()));
+            availabilities.values().forEach(availability -> log.info("Pre-flight {}: reachable={}, status={}, latency={} ms",
+                    availability.site(), availability.reachable(), availability.statusCode(), availability.latency().toMillis()));
+        }
     }
 
-    private List<Job> filterAndSaveNewJobs(List<Job> jobs) {
+    private List<ScrapeTaskResult> runSequentially(List<ScrapePlan.PlannedQuery> queries, Map<Platform, JobScraperService> scrapers,
+                                                   ConcurrentScrapeExecutor.ScrapeTask task) {
+        List<ScrapeTaskResult> results = new ArrayList<>();
+
+        for (ScrapePlan.PlannedQuery query: queries) {
+            log.info("Scraping for query: {}", query.query());
+            try {
+                results.add(task.run(query, scrapers.get(query.platform())));
+            } catch (Exception e) {
+                log.error("Error while scraping {} with message: {}", query.query(), e.getMessage(), e);
+                results.add(ScrapeTaskResult.failed(query, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private ScrapeTaskResult scrapeAndIngest(ScrapePlan.PlannedQuery query, JobScraperService scraper,
+                                             boolean collectNewJobs, boolean fullRescan, LongAdder bytes) {
+        if (!pipelineMetrics.time(ScrapePipelineMetrics.Stage.AVAILABILITY, query.platform(), scraper::isAvailable)) {
+            return ScrapeTaskResult.unavailable(query);
+        }
+
+        long fetched = 0;
+        long newJobCount = 0;
         List<Job> newJobs = new ArrayList<>();
-        for (Job job: jobs) {
-            if (jobRepository.findByExternalId(job.getExternalId()).isEmpty()) {
-                jobRepository.save(job);
-                newJobs.add(job);
+        Set<String> stopMarkers = fullRescan ? Set.of() : scrapeWatermarkService.stopMarkers(query);
+        AtomicReference<String> newest = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Iterator<List<Job>> chunks = ScraperTrafficMeter.tally(scraper.fetch(query.query()), bytes)
+                .doOnNext(job -> newest.compareAndSet(null, job.getExternalId()))
+                .takeWhile(job -> !stopMarkers.contains(job.getExternalId()))
+                .onErrorResume(e -> {
+                    failure.set(e);
+                    return Mono.empty();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .buffer(ingestProperties.batchSize())
+                .toIterable(ingestProperties.prefetchChunks())
+                .iterator();
+        // Fetch time is what this thread spends waiting for the scraper, ingestion of earlier chunks excluded.
+        long fetchNanos = 0;
+        long waitStart = System.nanoTime();
+        while (chunks.hasNext()) {
+            List<Job> chunk = chunks.next();
+            boolean last = !chunks.hasNext();
+            fetchNanos += System.nanoTime() - waitStart;
+            fetched += chunk.size();
+            // The watermark only moves with the last chunk of a complete scan, so a run failing halfway
+            // keeps what it fetched but rescans from the old watermark next time.
+            List<Job> saved = last && failure.get() == null
+                    ? jobIngestWriter.saveNewJobs(chunk, () -> scrapeWatermarkService.advance(query, newest.get()))
+                    : jobIngestWriter.saveNewJobs(chunk);
+            newJobCount += saved.size();
+            if (collectNewJobs) {
+                newJobs.addAll(saved);
             }
+            waitStart = System.nanoTime();
         }
-        return newJobs;
+        fetchNanos += System.nanoTime() - waitStart;
+        pipelineMetrics.record(ScrapePipelineMetrics.Stage.FETCH, query.platform(), Duration.ofNanos(fetchNanos));
+        pipelineMetrics.jobs(ScrapePipelineMetrics.Stage.FETCH, query.platform(), fetched);
+        if (failure.get() != null) {
+            throw Exceptions.propagate(failure.get());
+        }
+        return ScrapeTaskResult.completed(query, fetched, newJobCount, newJobs);
+    }
+
+    private record ScrapeRun(ScrapePlan plan, List<ScrapeTaskResult> results) {
     }
 }
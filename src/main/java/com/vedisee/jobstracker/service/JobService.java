@@ -1,15 +1,33 @@
 package com.vedisee.jobstracker.service;
 
+import com.vedisee.jobstracker.dto.JobPage;
+import com.vedisee.jobstracker.dto.JobSearchPage;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.SearchCriteria;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public interface JobService {
     List<Job> findAllJobs();
+    /**
+     * Page of jobs in {@code (createdAt, id)} order following {@code cursor}, the first page when it is blank.
+     *
+     * @throws IllegalArgumentException when the cursor is invalid
+     */
+    JobPage findJobs(String cursor, Integer size, boolean collapseDuplicates);
+    /**
+     * Page {@code page} (0 by default) of the jobs matching the full-text {@code query}, most relevant first.
+     *
+     * @throws IllegalArgumentException when the query is blank or the page negative
+     */
+    JobSearchPage searchJobs(String query, Integer page, Integer size, boolean collapseDuplicates);
     Optional<Job> findJobById(Long id);
+    Optional<List<Job>> findDuplicates(Long id);
     List<SearchCriteria> findAllSearchCriteria();
     SearchCriteria saveSearchCriteria(SearchCriteria criteria);
-    void triggerJobScraping();
+    ScrapeRunTicket triggerJobScraping();
+    ScrapeRunTicket triggerJobScraping(boolean fullRescan);
+    Optional<ScrapeRunStatus> findScrapeRun(UUID id);
 }
@@ -1,33 +1,87 @@
 package com.vedisee.jobstracker.service;
 
+import com.vedisee.jobstracker.config.JobPageProperties;
+import com.vedisee.jobstracker.dto.JobPage;
+import com.vedisee.jobstracker.dto.JobSearchHit;
+import com.vedisee.jobstracker.dto.JobSearchPage;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.SearchCriteria;
 import com.vedisee.jobstracker.repository.JobRepository;
 import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class JobServiceImpl implements JobService {
     private final JobRepository jobRepository;
     private final SearchCriteriaRepository searchCriteriaRepository;
-    private final JobScrapingService jobScrapingService;
+    private final ScrapeRunService scrapeRunService;
+    private final JobPageProperties pageProperties;
 
     @Override
     public List<Job> findAllJobs() {
         return jobRepository.findAll();
     }
 
+    @Override
+    public JobPage findJobs(String cursor, Integer size, boolean collapseDuplicates) {
+        JobCursor after = cursor == null || cursor.isBlank() ? null : JobCursor.decode(cursor);
+        int pageSize = pageProperties.sizeOf(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Job> jobs;
+        if (collapseDuplicates) {
+            jobs = after == null
+                    ? jobRepository.findFirstCanonicalPage(limit)
+                    : jobRepository.findCanonicalPageAfter(after.createdAt(), after.id(), limit);
+        } else {
+            jobs = after == null
+                    ? jobRepository.findFirstPage(limit)
+                    : jobRepository.findPageAfter(after.createdAt(), after.id(), limit);
+        }
+        if (jobs.size() <= pageSize) {
+            return new JobPage(jobs, null);
+        }
+        List<Job> page = jobs.subList(0, pageSize);
+        return new JobPage(page, JobCursor.after(page.getLast()).encode());
+    }
+
+    @Override
+    public JobSearchPage searchJobs(String query, Integer page, Integer size, boolean collapseDuplicates) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is blank");
+        }
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Negative page " + pageNumber);
+        }
+        int pageSize = pageProperties.sizeOf(size);
+        List<JobSearchHit> hits = jobRepository.search(query.trim(), collapseDuplicates, (long) pageNumber * pageSize, pageSize + 1);
+        if (hits.size() <= pageSize) {
+            return new JobSearchPage(hits, null);
+        }
+        return new JobSearchPage(hits.subList(0, pageSize), pageNumber + 1);
+    }
+
     @Override
     public Optional<Job> findJobById(Long id) {
         return jobRepository.findById(id);
     }
 
+    @Override
+    public Optional<List<Job>> findDuplicates(Long id) {
+        return jobRepository.findById(id)
+                .map(job -> jobRepository.findCluster(job.getClusterId() != null ? job.getClusterId() : job.getId()).stream()
+                        .filter(member -> !member.getId().equals(id))
+                        .toList());
+    }
+
     @Override
     public List<SearchCriteria> findAllSearchCriteria() {
         return searchCriteriaRepository.findAll();
@@ -40,7 +94,17 @@ public class JobServiceImpl implements JobService {
     }
 
     @Override
-    public void triggerJobScraping() {
-        jobScrapingService.scrapAllPlatforms();
+    public ScrapeRunTicket triggerJobScraping() {
+        return triggerJobScraping(false);
+    }
+
+    @Override
+    public ScrapeRunTicket triggerJobScraping(boolean fullRescan) {
+        return scrapeRunService.trigger(fullRescan);
+    }
+
+    @Override
+    public Optional<ScrapeRunStatus> findScrapeRun(UUID id) {
+        return scrapeRunService.findRun(id);
     }
 }
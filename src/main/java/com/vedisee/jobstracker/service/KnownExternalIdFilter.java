@@ -0,0 +1,207 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.KnownExternalIdProperties;
+import com.vedisee.jobstracker.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory Bloom filter of every known {@code Job.externalId}, so ingest only asks the database about
+ * ids that might already exist. Until the first load completes every id is reported as a possible hit.
+ * A rebuild streams the job table into a fresh filter while the current one keeps serving; ids inserted
+ * meanwhile are replayed into the new filter before it is swapped in. Ids inserted by other nodes never reach
+ * this filter until then, so they show up as false negatives: inserts ignored as duplicates although the filter
+ * reported them new. A rebuild is triggered when the filter outgrows its capacity or the observed false-positive
+ * plus false-negative rate drifts past twice what the filter can achieve, at most once per {@code min-rebuild-interval}.
+ */
+@Component
+@Slf4j
+public class KnownExternalIdFilter {
+
+    private static final long MIN_SAMPLES_FOR_DRIFT = 1000;
+
+    private final KnownExternalIdProperties properties;
+    private final JobRepository jobRepository;
+    private final TransactionOperations transactionOperations;
+    private final Counter skippedLookups;
+    private final Counter missedIds;
+    private final Clock clock;
+
+    private volatile BloomFilter filter;
+    private volatile long capacity;
+    private volatile Set<String> insertedDuringRebuild;
+    private volatile Instant lastRebuildAt;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder falseNegatives = new LongAdder();
+
+    @Autowired
+    public KnownExternalIdFilter(KnownExternalIdProperties properties, JobRepository jobRepository,
+                                 TransactionOperations transactionOperations, MeterRegistry meterRegistry) {
+        this(properties, jobRepository, transactionOperations, meterRegistry, Clock.systemUTC());
+    }
+
+    KnownExternalIdFilter(KnownExternalIdProperties properties, JobRepository jobRepository,
+                          TransactionOperations transactionOperations, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.jobRepository = jobRepository;
+        this.transactionOperations = transactionOperations;
+        this.skippedLookups = meterRegistry.counter("job.ingest.known.ids.skipped.lookups");
+        this.missedIds = meterRegistry.counter("job.ingest.known.ids.false.negatives");
+        Gauge.builder("job.ingest.known.ids.false.positive.rate", this, KnownExternalIdFilter::observedFalsePositiveRate)
+                .register(meterRegistry);
+        Gauge.builder("job.ingest.known.ids.expected.false.positive.rate", this,
+                        known -> known.filter == null ? 0 : known.filter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("job.ingest.known.ids.size.bytes", this, known -> known.filter == null ? 0 : known.filter.sizeInBytes())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.enabled()) {
+            Thread.ofVirtual().name("known-ids-loader").start(this::rebuild);
+        }
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public boolean mightContain(String externalId) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(externalId);
+    }
+
+    public void addAll(Collection<String> externalIds) {
+        BloomFilter current = filter;
+        if (current != null) {
+            externalIds.forEach(current::put);
+        }
+        Set<String> pending = insertedDuringRebuild;
+        if (pending != null) {
+            pending.addAll(externalIds);
+        }
+        if (current != null && current.insertions() > capacity) {
+            triggerRebuild("capacity of " + capacity + " ids exceeded");
+        }
+    }
+
+    public void recordLookups(long definitelyNew, long checked, long foundExisting) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        skippedLookups.increment(definitelyNew);
+        negatives.add(definitelyNew);
+        falsePositives.add(checked - foundExisting);
+        checkDrift(current);
+    }
+
+    /**
+     * Records ids the filter reported new but the database already held, typically inserted by another node.
+     * The caller adds them with {@link #addAll(Collection)} once it knows them.
+     */
+    public void recordFalseNegatives(long count) {
+        BloomFilter current = filter;
+        if (current == null || count == 0) {
+            return;
+        }
+        missedIds.increment(count);
+        falseNegatives.add(count);
+        checkDrift(current);
+    }
+
+    public double observedFalsePositiveRate() {
+        long positives = falsePositives.sum();
+        long samples = negatives.sum() + positives;
+        return samples == 0 ? 0 : (double) positives / samples;
+    }
+
+    double observedFalseNegativeRate() {
+        long samples = negatives.sum() + falsePositives.sum();
+        return samples == 0 ? 0 : (double) falseNegatives.sum() / samples;
+    }
+
+    public boolean rebuild() {
+        if (!properties.enabled() || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        insertedDuringRebuild = pending;
+        try {
+            long expected = Math.max(properties.expectedInsertions(), jobRepository.count() * 2);
+            BloomFilter fresh = BloomFilter.create(expected, properties.falsePositiveRate(), properties.maxSize().toBytes());
+            transactionOperations.executeWithoutResult(status -> jobRepository.forEachExternalId(properties.fetchSize(), fresh::put));
+            replay(pending, fresh);
+            filter = fresh;
+            capacity = expected;
+            // Ids added between the first replay and the swap only reached the old filter.
+            replay(pending, fresh);
+            negatives.reset();
+            falsePositives.reset();
+            falseNegatives.reset();
+            log.info("Known external ids filter loaded: {} ids, {} bytes", fresh.insertions(), fresh.sizeInBytes());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild known external ids filter, keeping the current one: {}", e.getMessage(), e);
+            return false;
+        } finally {
+            insertedDuringRebuild = null;
+            lastRebuildAt = clock.instant();
+            rebuilding.set(false);
+        }
+    }
+
+    long size() {
+        BloomFilter current = filter;
+        return current == null ? 0 : current.insertions();
+    }
+
+    private static void replay(Set<String> pending, BloomFilter fresh) {
+        pending.removeIf(externalId -> {
+            fresh.put(externalId);
+            return true;
+        });
+    }
+
+    private void checkDrift(BloomFilter current) {
+        long samples = negatives.sum() + falsePositives.sum();
+        // A filter capped by max-size cannot reach the configured rate: drift is measured against what it can achieve.
+        double achievable = Math.max(properties.falsePositiveRate(), current.expectedFalsePositiveRate());
+        double observed = observedFalsePositiveRate() + observedFalseNegativeRate();
+        if (samples >= MIN_SAMPLES_FOR_DRIFT && observed > achievable * 2) {
+            triggerRebuild("observed false-positive rate " + observedFalsePositiveRate()
+                    + ", false-negative rate " + observedFalseNegativeRate());
+        }
+    }
+
+    private void triggerRebuild(String reason) {
+        Instant last = lastRebuildAt;
+        if (last != null && clock.instant().isBefore(last.plus(properties.minRebuildInterval()))) {
+            log.debug("Not rebuilding known external ids filter yet ({}), last rebuild at {}", reason, last);
+            return;
+        }
+        if (!rebuilding.get()) {
+            log.warn("Rebuilding known external ids filter: {}", reason);
+            Thread.ofVirtual().name("known-ids-rebuild").start(this::rebuild);
+        }
+    }
+}
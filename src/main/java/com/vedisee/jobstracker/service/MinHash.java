@@ -0,0 +1,107 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Job;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash over the word shingles of a job, and the LSH buckets of its signature. Hash functions derive from
+ * fixed seeds, so buckets computed by different nodes or releases stay comparable.
+ */
+final class MinHash {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int shingleSize;
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    MinHash(int shingleSize, int bands, int rows) {
+        this.shingleSize = shingleSize;
+        this.bands = bands;
+        this.rows = rows;
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = BloomFilter.mix((i + 1) * GOLDEN_GAMMA);
+        }
+    }
+
+    /**
+     * Sorted, distinct hashes of the word shingles of the title, company, location and description.
+     */
+    long[] shingles(Job job) {
+        String text = String.join(" ", nonNull(job.getTitle()), nonNull(job.getCompany()), nonNull(job.getLocation()),
+                nonNull(job.getDescription()));
+        String[] words = Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return new long[0];
+        }
+        int count = Math.max(1, words.length - shingleSize + 1);
+        long[] shingles = new long[count];
+        for (int i = 0; i < count; i++) {
+            shingles[i] = BloomFilter.hash(String.join(" ", Arrays.copyOfRange(words, i, Math.min(words.length, i + shingleSize))));
+        }
+        Arrays.sort(shingles);
+        return Arrays.stream(shingles).distinct().toArray();
+    }
+
+    /**
+     * One bucket per band, empty when there is no shingle.
+     */
+    long[] buckets(long[] shingles) {
+        if (shingles.length == 0) {
+            return new long[0];
+        }
+        long[] signature = new long[seeds.length];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        for (long shingle: shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                signature[i] = Math.min(signature[i], BloomFilter.mix(shingle ^ seeds[i]));
+            }
+        }
+        long[] buckets = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            long bucket = BloomFilter.mix(band + 1L);
+            for (int row = 0; row < rows; row++) {
+                bucket = BloomFilter.mix(bucket ^ signature[band * rows + row]);
+            }
+            buckets[band] = bucket;
+        }
+        return buckets;
+    }
+
+    /**
+     * Jaccard similarity of two sorted shingle sets.
+     */
+    static double similarity(long[] first, long[] second) {
+        if (first.length == 0 || second.length == 0) {
+            return 0;
+        }
+        int common = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            int order = Long.compare(first[i], second[j]);
+            if (order == 0) {
+                common++;
+                i++;
+                j++;
+            } else if (order < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (first.length + second.length - common);
+    }
+
+    private static String nonNull(String value) {
+        return value == null ? "" : value;
+    }
+}
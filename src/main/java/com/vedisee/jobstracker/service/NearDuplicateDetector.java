@@ -0,0 +1,134 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.NearDuplicateProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.repository.JobRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Links newly inserted jobs to an earlier near-duplicate, typically the same posting scraped from another platform
+ * under another external id. Each job is filed under the LSH buckets of its {@link MinHash} signature, so the
+ * candidates of a new job are the jobs sharing one of its buckets, found through the bucket index whatever the
+ * table size. The most similar candidate reaching the threshold gives the new job its cluster. Only the most recent
+ * jobs of each bucket are loaded as candidates, which bounds the work per chunk when boilerplate shares a bucket.
+ */
+@Component
+public class NearDuplicateDetector {
+
+    private final JobRepository jobRepository;
+    private final NearDuplicateProperties properties;
+    private final MinHash minHash;
+
+    public NearDuplicateDetector(JobRepository jobRepository, NearDuplicateProperties properties) {
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+        this.minHash = new MinHash(properties.shingleSize(), properties.bands(), properties.rows());
+    }
+
+    /**
+     * Files the inserted jobs, which must have their ids, under their buckets and links each one that matches an
+     * earlier job, including an earlier job of the same chunk, to its cluster.
+     *
+     * @return the number of jobs linked to a cluster
+     */
+    public int link(List<Job> inserted) {
+        if (!properties.enabled() || inserted.isEmpty()) {
+            return 0;
+        }
+
+        List<Fingerprint> fingerprints = new ArrayList<>(inserted.size());
+        Map<Long, long[]> bucketsByJobId = new LinkedHashMap<>();
+        Set<Long> allBuckets = new LinkedHashSet<>();
+        for (Job job: inserted) {
+            long[] shingles = minHash.shingles(job);
+            Fingerprint fingerprint = new Fingerprint(job, shingles, minHash.buckets(shingles));
+            fingerprints.add(fingerprint);
+            bucketsByJobId.put(job.getId(), fingerprint.buckets());
+            for (long bucket: fingerprint.buckets()) {
+                allBuckets.add(bucket);
+            }
+        }
+
+        Map<Long, List<Long>> storedJobIds = allBuckets.isEmpty() ? Map.of() : jobRepository.findJobIdsByLshBuckets(allBuckets, properties.maxCandidatesPerBucket());
+        Set<Long> storedIds = new LinkedHashSet<>();
+        storedJobIds.values().forEach(storedIds::addAll);
+        Map<Long, Fingerprint> stored = new HashMap<>();
+        for (Job job: storedIds.isEmpty() ? List.<Job>of() : jobRepository.findAllById(storedIds)) {
+            stored.put(job.getId(), new Fingerprint(job, minHash.shingles(job), null));
+        }
+
+        Map<Long, List<Fingerprint>> chunkJobs = new HashMap<>();
+        Map<Long, Long> clusterIdByJobId = new LinkedHashMap<>();
+        for (Fingerprint fingerprint: fingerprints) {
+            Job best = null;
+            double bestSimilarity = properties.similarityThreshold();
+            for (Fingerprint candidate: candidates(fingerprint.buckets(), storedJobIds, stored, chunkJobs)) {
+                double similarity = MinHash.similarity(fingerprint.shingles(), candidate.shingles());
+                if (best == null ? similarity >= bestSimilarity : similarity > bestSimilarity) {
+                    best = candidate.job();
+                    bestSimilarity = similarity;
+                }
+            }
+            Job job = fingerprint.job();
+            if (best != null) {
+                job.setClusterId(best.getClusterId() != null ? best.getClusterId() : best.getId());
+                clusterIdByJobId.put(job.getId(), job.getClusterId());
+            }
+            for (long bucket: fingerprint.buckets()) {
+                chunkJobs.computeIfAbsent(bucket, key -> new ArrayList<>()).add(fingerprint);
+            }
+        }
+
+        jobRepository.insertLshBuckets(bucketsByJobId);
+        jobRepository.assignClusters(clusterIdByJobId);
+        return clusterIdByJobId.size();
+    }
+
+    /**
+     * Files jobs whose content was rewritten, which must have their ids, under the buckets of their new content,
+     * so that later jobs are matched against what the posting says now. Their cluster is left as it is.
+     */
+    public void refile(List<Job> updated) {
+        if (!properties.enabled() || updated.isEmpty()) {
+            return;
+        }
+        Map<Long, long[]> bucketsByJobId = new LinkedHashMap<>();
+        for (Job job: updated) {
+            bucketsByJobId.put(job.getId(), minHash.buckets(minHash.shingles(job)));
+        }
+        jobRepository.deleteLshBuckets(bucketsByJobId.keySet());
+        jobRepository.insertLshBuckets(bucketsByJobId);
+    }
+
+    /**
+     * Stored and same-chunk jobs sharing at least one bucket, each once.
+     */
+    private static Collection<Fingerprint> candidates(long[] buckets, Map<Long, List<Long>> storedJobIds,
+                                                      Map<Long, Fingerprint> stored, Map<Long, List<Fingerprint>> chunkJobs) {
+        Map<Long, Fingerprint> candidates = new LinkedHashMap<>();
+        for (long bucket: buckets) {
+            for (Long jobId: storedJobIds.getOrDefault(bucket, List.of())) {
+                Fingerprint candidate = stored.get(jobId);
+                if (candidate != null) {
+                    candidates.putIfAbsent(jobId, candidate);
+                }
+            }
+            for (Fingerprint candidate: chunkJobs.getOrDefault(bucket, List.of())) {
+                candidates.putIfAbsent(candidate.job().getId(), candidate);
+            }
+        }
+        return candidates.values();
+    }
+
+    private record Fingerprint(Job job, long[] shingles, long[] buckets) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.PlatformHealthProperties;
+import com.vedisee.jobstracker.model.Platform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caches reachability probes per platform site and trips a circuit breaker after repeated failures.
+ * While the circuit is open callers get {@code false} without any network call; once the open period
+ * has elapsed a single caller probes again (half-open) and its outcome closes or re-opens the circuit.
+ */
+@Component
+@Slf4j
+public class PlatformHealthRegistry {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public record Snapshot(
+            String platform,
+            State state,
+            Boolean reachable,
+            Instant lastProbeAt,
+            int consecutiveFailures,
+            Instant openUntil
+    ) {
+    }
+
+    private final PlatformHealthProperties properties;
+    private final Clock clock;
+    private final Map<String, SiteHealth> sites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PlatformHealthRegistry(PlatformHealthProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    PlatformHealthRegistry(PlatformHealthProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public boolean isAvailable(String site, BooleanSupplier probe) {
+        SiteHealth health = sites.computeIfAbsent(site, key -> new SiteHealth());
+        Instant now = clock.instant();
+
+        Boolean cached = health.cachedResult(now);
+        if (cached != null) {
+            return cached;
+        }
+        Boolean lastKnown = health.reachable;
+        if (lastKnown == null) {
+            // Never probed: wait for the probe in flight rather than reporting a site nobody checked as down.
+            health.lock.lock();
+        } else if (!health.lock.tryLock()) {
+            // Another caller is already probing: answer with what we last knew instead of piling up probes.
+            return lastKnown;
+        }
+        try {
+            cached = health.cachedResult(clock.instant());
+            if (cached != null) {
+                return cached;
+            }
+            if (health.state == State.OPEN) {
+                health.state = State.HALF_OPEN;
+                log.info("Circuit for {} is half-open, probing once", site);
+            }
+            boolean reachable;
+            try {
+                reachable = probe.getAsBoolean();
+            } catch (RuntimeException | Error e) {
+                // A probe that blew up, or was interrupted, is a failed probe: never leave the circuit half-open.
+                health.record(false, clock.instant(), site);
+                throw e;
+            }
+            health.record(reachable, clock.instant(), site);
+            return reachable;
+        } finally {
+            health.lock.unlock();
+        }
+    }
+
+    public boolean isOpen(String site) {
+        SiteHealth health = sites.get(site);
+        return health != null && health.state != State.CLOSED && Boolean.FALSE.equals(health.cachedResult(clock.instant()));
+    }
+
+    public void record(String site, boolean reachable) {
+        SiteHealth health = sites.computeIfAbsent(site, key -> new SiteHealth());
+        health.lock.lock();
+        try {
+            health.record(reachable, clock.instant(), site);
+        } finally {
+            health.lock.unlock();
+        }
+    }
+
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        sites.forEach((site, health) -> snapshot.put(site, new Snapshot(
+                Platform.fromUrl(site).map(Platform::name).orElse(null),
+                health.state,
+                health.reachable,
+                health.lastProbeAt,
+                health.consecutiveFailures,
+                health.state == State.CLOSED ? null : health.openedAt.plus(properties.openDuration()))));
+        return snapshot;
+    }
+
+    private final class SiteHealth {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile State state = State.CLOSED;
+        private volatile Boolean reachable;
+        private volatile Instant lastProbeAt;
+        private volatile Instant openedAt;
+        private volatile int consecutiveFailures;
+
+        private Boolean cachedResult(Instant now) {
+            return switch (state) {
+                case OPEN -> now.isBefore(openedAt.plus(properties.openDuration())) ? Boolean.FALSE : null;
+                case HALF_OPEN -> Boolean.FALSE;
+                case CLOSED -> lastProbeAt != null && now.isBefore(lastProbeAt.plus(properties.cacheTtl())) ? reachable : null;
+            };
+        }
+
+        private void record(boolean result, Instant now, String site) {
+            reachable = result;
+            lastProbeAt = now;
+            if (result) {
+                if (state != State.CLOSED) {
+                    log.info("Circuit for {} closed", site);
+                }
+                consecutiveFailures = 0;
+                state = State.CLOSED;
+                return;
+            }
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= properties.failureThreshold()) {
+                if (state != State.OPEN) {
+                    log.warn("Circuit for {} opened after {} consecutive failures", site, consecutiveFailures);
+                }
+                state = State.OPEN;
+                openedAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.vedisee.jobstracker.service;
+
+/**
+ * Receives the progress of a scraping run: the plan once queries are coalesced, then every query as it
+ * finishes. Callbacks arrive from the scraping threads, possibly concurrently.
+ */
+public interface ScrapeListener {
+
+    ScrapeListener NONE = new ScrapeListener() {
+    };
+
+    default void onPlanned(ScrapePlan plan) {
+    }
+
+    default void onTaskFinished(ScrapeTaskResult result) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the ingest pipeline, tagged by stage and platform:
+ * <ul>
+ *     <li>{@code scraper.pipeline.stage.duration}: time spent in a stage. Fetch is the time the pipeline waits on
+ *     the scraper, so it includes the parsing done by the scraper;</li>
+ *     <li>{@code scraper.pipeline.stage.jobs}: jobs handled by one call of a stage;</li>
+ *     <li>{@code scraper.pipeline.jobs}: jobs fetched, new and duplicate, the duplicates whose content
+ *     changed and was rewritten, and the new jobs clustered with a near-duplicate;</li>
+ *     <li>{@code scraper.pipeline.tasks}: finished queries by status;</li>
+ *     <li>{@code scraper.http.response.size}: bytes downloaded per response.</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class ScrapePipelineMetrics {
+
+    public enum Stage {
+        AVAILABILITY,
+        FETCH,
+        PARSE,
+        DEDUP,
+        PERSIST,
+        CLUSTER,
+        WATERMARK
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(Stage stage, Platform platform, Duration duration) {
+        Timer.builder("scraper.pipeline.stage.duration")
+                .tag("stage", tag(stage))
+                .tag("platform", tag(platform))
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public <T> T time(Stage stage, Platform platform, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(stage, platform, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    public List<Job> parse(Platform platform, Supplier<List<Job>> parser) {
+        List<Job> jobs = time(Stage.PARSE, platform, parser);
+        jobs(Stage.PARSE, platform, jobs.size());
+        return jobs;
+    }
+
+    public void jobs(Stage stage, Platform platform, long count) {
+        DistributionSummary.builder("scraper.pipeline.stage.jobs")
+                .tag("stage", tag(stage))
+                .tag("platform", tag(platform))
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    public void deduplicated(Platform platform, long fetched, long inserted) {
+        meterRegistry.counter("scraper.pipeline.jobs", "platform", tag(platform), "outcome", "fetched").increment(fetched);
+        meterRegistry.counter("scraper.pipeline.jobs", "platform", tag(platform), "outcome", "new").increment(inserted);
+        meterRegistry.counter("scraper.pipeline.jobs", "platform", tag(platform), "outcome", "duplicate").increment(fetched - inserted);
+    }
+
+    public void updated(Platform platform, long updated) {
+        meterRegistry.counter("scraper.pipeline.jobs", "platform", tag(platform), "outcome", "updated").increment(updated);
+    }
+
+    public void clustered(Platform platform, long clustered) {
+        meterRegistry.counter("scraper.pipeline.jobs", "platform", tag(platform), "outcome", "clustered").increment(clustered);
+    }
+
+    public void taskFinished(ScrapeTaskResult result) {
+        meterRegistry.counter("scraper.pipeline.tasks", "platform", tag(result.platform()),
+                "status", result.status().name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    public void downloaded(Platform platform, long bytes) {
+        DistributionSummary.builder("scraper.http.response.size")
+                .baseUnit("bytes")
+                .tag("platform", tag(platform))
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private static String tag(Stage stage) {
+        return stage.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String tag(Platform platform) {
+        return platform == null ? "none" : platform.name();
+    }
+}
@@ -0,0 +1,28 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+
+import java.util.List;
+import java.util.Map;
+
+public record ScrapePlan(
+        long criteria,
+        long requestedQueries,
+        List<PlannedQuery> queries,
+        Map<Platform, Integer> skippedByBudget
+) {
+    public record PlannedQuery(ScrapeQuery query, List<Long> criteriaIds) {
+        public Platform platform() {
+            return query.platform();
+        }
+    }
+
+    public int plannedRequests() {
+        return queries.size();
+    }
+
+    public int skippedRequests() {
+        return skippedByBudget.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,109 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapePlannerProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Expands every criteria into (platform, keyword, location) queries and merges identical ones,
+ * so a page shared by many criteria is fetched once. When a platform has a request budget the
+ * queries wanted by the most criteria are kept. Platforms are interleaved in the resulting order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScrapeQueryPlanner {
+
+    private final ScrapePlannerProperties properties;
+
+    public ScrapePlan plan(Iterable<SearchCriteria> criteriaList, Collection<Platform> platforms) {
+        return plan(criteriaList, platforms, properties.requestBudget());
+    }
+
+    /**
+     * Plans only the (criteria, platform) pairs accepted by {@code include}.
+     */
+    public ScrapePlan plan(Iterable<SearchCriteria> criteriaList, Collection<Platform> platforms,
+                           BiPredicate<SearchCriteria, Platform> include) {
+        return plan(criteriaList, platforms, properties.requestBudget(), include);
+    }
+
+    public ScrapePlan plan(Iterable<SearchCriteria> criteriaList, Collection<Platform> platforms,
+                           Map<Platform, Integer> requestBudget) {
+        return plan(criteriaList, platforms, requestBudget, (criteria, platform) -> true);
+    }
+
+    private ScrapePlan plan(Iterable<SearchCriteria> criteriaList, Collection<Platform> platforms,
+                            Map<Platform, Integer> requestBudget, BiPredicate<SearchCriteria, Platform> include) {
+        Map<ScrapeQuery, Set<Long>> demand = new LinkedHashMap<>();
+        long criteriaCount = 0;
+        long requested = 0;
+        for (SearchCriteria criteria: criteriaList) {
+            criteriaCount++;
+            for (String keyword: nullToEmpty(criteria.getKeywords())) {
+                for (String location: nullToEmpty(criteria.getLocations())) {
+                    for (Platform platform: platforms) {
+                        ScrapeQuery query = ScrapeQuery.of(platform, keyword, location);
+                        if (query.isBlank() || !include.test(criteria, platform)) {
+                            continue;
+                        }
+                        requested++;
+                        demand.computeIfAbsent(query, key -> new LinkedHashSet<>()).add(criteria.getId());
+                    }
+                }
+            }
+        }
+
+        Map<Platform, List<ScrapePlan.PlannedQuery>> byPlatform = new LinkedHashMap<>();
+        platforms.forEach(platform -> byPlatform.put(platform, new ArrayList<>()));
+        demand.forEach((query, criteriaIds) -> byPlatform.get(query.platform())
+                .add(new ScrapePlan.PlannedQuery(query, List.copyOf(criteriaIds))));
+
+        Map<Platform, Integer> skipped = new LinkedHashMap<>();
+        byPlatform.replaceAll((platform, queries) -> {
+            Integer budget = requestBudget.get(platform);
+            if (budget == null || queries.size() <= budget) {
+                return queries;
+            }
+            skipped.put(platform, queries.size() - Math.max(0, budget));
+            List<ScrapePlan.PlannedQuery> kept = new ArrayList<>(queries);
+            kept.sort(Comparator.comparingInt((ScrapePlan.PlannedQuery query) -> query.criteriaIds().size()).reversed());
+            return kept.subList(0, Math.max(0, budget));
+        });
+
+        return new ScrapePlan(criteriaCount, requested, interleave(byPlatform.values()), skipped);
+    }
+
+    private static List<ScrapePlan.PlannedQuery> interleave(Collection<List<ScrapePlan.PlannedQuery>> perPlatform) {
+        List<ScrapePlan.PlannedQuery> ordered = new ArrayList<>();
+        List<Iterator<ScrapePlan.PlannedQuery>> iterators = perPlatform.stream().map(List::iterator).toList();
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (Iterator<ScrapePlan.PlannedQuery> iterator: iterators) {
+                if (iterator.hasNext()) {
+                    ordered.add(iterator.next());
+                    added = true;
+                }
+            }
+        }
+        return ordered;
+    }
+
+    private static Collection<String> nullToEmpty(Collection<String> values) {
+        return values == null ? List.of() : values;
+    }
+}
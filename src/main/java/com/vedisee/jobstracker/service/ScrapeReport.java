@@ -0,0 +1,15 @@
+package com.vedisee.jobstracker.service;
+
+public record ScrapeReport(
+        long criteria,
+        long tasks,
+        long failedTasks,
+        long fetchedJobs,
+        long newJobs,
+        long requestedQueries,
+        long skippedByBudget
+) {
+    public static ScrapeReport empty() {
+        return new ScrapeReport(0, 0, 0, 0, 0, 0, 0);
+    }
+}
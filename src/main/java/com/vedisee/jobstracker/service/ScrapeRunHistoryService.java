@@ -0,0 +1,115 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+import com.vedisee.jobstracker.repository.ScrapeRunHistoryRepository;
+import com.vedisee.jobstracker.repository.ScrapeRunStatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Stores finished scraping runs with their per-platform and per-criteria counters. Run totals come from the
+ * report when there is one: with the work queue, it covers the tasks scraped by every node, whereas the
+ * breakdown only covers what this node observed. Every node that took part in a run records it, and the
+ * repository merges their breakdowns into the same rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScrapeRunHistoryService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ScrapeRunHistoryRepository scrapeRunHistoryRepository;
+    private final ScrapeRunStatRepository scrapeRunStatRepository;
+    private final TransactionOperations transactionOperations;
+
+    public void record(ScrapeRunStatus run) {
+        String runId = run.id().toString();
+        ScrapeRunStatus.Progress total = run.total();
+        ScrapeReport report = run.report();
+        long fetched = report == null ? total.fetchedJobs() : report.fetchedJobs();
+        long newJobs = report == null ? total.newJobs() : report.newJobs();
+        ScrapeRunHistory history = ScrapeRunHistory.builder()
+                .runId(runId)
+                .state(run.state().name())
+                .fullRescan(run.fullRescan())
+                .startedAt(LocalDateTime.ofInstant(run.startedAt(), ZoneOffset.UTC))
+                .finishedAt(LocalDateTime.ofInstant(run.finishedAt(), ZoneOffset.UTC))
+                .durationMs(Duration.between(run.startedAt(), run.finishedAt()).toMillis())
+                .criteria(report == null ? run.criteria().size() : report.criteria())
+                .tasks(report == null ? total.completedQueries() + total.failedQueries() : report.tasks())
+                .failedTasks(report == null ? total.failedQueries() : report.failedTasks())
+                .fetchedJobs(fetched)
+                .newJobs(newJobs)
+                .dedupHitRatio(ScrapeRunStatus.Progress.dedupHitRatio(fetched, newJobs))
+                .bytesDownloaded(total.bytesDownloaded())
+                .error(truncate(run.error()))
+                .build();
+
+        List<ScrapeRunStat> stats = new ArrayList<>();
+        run.platforms().forEach((platform, progress) -> stats.add(stat(runId, ScrapeRunStat.Scope.PLATFORM, platform.name(), progress)));
+        run.criteria().forEach((criteriaId, progress) -> stats.add(stat(runId, ScrapeRunStat.Scope.CRITERIA, criteriaId.toString(), progress)));
+
+        transactionOperations.executeWithoutResult(status -> scrapeRunHistoryRepository.merge(history, stats));
+    }
+
+    public Optional<ScrapeRunStatus> find(UUID runId) {
+        return scrapeRunHistoryRepository.findByRunId(runId.toString()).map(history -> {
+            long completed = history.getTasks() - history.getFailedTasks();
+            ScrapeRunStatus.Progress total = new ScrapeRunStatus.Progress(history.getTasks(), completed, history.getFailedTasks(),
+                    history.getFetchedJobs(), history.getNewJobs(), history.getBytesDownloaded(), history.getDurationMs(), history.getError());
+            ScrapeReport report = new ScrapeReport(history.getCriteria(), history.getTasks(), history.getFailedTasks(),
+                    history.getFetchedJobs(), history.getNewJobs(), history.getTasks(), 0);
+            Map<Platform, ScrapeRunStatus.Progress> platforms = new EnumMap<>(Platform.class);
+            Map<Long, ScrapeRunStatus.Progress> criteria = new TreeMap<>();
+            for (ScrapeRunStat stat: scrapeRunStatRepository.findByRunId(history.getRunId())) {
+                if (stat.getScope() == ScrapeRunStat.Scope.PLATFORM) {
+                    platforms.put(Platform.valueOf(stat.getScopeKey()), progress(stat));
+                } else {
+                    criteria.put(Long.valueOf(stat.getScopeKey()), progress(stat));
+                }
+            }
+            return new ScrapeRunStatus(runId, ScrapeRunStatus.State.valueOf(history.getState()), history.isFullRescan(),
+                    history.getStartedAt().toInstant(ZoneOffset.UTC), history.getFinishedAt().toInstant(ZoneOffset.UTC),
+                    total, platforms, criteria, report, history.getError());
+        });
+    }
+
+    private static ScrapeRunStatus.Progress progress(ScrapeRunStat stat) {
+        return new ScrapeRunStatus.Progress(stat.getTasks(), stat.getTasks() - stat.getFailedTasks(), stat.getFailedTasks(),
+                stat.getFetchedJobs(), stat.getNewJobs(), stat.getBytesDownloaded(), stat.getDurationMs(), stat.getLastError());
+    }
+
+    private static ScrapeRunStat stat(String runId, ScrapeRunStat.Scope scope, String key, ScrapeRunStatus.Progress progress) {
+        return ScrapeRunStat.builder()
+                .runId(runId)
+                .scope(scope)
+                .scopeKey(key)
+                .tasks(progress.completedQueries() + progress.failedQueries())
+                .failedTasks(progress.failedQueries())
+                .durationMs(progress.durationMillis())
+                .fetchedJobs(progress.fetchedJobs())
+                .newJobs(progress.newJobs())
+                .dedupHitRatio(progress.dedupHitRatio())
+                .bytesDownloaded(progress.bytesDownloaded())
+                .lastError(truncate(progress.lastError()))
+                .build();
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
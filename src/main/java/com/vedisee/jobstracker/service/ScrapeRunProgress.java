@@ -0,0 +1,137 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Live counters of one asynchronous scraping run, per platform and per criteria. A coalesced query
+ * counts for every criteria it serves. A query reported twice (e.g. failed on interrupt, then timed out)
+ * only counts the first time. Durations add up the time spent in each query, so they exceed the wall time
+ * of the run when queries run concurrently.
+ */
+final class ScrapeRunProgress implements ScrapeListener {
+
+    private final UUID id;
+    private final boolean fullRescan;
+    private Instant startedAt;
+    private final Counters total = new Counters();
+    private final Map<Platform, Counters> platforms = new EnumMap<>(Platform.class);
+    private final Map<Long, Counters> criteria = new LinkedHashMap<>();
+    private final Set<ScrapeQuery> finished = new HashSet<>();
+
+    private ScrapeRunStatus.State state = ScrapeRunStatus.State.PLANNING;
+    private Instant finishedAt;
+    private ScrapeReport report;
+    private String error;
+
+    ScrapeRunProgress(UUID id, boolean fullRescan, Instant startedAt) {
+        this.id = id;
+        this.fullRescan = fullRescan;
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Run waiting for the one in progress to finish, started by {@link #start(Instant)}.
+     */
+    static ScrapeRunProgress queued(UUID id, boolean fullRescan) {
+        ScrapeRunProgress run = new ScrapeRunProgress(id, fullRescan, null);
+        run.state = ScrapeRunStatus.State.QUEUED;
+        return run;
+    }
+
+    synchronized void start(Instant at) {
+        this.startedAt = at;
+        this.state = ScrapeRunStatus.State.PLANNING;
+    }
+
+    UUID id() {
+        return id;
+    }
+
+    boolean fullRescan() {
+        return fullRescan;
+    }
+
+    @Override
+    public synchronized void onPlanned(ScrapePlan plan) {
+        for (ScrapePlan.PlannedQuery query: plan.queries()) {
+            total.planned++;
+            platforms.computeIfAbsent(query.platform(), platform -> new Counters()).planned++;
+            query.criteriaIds().forEach(criteriaId -> criteria.computeIfAbsent(criteriaId, key -> new Counters()).planned++);
+        }
+        state = ScrapeRunStatus.State.RUNNING;
+    }
+
+    @Override
+    public synchronized void onTaskFinished(ScrapeTaskResult result) {
+        if (!finished.add(result.query())) {
+            return;
+        }
+        total.record(result);
+        platforms.computeIfAbsent(result.platform(), platform -> new Counters()).record(result);
+        result.criteriaIds().forEach(criteriaId -> criteria.computeIfAbsent(criteriaId, key -> new Counters()).record(result));
+    }
+
+    synchronized void succeeded(ScrapeReport report, Instant at) {
+        this.report = report;
+        this.state = ScrapeRunStatus.State.SUCCEEDED;
+        this.finishedAt = at;
+    }
+
+    synchronized void failed(String error, Instant at) {
+        this.error = error;
+        this.state = ScrapeRunStatus.State.FAILED;
+        this.finishedAt = at;
+    }
+
+    synchronized ScrapeRunStatus.State state() {
+        return state;
+    }
+
+    synchronized ScrapeRunStatus snapshot() {
+        Map<Platform, ScrapeRunStatus.Progress> platformProgress = new EnumMap<>(Platform.class);
+        platforms.forEach((platform, counters) -> platformProgress.put(platform, counters.snapshot()));
+        Map<Long, ScrapeRunStatus.Progress> criteriaProgress = new LinkedHashMap<>();
+        criteria.forEach((criteriaId, counters) -> criteriaProgress.put(criteriaId, counters.snapshot()));
+        return new ScrapeRunStatus(id, state, fullRescan, startedAt, finishedAt, total.snapshot(),
+                platformProgress, criteriaProgress, report, error);
+    }
+
+    private static final class Counters {
+        private long planned;
+        private long completed;
+        private long failed;
+        private long fetchedJobs;
+        private long newJobs;
+        private long bytesDownloaded;
+        private long durationMillis;
+        private String lastError;
+
+        private void record(ScrapeTaskResult result) {
+            if (result.status() == ScrapeTaskResult.Status.COMPLETED) {
+                completed++;
+            } else {
+                failed++;
+            }
+            fetchedJobs += result.fetchedJobs();
+            newJobs += result.newJobCount();
+            bytesDownloaded += result.bytesDownloaded();
+            durationMillis += result.duration().toMillis();
+            if (result.status() != ScrapeTaskResult.Status.COMPLETED) {
+                lastError = result.error() == null ? result.status().name() : result.error();
+            }
+        }
+
+        private ScrapeRunStatus.Progress snapshot() {
+            return new ScrapeRunStatus.Progress(planned, completed, failed, fetchedJobs, newJobs, bytesDownloaded, durationMillis, lastError);
+        }
+    }
+}
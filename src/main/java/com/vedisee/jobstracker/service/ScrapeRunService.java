@@ -0,0 +1,12 @@
+package com.vedisee.jobstracker.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ScrapeRunService {
+    ScrapeRunTicket trigger(boolean fullRescan);
+
+    ScrapeRunTicket trigger(boolean fullRescan, UUID runId);
+
+    Optional<ScrapeRunStatus> findRun(UUID id);
+}
@@ -0,0 +1,156 @@
+package com.vedisee.jobstracker.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs scraping in the background, one run at a time. A trigger arriving while a run is in progress,
+ * from the API or the cron, joins that run instead of starting an overlapping one, unless it asks for a full
+ * rescan during an incremental run: the rescan is then queued to start once that run ends, and later full
+ * rescan triggers join it. A trigger naming a run that already ran, on this node or, per the run history, on
+ * any node, joins it too rather than running it again. The most recent runs are kept in memory for status
+ * queries; other runs are looked up in the run history, then in the work queue. With the work queue enabled,
+ * the run is split into tasks that all nodes share. Finished runs are recorded in the run history.
+ */
+@Service
+@Slf4j
+public class ScrapeRunServiceImpl implements ScrapeRunService {
+
+    static final int RETAINED_RUNS = 50;
+
+    private final JobScrapingService jobScrapingService;
+    private final ScrapeWorker scrapeWorker;
+    private final ScrapeRunHistoryService scrapeRunHistoryService;
+    private final Clock clock;
+    private final Map<UUID, ScrapeRunProgress> runs = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ScrapeRunProgress> eldest) {
+            return size() > RETAINED_RUNS;
+        }
+    };
+    private ScrapeRunProgress active;
+    private ScrapeRunProgress followUp;
+
+    @Autowired
+    public ScrapeRunServiceImpl(JobScrapingService jobScrapingService, ScrapeWorker scrapeWorker,
+                                ScrapeRunHistoryService scrapeRunHistoryService) {
+        this(jobScrapingService, scrapeWorker, scrapeRunHistoryService, Clock.systemUTC());
+    }
+
+    ScrapeRunServiceImpl(JobScrapingService jobScrapingService, ScrapeWorker scrapeWorker,
+                         ScrapeRunHistoryService scrapeRunHistoryService, Clock clock) {
+        this.jobScrapingService = jobScrapingService;
+        this.scrapeWorker = scrapeWorker;
+        this.scrapeRunHistoryService = scrapeRunHistoryService;
+        this.clock = clock;
+    }
+
+    @Override
+    public ScrapeRunTicket trigger(boolean fullRescan) {
+        return start(fullRescan, UUID.randomUUID(), null);
+    }
+
+    @Override
+    public ScrapeRunTicket trigger(boolean fullRescan, UUID runId) {
+        boolean knownLocally;
+        synchronized (this) {
+            knownLocally = runs.containsKey(runId);
+        }
+        return start(fullRescan, runId, knownLocally ? null : scrapeRunHistoryService.find(runId).orElse(null));
+    }
+
+    private ScrapeRunTicket start(boolean fullRescan, UUID runId, ScrapeRunStatus recorded) {
+        ScrapeRunProgress run;
+        synchronized (this) {
+            // An id already used, here or by a replica that recorded it, is never run twice: its history would collide.
+            ScrapeRunProgress known = runs.get(runId);
+            if (known != null) {
+                log.info("Scrape run {} already {}, joining it", runId, known.state());
+                return new ScrapeRunTicket(runId, true, known.state());
+            }
+            if (recorded != null) {
+                log.info("Scrape run {} already finished as {}, not running it again", runId, recorded.state());
+                return new ScrapeRunTicket(runId, true, recorded.state());
+            }
+            if (active != null) {
+                if (!fullRescan || active.fullRescan()) {
+                    log.info("Scrape run {} already in progress, joining it", active.id());
+                    return new ScrapeRunTicket(active.id(), true, active.state());
+                }
+                if (followUp != null) {
+                    log.info("Full rescan {} already queued, joining it", followUp.id());
+                    return new ScrapeRunTicket(followUp.id(), true, followUp.state());
+                }
+                followUp = ScrapeRunProgress.queued(runId, true);
+                runs.put(followUp.id(), followUp);
+                log.info("Full rescan {} queued after incremental run {}", followUp.id(), active.id());
+                return new ScrapeRunTicket(followUp.id(), false, followUp.state());
+            }
+            run = new ScrapeRunProgress(runId, fullRescan, clock.instant());
+            active = run;
+            runs.put(run.id(), run);
+        }
+        launch(run);
+        return new ScrapeRunTicket(run.id(), false, run.state());
+    }
+
+    @Override
+    public Optional<ScrapeRunStatus> findRun(UUID id) {
+        synchronized (this) {
+            ScrapeRunProgress run = runs.get(id);
+            if (run != null) {
+                return Optional.of(run.snapshot());
+            }
+        }
+        // Runs started on another replica, or evicted from memory, are known from the history or the shared queue.
+        return scrapeRunHistoryService.find(id).or(() -> scrapeWorker.findRun(id));
+    }
+
+    private void launch(ScrapeRunProgress run) {
+        Thread.ofVirtual().name("scrape-run-" + run.id()).start(() -> execute(run));
+    }
+
+    private void execute(ScrapeRunProgress run) {
+        ScrapeReport report = null;
+        String error = null;
+        try {
+            report = scrapeWorker.isEnabled()
+                    ? scrapeWorker.run(run.id(), run.fullRescan(), run)
+                    : jobScrapingService.ingestAllPlatforms(run.fullRescan(), run);
+            log.info("Scrape run {} succeeded", run.id());
+        } catch (Exception e) {
+            log.error("Scrape run {} failed: {}", run.id(), e.getMessage(), e);
+            error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+        // Finish and hand over under the same lock so a trigger never joins a run that already ended.
+        ScrapeRunProgress next;
+        synchronized (this) {
+            if (error == null) {
+                run.succeeded(report, clock.instant());
+            } else {
+                run.failed(error, clock.instant());
+            }
+            next = followUp;
+            followUp = null;
+            active = next;
+            if (next != null) {
+                next.start(clock.instant());
+            }
+        }
+        try {
+            scrapeRunHistoryService.record(run.snapshot());
+        } catch (Exception e) {
+            log.warn("Could not record scrape run {} in history: {}", run.id(), e.getMessage(), e);
+        }
+        if (next != null) {
+            launch(next);
+        }
+    }
+}
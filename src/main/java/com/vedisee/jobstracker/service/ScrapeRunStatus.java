@@ -0,0 +1,50 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+public record ScrapeRunStatus(
+        UUID id,
+        State state,
+        boolean fullRescan,
+        Instant startedAt,
+        Instant finishedAt,
+        Progress total,
+        Map<Platform, Progress> platforms,
+        Map<Long, Progress> criteria,
+        ScrapeReport report,
+        String error
+) {
+    public enum State {
+        QUEUED,
+        PLANNING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public record Progress(
+            long plannedQueries,
+            long completedQueries,
+            long failedQueries,
+            long fetchedJobs,
+            long newJobs,
+            long bytesDownloaded,
+            long durationMillis,
+            String lastError
+    ) {
+        /**
+         * Share of the fetched jobs that were already stored.
+         */
+        public double dedupHitRatio() {
+            return dedupHitRatio(fetchedJobs, newJobs);
+        }
+
+        public static double dedupHitRatio(long fetchedJobs, long newJobs) {
+            return fetchedJobs == 0 ? 0 : (double) (fetchedJobs - newJobs) / fetchedJobs;
+        }
+    }
+}
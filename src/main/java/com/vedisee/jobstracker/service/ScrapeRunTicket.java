@@ -0,0 +1,13 @@
+package com.vedisee.jobstracker.service;
+
+import java.util.UUID;
+
+/**
+ * Answer to a scrape trigger: the run doing the work and whether the trigger joined a run already in progress.
+ */
+public record ScrapeRunTicket(
+        UUID runId,
+        boolean joined,
+        ScrapeRunStatus.State state
+) {
+}
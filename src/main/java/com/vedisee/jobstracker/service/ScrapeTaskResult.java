@@ -0,0 +1,52 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+
+import java.time.Duration;
+import java.util.List;
+
+public record ScrapeTaskResult(
+        ScrapeQuery query,
+        List<Long> criteriaIds,
+        Status status,
+        long fetchedJobs,
+        long newJobCount,
+        List<Job> newJobs,
+        String error,
+        long bytesDownloaded,
+        Duration duration
+) {
+    public enum Status {
+        COMPLETED,
+        UNAVAILABLE,
+        FAILED,
+        TIMED_OUT
+    }
+
+    public Platform platform() {
+        return query.platform();
+    }
+
+    public ScrapeTaskResult measured(long bytesDownloaded, Duration duration) {
+        return new ScrapeTaskResult(query, criteriaIds, status, fetchedJobs, newJobCount, newJobs, error, bytesDownloaded, duration);
+    }
+
+    public static ScrapeTaskResult completed(ScrapePlan.PlannedQuery planned, long fetchedJobs, long newJobCount, List<Job> newJobs) {
+        return new ScrapeTaskResult(planned.query(), planned.criteriaIds(), Status.COMPLETED,
+                fetchedJobs, newJobCount, newJobs == null ? List.of() : newJobs, null, 0, Duration.ZERO);
+    }
+
+    public static ScrapeTaskResult unavailable(ScrapePlan.PlannedQuery planned) {
+        return new ScrapeTaskResult(planned.query(), planned.criteriaIds(), Status.UNAVAILABLE, 0, 0, List.of(), null, 0, Duration.ZERO);
+    }
+
+    public static ScrapeTaskResult failed(ScrapePlan.PlannedQuery planned, String error) {
+        return new ScrapeTaskResult(planned.query(), planned.criteriaIds(), Status.FAILED, 0, 0, List.of(), error, 0, Duration.ZERO);
+    }
+
+    public static ScrapeTaskResult timedOut(ScrapePlan.PlannedQuery planned) {
+        return new ScrapeTaskResult(planned.query(), planned.criteriaIds(), Status.TIMED_OUT, 0, 0, List.of(), null, 0, Duration.ZERO);
+    }
+}
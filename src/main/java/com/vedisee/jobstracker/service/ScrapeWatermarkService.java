@@ -0,0 +1,61 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.ScrapeWatermark;
+import com.vedisee.jobstracker.repository.ScrapeWatermarkRepository;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers, per (criteria, platform, keyword, location), the newest external id a completed scrape started from.
+ * A planned query may stop at any of its criteria's watermarks since jobs are shared across criteria, but only
+ * once every criteria asking for it has been scanned completely at least once.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScrapeWatermarkService {
+
+    private final ScrapeWatermarkRepository scrapeWatermarkRepository;
+
+    public Set<String> stopMarkers(ScrapePlan.PlannedQuery planned) {
+        List<ScrapeWatermark> watermarks = find(planned);
+        if (watermarks.size() < planned.criteriaIds().size()) {
+            return Set.of();
+        }
+        return watermarks.stream().map(ScrapeWatermark::getLastExternalId).collect(Collectors.toSet());
+    }
+
+    public void advance(ScrapePlan.PlannedQuery planned, String newestExternalId) {
+        ScrapeQuery query = planned.query();
+        Map<Long, ScrapeWatermark> existing = find(planned).stream()
+                .collect(Collectors.toMap(ScrapeWatermark::getCriteriaId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<ScrapeWatermark> watermarks = planned.criteriaIds().stream()
+                .map(criteriaId -> {
+                    ScrapeWatermark watermark = existing.getOrDefault(criteriaId, ScrapeWatermark.builder()
+                            .criteriaId(criteriaId)
+                            .platform(query.platform())
+                            .keyword(query.keyword())
+                            .location(query.location())
+                            .build());
+                    watermark.setLastExternalId(newestExternalId);
+                    watermark.setUpdatedAt(now);
+                    return watermark;
+                })
+                .toList();
+        scrapeWatermarkRepository.saveAll(watermarks);
+    }
+
+    private List<ScrapeWatermark> find(ScrapePlan.PlannedQuery planned) {
+        ScrapeQuery query = planned.query();
+        return scrapeWatermarkRepository.findByPlatformAndKeywordAndLocationAndCriteriaIdIn(
+                query.platform(), query.keyword(), query.location(), planned.criteriaIds());
+    }
+}
@@ -0,0 +1,176 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapeWorkQueueProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.ScrapeTaskRepository;
+import com.vedisee.jobstracker.repository.ScrapeTaskRepositoryCustom;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL-backed queue of scraping tasks shared by all nodes. Enqueueing is idempotent per run, so
+ * every node may plan the same run and only the first one inserts its tasks. Claims hand out leases
+ * stamped with this node's id; a task whose lease is not renewed goes back to the queue.
+ */
+@Service
+@Slf4j
+public class ScrapeWorkQueue {
+
+    private final ScrapeWorkQueueProperties properties;
+    private final ScrapeTaskRepository scrapeTaskRepository;
+    private final TransactionOperations transactionOperations;
+    private final Clock clock;
+    private final String nodeId;
+
+    @Autowired
+    public ScrapeWorkQueue(ScrapeWorkQueueProperties properties, ScrapeTaskRepository scrapeTaskRepository,
+                           TransactionOperations transactionOperations) {
+        this(properties, scrapeTaskRepository, transactionOperations, Clock.systemUTC());
+    }
+
+    ScrapeWorkQueue(ScrapeWorkQueueProperties properties, ScrapeTaskRepository scrapeTaskRepository,
+                    TransactionOperations transactionOperations, Clock clock) {
+        this.properties = properties;
+        this.scrapeTaskRepository = scrapeTaskRepository;
+        this.transactionOperations = transactionOperations;
+        this.clock = clock;
+        this.nodeId = properties.nodeId() != null && !properties.nodeId().isBlank()
+                ? properties.nodeId()
+                : ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int enqueue(UUID runId, ScrapePlan plan, boolean fullRescan) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ScrapeTask> tasks = plan.queries().stream()
+                .map(planned -> ScrapeTask.builder()
+                        .runId(runId.toString())
+                        .platform(planned.platform())
+                        .keyword(planned.query().keyword())
+                        .location(planned.query().location())
+                        .criteriaIds(planned.criteriaIds().stream().map(String::valueOf).collect(Collectors.joining(",")))
+                        .fullRescan(fullRescan)
+                        .createdAt(now)
+                        .build())
+                .toList();
+        return scrapeTaskRepository.enqueue(tasks);
+    }
+
+    /**
+     * Claims up to a batch of tasks, of {@code runId} only or of any run when it is {@code null}.
+     * Tasks abandoned on their last attempt are failed first so that runs can complete.
+     */
+    public List<ScrapeTask> claim(UUID runId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ScrapeTask> claimed = transactionOperations.execute(status -> {
+            int abandoned = scrapeTaskRepository.failAbandoned(properties.maxAttempts(), now);
+            if (abandoned > 0) {
+                log.warn("Failed {} scrape tasks whose lease expired on their last attempt", abandoned);
+            }
+            return scrapeTaskRepository.claim(runId == null ? null : runId.toString(), nodeId, properties.batchSize(),
+                    properties.maxAttempts(), now, now.plus(properties.leaseDuration()));
+        });
+        return claimed == null ? List.of() : claimed;
+    }
+
+    public int heartbeat(Collection<Long> taskIds) {
+        return scrapeTaskRepository.extendLeases(taskIds, nodeId, LocalDateTime.now(clock).plus(properties.leaseDuration()));
+    }
+
+    public void finish(ScrapeTask task, ScrapeTaskResult result) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean owned = result.status() == ScrapeTaskResult.Status.COMPLETED
+                ? scrapeTaskRepository.complete(task.getId(), nodeId, result.fetchedJobs(), result.newJobCount(), now)
+                : scrapeTaskRepository.release(task.getId(), nodeId, result.status() + (result.error() == null ? "" : ": " + result.error()),
+                        properties.maxAttempts(), now);
+        if (!owned) {
+            log.warn("Lease on scrape task {} was lost before it finished, outcome {} dropped", task.getId(), result.status());
+        }
+    }
+
+    public boolean hasOpenTasks(UUID runId) {
+        return scrapeTaskRepository.countOpen(runId.toString()) > 0;
+    }
+
+    public ScrapeTaskRepositoryCustom.Summary summarize(UUID runId) {
+        return scrapeTaskRepository.summarize(runId.toString());
+    }
+
+    public List<ScrapeTask> tasks(UUID runId) {
+        return scrapeTaskRepository.findByRunIdOrderById(runId.toString());
+    }
+
+    /**
+     * Progress of a run as its tasks show it, for runs triggered on another node. Only the queue's own
+     * counters are known: bytes and durations stay with the nodes that scraped the tasks.
+     */
+    public Optional<ScrapeRunStatus> findRun(UUID runId) {
+        List<ScrapeTask> tasks = tasks(runId);
+        if (tasks.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Platform, List<ScrapeTask>> byPlatform = new EnumMap<>(Platform.class);
+        Map<Long, List<ScrapeTask>> byCriteria = new TreeMap<>();
+        for (ScrapeTask task: tasks) {
+            byPlatform.computeIfAbsent(task.getPlatform(), platform -> new ArrayList<>()).add(task);
+            toPlannedQuery(task).criteriaIds().forEach(criteriaId -> byCriteria.computeIfAbsent(criteriaId, id -> new ArrayList<>()).add(task));
+        }
+        boolean open = tasks.stream().anyMatch(task -> task.getStatus() == ScrapeTask.Status.PENDING || task.getStatus() == ScrapeTask.Status.RUNNING);
+        ScrapeRunStatus.Progress total = progress(tasks);
+        Instant startedAt = tasks.stream().map(ScrapeTask::getCreatedAt).min(Comparator.naturalOrder()).orElseThrow().toInstant(ZoneOffset.UTC);
+        Instant finishedAt = open ? null
+                : tasks.stream().map(ScrapeTask::getUpdatedAt).max(Comparator.naturalOrder()).orElseThrow().toInstant(ZoneOffset.UTC);
+        ScrapeReport report = open ? null : new ScrapeReport(byCriteria.size(), total.plannedQueries(), total.failedQueries(),
+                total.fetchedJobs(), total.newJobs(), total.plannedQueries(), 0);
+        return Optional.of(new ScrapeRunStatus(runId, open ? ScrapeRunStatus.State.RUNNING : ScrapeRunStatus.State.SUCCEEDED,
+                tasks.getFirst().isFullRescan(), startedAt, finishedAt, total,
+                byPlatform.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> progress(entry.getValue()))),
+                byCriteria.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> progress(entry.getValue()))),
+                report, null));
+    }
+
+    private static ScrapeRunStatus.Progress progress(List<ScrapeTask> tasks) {
+        long completed = tasks.stream().filter(task -> task.getStatus() == ScrapeTask.Status.COMPLETED).count();
+        long failed = tasks.stream().filter(task -> task.getStatus() == ScrapeTask.Status.FAILED).count();
+        String lastError = tasks.stream().map(ScrapeTask::getError).filter(Objects::nonNull).reduce((first, second) -> second).orElse(null);
+        return new ScrapeRunStatus.Progress(tasks.size(), completed, failed, tasks.stream().mapToLong(ScrapeTask::getFetchedJobs).sum(),
+                tasks.stream().mapToLong(ScrapeTask::getNewJobs).sum(), 0, 0, lastError);
+    }
+
+    static ScrapePlan.PlannedQuery toPlannedQuery(ScrapeTask task) {
+        List<Long> criteriaIds = Arrays.stream(task.getCriteriaIds().split(","))
+                .filter(id -> !id.isBlank())
+                .map(Long::valueOf)
+                .toList();
+        return new ScrapePlan.PlannedQuery(ScrapeQuery.of(task.getPlatform(), task.getKeyword(), task.getLocation()), criteriaIds);
+    }
+}
@@ -0,0 +1,159 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapeWorkQueueProperties;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.ScrapeTaskRepositoryCustom;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes tasks of the {@link ScrapeWorkQueue} on this node. The node that triggers a run plans and
+ * enqueues it, then drains it with the other nodes until no task is left open; idle nodes poll for tasks
+ * of any run. Leases of the tasks being scraped are renewed by a heartbeat thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScrapeWorker {
+
+    private final ScrapeWorkQueueProperties properties;
+    private final ScrapeWorkQueue scrapeWorkQueue;
+    private final JobScrapingService jobScrapingService;
+    private final Set<Long> heldTasks = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeDrains = new AtomicInteger();
+    private final List<Thread> threads = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return scrapeWorkQueue.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        log.info("Scrape work queue enabled, node {}", scrapeWorkQueue.nodeId());
+        threads.add(Thread.ofVirtual().name("scrape-heartbeat").start(() -> every(properties.heartbeatInterval(), this::heartbeat)));
+        threads.add(Thread.ofVirtual().name("scrape-poller").start(() -> every(properties.pollInterval(), this::poll)));
+    }
+
+    @PreDestroy
+    public void stop() {
+        threads.forEach(Thread::interrupt);
+    }
+
+    public ScrapeReport run(UUID runId, boolean fullRescan, ScrapeListener listener) {
+        ScrapePlan plan = jobScrapingService.planAllPlatforms();
+        if (plan == null) {
+            return ScrapeReport.empty();
+        }
+        return run(runId, plan, fullRescan, listener);
+    }
+
+    /**
+     * Enqueues an already planned run, such as a refresh of selected criteria, and drains it with the other nodes.
+     */
+    public ScrapeReport run(UUID runId, ScrapePlan plan, boolean fullRescan, ScrapeListener listener) {
+        listener.onPlanned(plan);
+        int enqueued = scrapeWorkQueue.enqueue(runId, plan, fullRescan);
+        log.info("Run {}: enqueued {} of {} tasks, the rest were already queued by another node", runId, enqueued, plan.plannedRequests());
+
+        drain(runId, listener);
+
+        ScrapeTaskRepositoryCustom.Summary summary = scrapeWorkQueue.summarize(runId);
+        ScrapeReport report = new ScrapeReport(plan.criteria(), summary.tasks(), summary.failedTasks(), summary.fetchedJobs(),
+                summary.newJobs(), plan.requestedQueries(), plan.skippedRequests());
+        log.info("Run {} done across nodes: {}", runId, report);
+        return report;
+    }
+
+    public List<ScrapeTask> tasks(UUID runId) {
+        return scrapeWorkQueue.tasks(runId);
+    }
+
+    public Optional<ScrapeRunStatus> findRun(UUID runId) {
+        return isEnabled() ? scrapeWorkQueue.findRun(runId) : Optional.empty();
+    }
+
+    /**
+     * Claims and scrapes tasks until none is claimable. For a given run, also waits for tasks leased by other
+     * nodes, taking them over once their lease expires.
+     */
+    void drain(UUID runId, ScrapeListener listener) {
+        activeDrains.incrementAndGet();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<ScrapeTask> claimed = scrapeWorkQueue.claim(runId);
+                if (!claimed.isEmpty()) {
+                    process(claimed, listener);
+                } else if (runId != null && scrapeWorkQueue.hasOpenTasks(runId)) {
+                    Thread.sleep(properties.pollInterval());
+                } else {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            activeDrains.decrementAndGet();
+        }
+    }
+
+    private void process(List<ScrapeTask> claimed, ScrapeListener listener) {
+        claimed.forEach(task -> heldTasks.add(task.getId()));
+        try {
+            for (boolean fullRescan: new boolean[] {false, true}) {
+                List<ScrapeTask> tasks = claimed.stream().filter(task -> task.isFullRescan() == fullRescan).toList();
+                if (tasks.isEmpty()) {
+                    continue;
+                }
+                List<ScrapeTaskResult> results = jobScrapingService.ingestQueries(
+                        tasks.stream().map(ScrapeWorkQueue::toPlannedQuery).toList(), fullRescan, listener);
+                for (int i = 0; i < tasks.size(); i++) {
+                    scrapeWorkQueue.finish(tasks.get(i), results.get(i));
+                }
+            }
+        } finally {
+            claimed.forEach(task -> heldTasks.remove(task.getId()));
+        }
+    }
+
+    private void heartbeat() {
+        if (!heldTasks.isEmpty()) {
+            int renewed = scrapeWorkQueue.heartbeat(Set.copyOf(heldTasks));
+            log.debug("Renewed {} scrape task leases", renewed);
+        }
+    }
+
+    private void poll() {
+        if (activeDrains.get() == 0) {
+            drain(null, ScrapeListener.NONE);
+        }
+    }
+
+    private static void every(Duration interval, Runnable action) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+                action.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Scrape work queue maintenance failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks every search criteria one page at a time, fetching each page's keywords and locations
+ * alongside it instead of loading the whole table up front.
+ */
+@RequiredArgsConstructor
+public class SearchCriteriaPages implements Iterable<SearchCriteria> {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final SearchCriteriaRepository searchCriteriaRepository;
+    private final int pageSize;
+
+    @Override
+    public Iterator<SearchCriteria> iterator() {
+        return new Iterator<>() {
+            private Pageable nextPage = PageRequest.of(0, pageSize, BY_ID);
+            private Iterator<SearchCriteria> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && nextPage != null) {
+                    Slice<Long> ids = searchCriteriaRepository.findAllIds(nextPage);
+                    nextPage = ids.hasNext() ? ids.nextPageable() : null;
+                    List<SearchCriteria> page = ids.hasContent()
+                            ? searchCriteriaRepository.findAllByIdIn(ids.getContent(), BY_ID)
+                            : List.of();
+                    current = page.iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public SearchCriteria next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+}
@@ -1,5 +1,14 @@
 package com.vedisee.jobstracker.service;
 
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
 public interface SiteAvailabilityService {
     boolean isSiteReachable(String site);
+
+    Mono<Availability> probe(String site);
+
+    Mono<Map<String, Availability>> probeAll(Collection<String> sites);
 }
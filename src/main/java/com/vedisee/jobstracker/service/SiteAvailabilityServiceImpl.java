@@ -5,16 +5,23 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SiteAvailabilityServiceImpl implements SiteAvailabilityService {
 
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
+
     private final WebClient.Builder webClientBuilder;
+    private final PlatformHealthRegistry platformHealthRegistry;
     private WebClient webClient;
 
     @PostConstruct
@@ -24,22 +31,43 @@ public class SiteAvailabilityServiceImpl implements SiteAvailabilityService {
 
     @Override
     public boolean isSiteReachable(String site) {
-        try {
-            webClient.head()
+        return platformHealthRegistry.isAvailable(site, () -> {
+            Availability availability = probe(site).block();
+            return availability != null && availability.reachable();
+        });
+    }
+
+    @Override
+    public Mono<Availability> probe(String site) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return webClient.head()
                     .uri(site)
-                    .retrieve()
-                    .toBodilessEntity()
-                    .timeout(Duration.ofSeconds(5))
-                    .block();
-
-            log.info("{} is reachable", site);
-            return true;
-        } catch (WebClientResponseException e) {
-            log.error("{} returns status {}", site, e.getMessage());
-            return false;
-        } catch (Exception e) {
-            log.error("{} is not reachable because of {}", site, e.getMessage());
-            return false;
-        }
+                    .exchangeToMono(response -> Mono.just(response.statusCode()))
+                    .timeout(PROBE_TIMEOUT)
+                    .map(status -> {
+                        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                        if (status.isError()) {
+                            log.error("{} returns status {}", site, status.value());
+                            return new Availability(site, false, status.value(), latency, null);
+                        }
+                        log.info("{} is reachable in {} ms", site, latency.toMillis());
+                        return new Availability(site, true, status.value(), latency, null);
+                    })
+                    .onErrorResume(e -> {
+                        log.error("{} is not reachable because of {}", site, e.getMessage());
+                        return Mono.just(new Availability(site, false, null, Duration.ofNanos(System.nanoTime() - start), e.getMessage()));
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Map<String, Availability>> probeAll(Collection<String> sites) {
+        return Flux.fromIterable(sites)
+                .distinct()
+                .flatMap(site -> platformHealthRegistry.isOpen(site)
+                        ? Mono.just(Availability.circuitOpen(site))
+                        : probe(site).doOnNext(availability -> platformHealthRegistry.record(site, availability.reachable())))
+                .collectMap(Availability::site, availability -> availability, LinkedHashMap::new);
     }
 }
@@ -0,0 +1,209 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperRateLimitProperties;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket plus AIMD concurrency limit for one platform. A request first reserves a token,
+ * waiting for the bucket to refill when it is in debt, then takes an in-flight slot. The slot limit
+ * grows by {@code 1/limit} per healthy response and is multiplied by the backoff factor on a throttling
+ * status, an error or a latency spike, at most once per batch of requests in flight at the time.
+ */
+final class AdaptiveThrottle {
+
+    enum Outcome { SUCCESS, THROTTLED, ERROR, CANCELLED }
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final ScraperRateLimitProperties.Limit limit;
+    private final long latencyThresholdNanos;
+    private final double backoffFactor;
+    private final LongSupplier nanoTime;
+    private final Deque<Permit> waiters = new ArrayDeque<>();
+
+    private double tokens;
+    private long refilledAt;
+    private double concurrency;
+    private int inFlight;
+    private long lastBackoffAt;
+
+    AdaptiveThrottle(ScraperRateLimitProperties.Limit limit, Duration latencyThreshold, double backoffFactor, LongSupplier nanoTime) {
+        this.limit = limit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffFactor = backoffFactor;
+        this.nanoTime = nanoTime;
+        this.tokens = limit.burst();
+        this.refilledAt = nanoTime.getAsLong();
+        this.concurrency = limit.initialConcurrency();
+        this.lastBackoffAt = refilledAt;
+    }
+
+    Mono<Permit> acquire() {
+        return Mono.defer(() -> {
+            long requestedAt = nanoTime.getAsLong();
+            long waitNanos = reserveToken(requestedAt);
+            Mono<Permit> slot = Mono.create(sink -> enqueue(new Permit(sink, requestedAt)));
+            return waitNanos == 0 ? slot : Mono.delay(Duration.ofNanos(waitNanos)).then(slot);
+        });
+    }
+
+    /**
+     * Returns the slot of {@code permit} and adapts the concurrency limit to {@code outcome}.
+     * Releasing the same permit twice has no effect.
+     *
+     * @return whether the outcome reduced the concurrency limit
+     */
+    boolean release(Permit permit, Outcome outcome) {
+        List<Permit> granted;
+        boolean backedOff = false;
+        synchronized (this) {
+            if (permit.released || !permit.granted) {
+                return false;
+            }
+            permit.released = true;
+            inFlight--;
+            long now = nanoTime.getAsLong();
+            switch (outcome) {
+                case SUCCESS -> {
+                    if (now - permit.grantedAt > latencyThresholdNanos) {
+                        backedOff = backOff(permit, now);
+                    } else {
+                        concurrency = Math.min(limit.maxConcurrency(), concurrency + 1 / concurrency);
+                    }
+                }
+                case THROTTLED, ERROR -> backedOff = backOff(permit, now);
+                case CANCELLED -> { }
+            }
+            granted = drain(now);
+        }
+        granted.forEach(Permit::grant);
+        return backedOff;
+    }
+
+    /**
+     * Empties the bucket so that no new request starts before {@code delay} has elapsed, honouring
+     * a {@code Retry-After} sent by the platform.
+     */
+    synchronized void pause(Duration delay) {
+        refill(nanoTime.getAsLong());
+        tokens = Math.min(tokens, -delay.toNanos() / NANOS_PER_SECOND * limit.permitsPerSecond());
+    }
+
+    void cancel(Permit permit) {
+        synchronized (this) {
+            if (!permit.granted) {
+                waiters.remove(permit);
+                return;
+            }
+        }
+        release(permit, Outcome.CANCELLED);
+    }
+
+    synchronized double concurrencyLimit() {
+        return concurrency;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return waiters.size();
+    }
+
+    synchronized double availableTokens() {
+        refill(nanoTime.getAsLong());
+        return Math.max(0, tokens);
+    }
+
+    double permitsPerSecond() {
+        return limit.permitsPerSecond();
+    }
+
+    private synchronized long reserveToken(long now) {
+        refill(now);
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / limit.permitsPerSecond() * NANOS_PER_SECOND);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(limit.burst(), tokens + (now - refilledAt) / NANOS_PER_SECOND * limit.permitsPerSecond());
+        refilledAt = now;
+    }
+
+    private void enqueue(Permit permit) {
+        permit.sink.onCancel(() -> cancel(permit));
+        boolean grant = false;
+        synchronized (this) {
+            if (inFlight < slots()) {
+                inFlight++;
+                permit.markGranted(nanoTime.getAsLong());
+                grant = true;
+            } else {
+                waiters.addLast(permit);
+            }
+        }
+        if (grant) {
+            permit.grant();
+        }
+    }
+
+    private boolean backOff(Permit permit, long now) {
+        // Requests already in flight when the limit dropped saw the same overload; count it once.
+        if (permit.grantedAt < lastBackoffAt) {
+            return false;
+        }
+        concurrency = Math.max(limit.minConcurrency(), concurrency * backoffFactor);
+        lastBackoffAt = now;
+        return true;
+    }
+
+    private List<Permit> drain(long now) {
+        List<Permit> granted = new ArrayList<>();
+        while (inFlight < slots() && !waiters.isEmpty()) {
+            Permit next = waiters.pollFirst();
+            inFlight++;
+            next.markGranted(now);
+            granted.add(next);
+        }
+        return granted;
+    }
+
+    private int slots() {
+        return (int) concurrency;
+    }
+
+    static final class Permit {
+        private final MonoSink<Permit> sink;
+        private final long requestedAt;
+        private long grantedAt;
+        private boolean granted;
+        private boolean released;
+
+        private Permit(MonoSink<Permit> sink, long requestedAt) {
+            this.sink = sink;
+            this.requestedAt = requestedAt;
+        }
+
+        Duration waited() {
+            return Duration.ofNanos(grantedAt - requestedAt);
+        }
+
+        private void markGranted(long now) {
+            grantedAt = now;
+            granted = true;
+        }
+
+        private void grant() {
+            sink.success(this);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.model.Job;
+
+import java.util.List;
+
+/**
+ * Jobs found in one result page. Items missing an external id or a title are skipped.
+ */
+public record ExtractedPage(List<Job> jobs, int items, int skipped, String nextLink) {
+}
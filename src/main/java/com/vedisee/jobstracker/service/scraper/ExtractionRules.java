@@ -0,0 +1,202 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperExtractionProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The extraction rules of one platform, with selectors and patterns compiled once.
+ */
+final class ExtractionRules {
+
+    /**
+     * Column lengths of the {@code job} table: longer values are cut rather than failing the whole batch insert.
+     */
+    private static final int MAX_COLUMN_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 2000;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Platform platform;
+    private final String searchUrl;
+    private final Evaluator item;
+    private final CompiledField externalId;
+    private final CompiledField title;
+    private final CompiledField company;
+    private final CompiledField location;
+    private final CompiledField description;
+    private final CompiledField url;
+    private final ScraperExtractionProperties.Pagination pagination;
+    private final Evaluator nextLink;
+
+    private ExtractionRules(Platform platform, ScraperExtractionProperties.Site site) {
+        if (site.searchUrl() == null || site.item() == null || site.fields() == null
+                || site.fields().externalId() == null || site.fields().title() == null) {
+            throw new IllegalArgumentException("Extraction rules of " + platform + " need a search URL, an item selector, an external id and a title");
+        }
+        this.platform = platform;
+        this.searchUrl = site.searchUrl();
+        this.item = QueryParser.parse(site.item());
+        ScraperExtractionProperties.Fields fields = site.fields();
+        this.externalId = CompiledField.compile(fields.externalId());
+        this.title = CompiledField.compile(fields.title());
+        this.company = CompiledField.compile(fields.company());
+        this.location = CompiledField.compile(fields.location());
+        this.description = CompiledField.compile(fields.description());
+        this.url = CompiledField.compile(fields.url());
+        this.pagination = site.pagination();
+        if (pagination.mode() == ScraperExtractionProperties.Pagination.Mode.NEXT_LINK && pagination.nextSelector() == null) {
+            throw new IllegalArgumentException("Extraction rules of " + platform + " follow next links without a next selector");
+        }
+        this.nextLink = pagination.nextSelector() == null ? null : QueryParser.parse(pagination.nextSelector());
+    }
+
+    static ExtractionRules compile(Platform platform, ScraperExtractionProperties.Site site) {
+        return new ExtractionRules(platform, site);
+    }
+
+    ScraperExtractionProperties.Pagination pagination() {
+        return pagination;
+    }
+
+    String searchUrl(ScrapeQuery query, int page) {
+        int offset = page * Math.max(pagination.pageSize(), 1);
+        return searchUrl
+                .replace("{keyword}", encode(query.keyword()))
+                .replace("{location}", encode(query.location()))
+                .replace("{page}", Integer.toString(page + 1))
+                .replace("{offset}", Integer.toString(offset));
+    }
+
+    ExtractedPage extract(Document document) {
+        List<Job> jobs = new ArrayList<>();
+        List<Element> items = document.select(item);
+        int skipped = 0;
+        for (Element element: items) {
+            Job job = toJob(element, document.location());
+            if (job == null) {
+                skipped++;
+            } else {
+                jobs.add(job);
+            }
+        }
+        String next = null;
+        if (nextLink != null) {
+            Element link = document.selectFirst(nextLink);
+            next = link == null || link.absUrl("href").isEmpty() ? null : link.absUrl("href");
+        }
+        return new ExtractedPage(jobs, items.size(), skipped, next);
+    }
+
+    /**
+     * URL of the page following {@code page} (0-based), or {@code null} when it was the last one.
+     */
+    String nextUrl(ScrapeQuery query, int page, ExtractedPage extracted) {
+        if (extracted.items() == 0 || page + 1 >= pagination.maxPages()) {
+            return null;
+        }
+        return switch (pagination.mode()) {
+            case NEXT_LINK -> extracted.nextLink();
+            case OFFSET, PAGE -> pagination.pageSize() > 0 && extracted.items() < pagination.pageSize()
+                    ? null
+                    : searchUrl(query, page + 1);
+        };
+    }
+
+    private Job toJob(Element element, String pageUrl) {
+        String id = externalId.extract(element);
+        String jobTitle = title.extract(element);
+        if (id == null || jobTitle == null) {
+            return null;
+        }
+        String jobExternalId = platform.getName() + "-" + id;
+        if (jobExternalId.length() > MAX_COLUMN_LENGTH) {
+            // a cut id could collide with another posting, so the item is skipped instead
+            return null;
+        }
+        String jobUrl = url.extract(element);
+        return Job.builder()
+                .externalId(jobExternalId)
+                .title(truncate(jobTitle, MAX_COLUMN_LENGTH))
+                .company(truncate(orEmpty(company.extract(element)), MAX_COLUMN_LENGTH))
+                .location(truncate(orEmpty(location.extract(element)), MAX_COLUMN_LENGTH))
+                .description(truncate(orEmpty(description.extract(element)), MAX_DESCRIPTION_LENGTH))
+                .url(truncate(jobUrl == null ? pageUrl : jobUrl, MAX_COLUMN_LENGTH))
+                .platform(platform)
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private record CompiledField(String value, Evaluator selector, String attribute, Pattern pattern,
+                                 ScraperExtractionProperties.Mapper mapper) {
+
+        private static final CompiledField NONE = new CompiledField(null, null, null, null, null);
+
+        static CompiledField compile(ScraperExtractionProperties.Field field) {
+            if (field == null) {
+                return NONE;
+            }
+            return new CompiledField(
+                    isBlank(field.value()) ? null : field.value(),
+                    isBlank(field.selector()) ? null : QueryParser.parse(field.selector()),
+                    isBlank(field.attribute()) ? null : field.attribute(),
+                    isBlank(field.pattern()) ? null : Pattern.compile(field.pattern()),
+                    field.mapper());
+        }
+
+        String extract(Element item) {
+            if (value != null || mapper == null) {
+                return value;
+            }
+            Element element = selector == null ? item : item.selectFirst(selector);
+            if (element == null) {
+                return null;
+            }
+            String raw;
+            if (attribute == null) {
+                raw = element.text();
+            } else if (mapper == ScraperExtractionProperties.Mapper.URL) {
+                raw = element.absUrl(attribute);
+            } else {
+                raw = element.attr(attribute);
+            }
+            if (pattern != null) {
+                Matcher matcher = pattern.matcher(raw);
+                if (!matcher.find()) {
+                    return null;
+                }
+                raw = matcher.groupCount() > 0 ? matcher.group(1) : matcher.group();
+            }
+            String mapped = switch (mapper) {
+                case TEXT -> WHITESPACE.matcher(raw).replaceAll(" ").strip();
+                case URL -> raw.strip();
+            };
+            return mapped.isEmpty() ? null : mapped;
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isBlank();
+        }
+    }
+}
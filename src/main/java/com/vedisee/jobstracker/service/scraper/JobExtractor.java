@@ -0,0 +1,61 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperExtractionProperties;
+import com.vedisee.jobstracker.model.Platform;
+import org.jsoup.Jsoup;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Extracts jobs from platform result pages following {@link ScraperExtractionProperties}. The rules of every
+ * platform are compiled once, at startup, and shared by all scraping threads.
+ */
+@Component
+public class JobExtractor {
+
+    private final Map<Platform, ExtractionRules> rules = new EnumMap<>(Platform.class);
+
+    public JobExtractor(ScraperExtractionProperties properties) {
+        properties.platforms().forEach((platform, site) -> rules.put(platform, ExtractionRules.compile(platform, site)));
+    }
+
+    public boolean supports(Platform platform) {
+        return rules.containsKey(platform);
+    }
+
+    public String searchUrl(ScrapeQuery query) {
+        return searchUrl(query, 0);
+    }
+
+    /**
+     * URL of the result page {@code page} (0-based), filled from the search URL template.
+     */
+    public String searchUrl(ScrapeQuery query, int page) {
+        return rules(query.platform()).searchUrl(query, page);
+    }
+
+    public ScraperExtractionProperties.Pagination pagination(Platform platform) {
+        return rules(platform).pagination();
+    }
+
+    public ExtractedPage extract(Platform platform, String html, String pageUrl) {
+        return rules(platform).extract(Jsoup.parse(html, pageUrl));
+    }
+
+    /**
+     * URL of the result page following {@code page} (0-based), or {@code null} when there is none to fetch.
+     */
+    public String nextUrl(ScrapeQuery query, int page, ExtractedPage extracted) {
+        return rules(query.platform()).nextUrl(query, page, extracted);
+    }
+
+    private ExtractionRules rules(Platform platform) {
+        ExtractionRules platformRules = rules.get(platform);
+        if (platformRules == null) {
+            throw new IllegalArgumentException("No extraction rules for " + platform);
+        }
+        return platformRules;
+    }
+}
@@ -3,13 +3,34 @@ package com.vedisee.jobstracker.service.scraper;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Set;
 
 public interface JobScraperService {
     Platform getPlatform();
 
     List<Job> scrapeJobs(SearchCriteria searchCriteria);
 
+    default Flux<Job> streamJobs(SearchCriteria searchCriteria) {
+        return Flux.defer(() -> Flux.fromIterable(scrapeJobs(searchCriteria)));
+    }
+
+    default Flux<Job> fetch(ScrapeQuery query) {
+        return streamJobs(SearchCriteria.builder()
+                .name(query.keyword() + " - " + query.location())
+                .keywords(Set.of(query.keyword()))
+                .locations(Set.of(query.location()))
+                .build());
+    }
+
     boolean isAvailable();
+
+    /**
+     * Whether the scraper reaches its platform over the network, and so is probed before a run.
+     */
+    default boolean isRemote() {
+        return true;
+    }
 }
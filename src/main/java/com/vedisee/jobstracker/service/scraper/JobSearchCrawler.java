@@ -0,0 +1,114 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperExtractionProperties;
+import com.vedisee.jobstracker.config.ScraperRateLimitProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Walks the result pages of a search with the shared {@code WebClient} and extracts their jobs. When the page
+ * URLs follow a template, up to {@code prefetch} pages are fetched ahead while earlier ones are parsed and
+ * ingested, never more than the platform's maximum rate limit concurrency; pages are still delivered in order.
+ * The walk stops at the first empty or short page, and a scan stopping at its watermark cancels the fetches
+ * still in flight instead of requesting the remaining pages.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JobSearchCrawler {
+
+    private final WebClient.Builder webClientBuilder;
+    private final JobExtractor jobExtractor;
+    private final ScraperExtractionProperties properties;
+    private final ScraperRateLimitProperties rateLimitProperties;
+    private final ScrapePipelineMetrics pipelineMetrics;
+    private WebClient webClient;
+
+    @PostConstruct
+    public void init() {
+        this.webClient = webClientBuilder.build();
+    }
+
+    public Flux<Job> crawl(ScrapeQuery query) {
+        if (!jobExtractor.supports(query.platform())) {
+            log.warn("No extraction rules for {}, nothing to scrape", query.platform());
+            return Flux.empty();
+        }
+        ScraperExtractionProperties.Pagination pagination = jobExtractor.pagination(query.platform());
+        int depth = prefetchDepth(query.platform(), pagination);
+        Flux<ExtractedPage> pages = pagination.mode() == ScraperExtractionProperties.Pagination.Mode.NEXT_LINK || depth == 1
+                ? Flux.defer(() -> chained(query, 0, jobExtractor.searchUrl(query)))
+                : prefetched(query, pagination.maxPages(), depth);
+        return pages.concatMapIterable(ExtractedPage::jobs, depth);
+    }
+
+    /**
+     * Next page URL read from the previous page. With a {@code concatMapIterable} prefetch above one, the next
+     * page is requested as soon as the previous one is parsed.
+     */
+    private Flux<ExtractedPage> chained(ScrapeQuery query, int page, String url) {
+        return load(query.platform(), url)
+                .flatMapMany(extracted -> {
+                    String next = jobExtractor.nextUrl(query, page, extracted);
+                    Flux<ExtractedPage> current = Flux.just(extracted);
+                    return next == null ? current : current.concatWith(Flux.defer(() -> chained(query, page + 1, next)));
+                });
+    }
+
+    /**
+     * Page URLs filled from the template, {@code depth} of them fetched at once. Pages fetched past the last one
+     * are discarded, failures included: only a failing page reached in order fails the walk.
+     */
+    private Flux<ExtractedPage> prefetched(ScrapeQuery query, int maxPages, int depth) {
+        return Flux.range(0, maxPages)
+                .flatMapSequential(page -> load(query.platform(), jobExtractor.searchUrl(query, page))
+                        .map(extracted -> new FetchedPage(page, extracted, null))
+                        .onErrorResume(e -> Mono.just(new FetchedPage(page, null, e))), depth, 1)
+                .<FetchedPage>handle((fetched, sink) -> {
+                    if (fetched.error() != null) {
+                        sink.error(fetched.error());
+                    } else {
+                        sink.next(fetched);
+                    }
+                })
+                .takeUntil(fetched -> jobExtractor.nextUrl(query, fetched.page(), fetched.extracted()) == null)
+                .map(FetchedPage::extracted);
+    }
+
+    private int prefetchDepth(Platform platform, ScraperExtractionProperties.Pagination pagination) {
+        int depth = Math.min(pagination.prefetch(), pagination.maxPages());
+        return rateLimitProperties.enabled() ? Math.min(depth, rateLimitProperties.limitFor(platform).maxConcurrency()) : depth;
+    }
+
+    private Mono<ExtractedPage> load(Platform platform, String url) {
+        return webClient.get()
+                .uri(URI.create(url))
+                .header(HttpHeaders.USER_AGENT, properties.userAgent())
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(html -> {
+                    ExtractedPage extracted = pipelineMetrics.time(ScrapePipelineMetrics.Stage.PARSE, platform,
+                            () -> jobExtractor.extract(platform, html, url));
+                    pipelineMetrics.jobs(ScrapePipelineMetrics.Stage.PARSE, platform, extracted.jobs().size());
+                    if (extracted.skipped() > 0) {
+                        log.warn("{} of {} items skipped on {}: no external id or title, selectors may be outdated",
+                                extracted.skipped(), extracted.items(), url);
+                    }
+                    return extracted;
+                });
+    }
+
+    private record FetchedPage(int page, ExtractedPage extracted, Throwable error) {
+    }
+}
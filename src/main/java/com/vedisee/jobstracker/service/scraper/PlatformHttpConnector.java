@@ -0,0 +1,155 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperHttpClientProperties;
+import com.vedisee.jobstracker.model.Platform;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Transport of the shared scraper {@code WebClient}. Each platform host gets its own named Reactor Netty
+ * connection pool, sized and timed out from {@link ScraperHttpClientProperties}, so that a slow platform cannot
+ * starve the others of connections; any other host uses the default {@value #DEFAULT_POOL} pool. Pool occupancy
+ * is exported as {@code scraper.http.pool.*} gauges tagged with the pool name.
+ */
+@Component
+@Slf4j
+public class PlatformHttpConnector implements ClientHttpConnector, DisposableBean {
+
+    static final String DEFAULT_POOL = "scraper";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Route> routesByHost = new HashMap<>();
+    private final Route defaultRoute;
+    private final List<ConnectionProvider> providers = new ArrayList<>();
+    private final Map<String, List<Meter>> poolMeters = new ConcurrentHashMap<>();
+    private final PoolGauges poolGauges = new PoolGauges();
+
+    public PlatformHttpConnector(ScraperHttpClientProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Platform platform : Platform.values()) {
+            String pool = DEFAULT_POOL + "-" + platform.name().toLowerCase(Locale.ROOT);
+            routesByHost.put(host(URI.create(platform.getUrl())), route(pool, properties, properties.poolFor(platform)));
+        }
+        this.defaultRoute = route(DEFAULT_POOL, properties, properties.defaults());
+        log.info("Scraper HTTP client: http2={}, compression={}, brotli={}", properties.http2(), properties.compression(),
+                properties.compression() && Brotli.isAvailable());
+    }
+
+    @Override
+    public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+                                            Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        return routeFor(uri).connector().connect(method, uri, requestCallback);
+    }
+
+    String poolName(URI uri) {
+        return routeFor(uri).pool();
+    }
+
+    @Override
+    public void destroy() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+
+    private Route routeFor(URI uri) {
+        return uri.getHost() == null ? defaultRoute : routesByHost.getOrDefault(host(uri), defaultRoute);
+    }
+
+    private Route route(String name, ScraperHttpClientProperties properties, ScraperHttpClientProperties.Pool pool) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(true, () -> poolGauges)
+                .build();
+        providers.add(provider);
+
+        long readTimeoutMillis = properties.readTimeout().toMillis();
+        HttpClient client = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .responseTimeout(properties.responseTimeout())
+                .doOnRequest((request, connection) ->
+                        connection.addHandlerLast(new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .compress(properties.compression());
+        if (properties.compression() && Brotli.isAvailable()) {
+            client = client.headers(headers -> headers.add(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.BR));
+        }
+        if (properties.http2()) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return new Route(name, new ReactorClientHttpConnector(client));
+    }
+
+    private static String host(URI uri) {
+        return uri.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    private record Route(String pool, ClientHttpConnector connector) {
+    }
+
+    private class PoolGauges implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            Tags tags = Tags.of("pool", poolName, "remote", remote(remoteAddress));
+            poolMeters.put(id, List.of(
+                    gauge("scraper.http.pool.connections", tags.and("state", "active"), metrics, ConnectionPoolMetrics::acquiredSize),
+                    gauge("scraper.http.pool.connections", tags.and("state", "idle"), metrics, ConnectionPoolMetrics::idleSize),
+                    gauge("scraper.http.pool.connections", tags.and("state", "total"), metrics, ConnectionPoolMetrics::allocatedSize),
+                    gauge("scraper.http.pool.max.connections", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize),
+                    gauge("scraper.http.pool.pending", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                    gauge("scraper.http.pool.max.pending", tags, metrics, ConnectionPoolMetrics::maxPendingAcquireSize)));
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            List<Meter> meters = poolMeters.remove(id);
+            if (meters != null) {
+                meters.forEach(meterRegistry::remove);
+            }
+        }
+
+        private Meter gauge(String name, Tags tags, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value) {
+            return Gauge.builder(name, metrics, value).tags(tags).register(meterRegistry);
+        }
+
+        private static String remote(SocketAddress address) {
+            return address instanceof InetSocketAddress inet ? inet.getHostString() + ":" + inet.getPort() : String.valueOf(address);
+        }
+    }
+}
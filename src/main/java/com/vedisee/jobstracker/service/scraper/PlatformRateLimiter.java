@@ -0,0 +1,125 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperRateLimitProperties;
+import com.vedisee.jobstracker.model.Platform;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limits every request of the shared {@code WebClient} that targets a {@link Platform}, so that
+ * parallel scraping runs and availability probes draw from the same per-platform budget. Each platform
+ * gets an {@link AdaptiveThrottle}; {@code 429} and {@code 503} responses, transport errors and slow
+ * responses shrink its concurrency, healthy responses grow it back.
+ */
+@Component
+@Slf4j
+public class PlatformRateLimiter implements ExchangeFilterFunction {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Platform, AdaptiveThrottle> throttles = new EnumMap<>(Platform.class);
+
+    @Autowired
+    public PlatformRateLimiter(ScraperRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    PlatformRateLimiter(ScraperRateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.meterRegistry = meterRegistry;
+        for (Platform platform : Platform.values()) {
+            AdaptiveThrottle throttle = new AdaptiveThrottle(properties.limitFor(platform),
+                    properties.latencyThreshold(), properties.backoffFactor(), nanoTime);
+            throttles.put(platform, throttle);
+            registerGauges(platform, throttle);
+        }
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Optional<Platform> platform = Platform.fromUrl(ScraperResponseCache.key(request.url()));
+        if (platform.isEmpty()) {
+            return next.exchange(request);
+        }
+        AdaptiveThrottle throttle = throttles.get(platform.get());
+        String tag = platform.get().name();
+        return throttle.acquire().flatMap(permit -> {
+            meterRegistry.timer("scraper.rate.limit.wait", "platform", tag).record(permit.waited());
+            return next.exchange(request)
+                    .doOnNext(response -> onResponse(platform.get(), throttle, permit, response))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.ON_ERROR && throttle.release(permit, AdaptiveThrottle.Outcome.ERROR)) {
+                            throttled(platform.get(), throttle, "error");
+                        }
+                        throttle.release(permit, AdaptiveThrottle.Outcome.CANCELLED);
+                    });
+        });
+    }
+
+    AdaptiveThrottle throttle(Platform platform) {
+        return throttles.get(platform);
+    }
+
+    private void onResponse(Platform platform, AdaptiveThrottle throttle, AdaptiveThrottle.Permit permit, ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        if (isThrottling(status)) {
+            retryAfter(response.headers().asHttpHeaders()).ifPresent(throttle::pause);
+            throttle.release(permit, AdaptiveThrottle.Outcome.THROTTLED);
+            throttled(platform, throttle, String.valueOf(status.value()));
+        } else if (throttle.release(permit, AdaptiveThrottle.Outcome.SUCCESS)) {
+            throttled(platform, throttle, "latency");
+        }
+    }
+
+    private void throttled(Platform platform, AdaptiveThrottle throttle, String reason) {
+        meterRegistry.counter("scraper.rate.limit.throttled", "platform", platform.name(), "reason", reason).increment();
+        log.debug("Throttled by {} ({}), concurrency limit now {}", platform, reason,
+                String.format("%.2f", throttle.concurrencyLimit()));
+    }
+
+    private void registerGauges(Platform platform, AdaptiveThrottle throttle) {
+        String tag = platform.name();
+        Gauge.builder("scraper.rate.limit.permits.per.second", throttle, AdaptiveThrottle::permitsPerSecond)
+                .tag("platform", tag).register(meterRegistry);
+        Gauge.builder("scraper.rate.limit.available.permits", throttle, AdaptiveThrottle::availableTokens)
+                .tag("platform", tag).register(meterRegistry);
+        Gauge.builder("scraper.rate.limit.concurrency", throttle, AdaptiveThrottle::concurrencyLimit)
+                .tag("platform", tag).register(meterRegistry);
+        Gauge.builder("scraper.rate.limit.in.flight", throttle, AdaptiveThrottle::inFlight)
+                .tag("platform", tag).register(meterRegistry);
+        Gauge.builder("scraper.rate.limit.queued", throttle, AdaptiveThrottle::queued)
+                .tag("platform", tag).register(meterRegistry);
+    }
+
+    private static boolean isThrottling(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static Optional<Duration> retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
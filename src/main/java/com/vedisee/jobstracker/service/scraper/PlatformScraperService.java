@@ -0,0 +1,101 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import com.vedisee.jobstracker.service.SiteAvailabilityService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scraper of one platform, crawled with the platform's extraction rules. A platform is added with its
+ * rules in {@code job.scraping.extraction}, page fixtures for the tests and a subclass naming it.
+ * In the dev profile, placeholder jobs are generated instead of hitting the platform.
+ */
+@Slf4j
+public abstract class PlatformScraperService implements JobScraperService {
+
+    private final Environment env;
+    private final SiteAvailabilityService siteAvailabilityService;
+    private final ScrapePipelineMetrics pipelineMetrics;
+    private final JobSearchCrawler jobSearchCrawler;
+    private volatile Boolean devProfile;
+
+    protected PlatformScraperService(Environment env, SiteAvailabilityService siteAvailabilityService,
+                                     ScrapePipelineMetrics pipelineMetrics, JobSearchCrawler jobSearchCrawler) {
+        this.env = env;
+        this.siteAvailabilityService = siteAvailabilityService;
+        this.pipelineMetrics = pipelineMetrics;
+        this.jobSearchCrawler = jobSearchCrawler;
+    }
+
+    @Override
+    public List<Job> scrapeJobs(SearchCriteria searchCriteria) {
+        log.info("Scraping {} with criteria: {}", getPlatform().getName(), searchCriteria.getName());
+
+        List<Job> jobs = new ArrayList<>();
+
+        try {
+            jobs.addAll(streamJobs(searchCriteria).collectList().block());
+            log.info("Scraping {} done => {}", getPlatform().getName(), jobs.size());
+        } catch (Exception e) {
+            log.error("Error scraping {}: {}", getPlatform().getName(), e.getMessage(), e);
+        }
+
+        return jobs;
+    }
+
+    @Override
+    public Flux<Job> streamJobs(SearchCriteria searchCriteria) {
+        return Flux.defer(() -> Flux.fromIterable(searchCriteria.getKeywords()))
+                .concatMap(keyword -> Flux.fromIterable(searchCriteria.getLocations())
+                        .concatMap(location -> fetch(new ScrapeQuery(getPlatform(), keyword, location))));
+    }
+
+    @Override
+    public Flux<Job> fetch(ScrapeQuery query) {
+        return Flux.defer(() -> isDevProfile()
+                ? Flux.fromIterable(pipelineMetrics.parse(getPlatform(), () -> placeholderJobs(query.keyword(), query.location())))
+                : jobSearchCrawler.crawl(query));
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return siteAvailabilityService.isSiteReachable(getPlatform().getUrl());
+    }
+
+    /**
+     * Resolved on first use rather than per query: profiles do not change once the application runs.
+     */
+    private boolean isDevProfile() {
+        Boolean dev = devProfile;
+        if (dev == null) {
+            dev = env.acceptsProfiles(Profiles.of("dev"));
+            devProfile = dev;
+        }
+        return dev;
+    }
+
+    private List<Job> placeholderJobs(String keyword, String location) {
+        Platform platform = getPlatform();
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobs.add(Job.builder()
+                    .externalId(platform.getName() + "-" + UUID.randomUUID())
+                    .title(keyword + " - Position " + (i + 1))
+                    .company("Company " + (i + 1))
+                    .description("Job description for " + keyword + " in " + location)
+                    .url(platform.getUrl() + "/" + UUID.randomUUID())
+                    .platform(platform)
+                    .build());
+        }
+        return jobs;
+    }
+}
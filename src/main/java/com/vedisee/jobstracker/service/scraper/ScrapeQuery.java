@@ -0,0 +1,27 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.model.Platform;
+
+import java.util.Locale;
+
+/**
+ * One platform search page request. Keyword and location are normalized so that
+ * criteria spelling the same search differently share a single fetch.
+ */
+public record ScrapeQuery(Platform platform, String keyword, String location) {
+
+    public static ScrapeQuery of(Platform platform, String keyword, String location) {
+        return new ScrapeQuery(platform, normalize(keyword), normalize(location));
+    }
+
+    public boolean isBlank() {
+        return keyword.isEmpty() || location.isEmpty();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,203 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperHttpCacheProperties;
+import com.vedisee.jobstracker.model.Platform;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Caches GET responses of the shared {@code WebClient}, keyed by the normalized request URI
+ * (lower-cased scheme and host, sorted query parameters). Fresh entries are served locally; stale
+ * entries carrying an {@code ETag} or {@code Last-Modified} are revalidated with a conditional request
+ * and reused on {@code 304}. Entries are evicted least-recently-used past the entry or byte limit.
+ */
+@Component
+@Slf4j
+public class ScraperResponseCache implements ExchangeFilterFunction {
+
+    private final ScraperHttpCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @Autowired
+    public ScraperResponseCache(ScraperHttpCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    ScraperResponseCache(ScraperHttpCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        String key = key(request.url());
+        String platform = Platform.fromUrl(key).map(Platform::name).orElse("OTHER");
+        CachedResponse cached = get(key);
+
+        if (cached != null && cached.isFresh(clock.instant(), properties)) {
+            count("hit", platform);
+            meterRegistry.counter("scraper.http.cache.saved.bytes", "platform", platform).increment(cached.body().length);
+            return Mono.just(cached.toResponse());
+        }
+        if (cached == null || !cached.hasValidators()) {
+            count("miss", platform);
+            return next.exchange(request).flatMap(response -> store(key, response));
+        }
+
+        ClientRequest conditional = ClientRequest.from(request)
+                .headers(headers -> {
+                    if (cached.etag() != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                    if (cached.lastModified() != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                    }
+                })
+                .build();
+        return next.exchange(conditional).flatMap(response -> {
+            if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                count("revalidated", platform);
+                meterRegistry.counter("scraper.http.cache.saved.bytes", "platform", platform).increment(cached.body().length);
+                return response.releaseBody().then(Mono.fromSupplier(() -> {
+                    CachedResponse refreshed = cached.refreshedAt(clock.instant());
+                    put(key, refreshed);
+                    return refreshed.toResponse();
+                }));
+            }
+            count("miss", platform);
+            return store(key, response);
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Mono<ClientResponse> store(String key, ClientResponse response) {
+        if (!response.statusCode().is2xxSuccessful()) {
+            return Mono.just(response);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.headers().asHttpHeaders());
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    CachedResponse cached = new CachedResponse(response.statusCode(), headers, body,
+                            headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), clock.instant());
+                    put(key, cached);
+                    return cached.toResponse();
+                });
+    }
+
+    private CachedResponse get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private void put(String key, CachedResponse response) {
+        long maxBytes = properties.maxSize().toBytes();
+        if (response.body().length > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            CachedResponse previous = entries.put(key, response);
+            if (previous != null) {
+                totalBytes -= previous.body().length;
+            }
+            totalBytes += response.body().length;
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > properties.maxEntries() || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+                meterRegistry.counter("scraper.http.cache.evictions").increment();
+            }
+        }
+    }
+
+    private void count(String result, String platform) {
+        Counter.builder("scraper.http.cache.requests")
+                .tag("result", result)
+                .tag("platform", platform)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String key(URI uri) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(uri).replaceQuery(null).fragment(null);
+        if (uri.getScheme() != null) {
+            builder.scheme(uri.getScheme().toLowerCase(Locale.ROOT));
+        }
+        if (uri.getHost() != null) {
+            builder.host(uri.getHost().toLowerCase(Locale.ROOT));
+        }
+        Map<String, String> params = new TreeMap<>();
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams()
+                .forEach((name, values) -> params.put(name, String.join(",", values.stream().sorted().toList())));
+        params.forEach(builder::queryParam);
+        return builder.build().toUriString();
+    }
+
+    private record CachedResponse(
+            HttpStatusCode status,
+            HttpHeaders headers,
+            byte[] body,
+            String etag,
+            String lastModified,
+            Instant storedAt
+    ) {
+        private boolean isFresh(Instant now, ScraperHttpCacheProperties properties) {
+            return now.isBefore(storedAt.plus(properties.ttl()));
+        }
+
+        private boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        private CachedResponse refreshedAt(Instant now) {
+            return new CachedResponse(status, headers, body, etag, lastModified, now);
+        }
+
+        private ClientResponse toResponse() {
+            DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(body);
+            return ClientResponse.create(status)
+                    .headers(target -> target.addAll(headers))
+                    .body(Flux.just(buffer))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes downloaded from the platforms. Besides the per-platform metric, the bytes are added to the
+ * tally a scraping task puts in the Reactor context with {@link #tally(Flux, LongAdder)}, so that a run can
+ * tell how much each of its queries downloaded. Registered after the response cache: cached responses are
+ * not downloaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScraperTrafficMeter implements ExchangeFilterFunction {
+
+    private static final Class<ScraperTrafficMeter> TALLY = ScraperTrafficMeter.class;
+
+    private final ScrapePipelineMetrics pipelineMetrics;
+
+    public static <T> Flux<T> tally(Flux<T> flux, LongAdder bytes) {
+        return flux.contextWrite(Context.of(TALLY, bytes));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Optional<Platform> platform = Platform.fromUrl(ScraperResponseCache.key(request.url()));
+        if (platform.isEmpty()) {
+            return next.exchange(request);
+        }
+        return Mono.deferContextual(context -> {
+            Optional<LongAdder> tally = context.getOrEmpty(TALLY);
+            return next.exchange(request).map(response -> response.mutate()
+                    .body(body -> {
+                        AtomicLong bytes = new AtomicLong();
+                        return body
+                                .doOnNext(buffer -> {
+                                    bytes.addAndGet(buffer.readableByteCount());
+                                    tally.ifPresent(total -> total.add(buffer.readableByteCount()));
+                                })
+                                .doFinally(signal -> pipelineMetrics.downloaded(platform.get(), bytes.get()));
+                    })
+                    .build());
+        });
+    }
+}
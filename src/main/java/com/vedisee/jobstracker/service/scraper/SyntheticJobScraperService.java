@@ -0,0 +1,154 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.SyntheticScraperProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Scraper generating jobs instead of fetching them, to drive production volumes through the ingest pipeline
+ * without network. Everything derives from {@link SyntheticScraperProperties#seed()}: a query returns the same
+ * jobs, in the same order, with the same simulated latencies and failures on every run.
+ */
+public class SyntheticJobScraperService implements JobScraperService {
+
+    private static final String[] SENIORITIES = {"Junior", "Confirmed", "Senior", "Lead", "Principal", "Staff"};
+    private static final String[] ROLES = {"Java Developer", "Backend Engineer", "Data Engineer", "DevOps Engineer",
+            "Frontend Developer", "Site Reliability Engineer", "Software Architect", "QA Engineer"};
+    private static final String[] CITIES = {"Paris", "Lyon", "Marseille", "Toulouse", "Nantes", "Lille", "Bordeaux", "Remote"};
+    private static final String[] WORDS = {"design", "build", "operate", "scalable", "services", "team", "product",
+            "customers", "cloud", "data", "quality", "ownership", "java", "spring", "postgresql", "kafka", "kubernetes",
+            "agile", "mentoring", "performance", "security", "api", "testing", "delivery"};
+
+    private final Platform platform;
+    private final SyntheticScraperProperties properties;
+    private final ScrapePipelineMetrics pipelineMetrics;
+    private final long platformSeed;
+
+    public SyntheticJobScraperService(Platform platform, SyntheticScraperProperties properties, ScrapePipelineMetrics pipelineMetrics) {
+        this.platform = platform;
+        this.properties = properties;
+        this.pipelineMetrics = pipelineMetrics;
+        this.platformSeed = mix(properties.seed(), platform.ordinal());
+    }
+
+    @Override
+    public Platform getPlatform() {
+        return platform;
+    }
+
+    @Override
+    public List<Job> scrapeJobs(SearchCriteria searchCriteria) {
+        return streamJobs(searchCriteria).collectList().block();
+    }
+
+    @Override
+    public Flux<Job> streamJobs(SearchCriteria searchCriteria) {
+        return Flux.defer(() -> Flux.fromIterable(searchCriteria.getKeywords()))
+                .concatMap(keyword -> Flux.fromIterable(searchCriteria.getLocations())
+                        .concatMap(location -> fetch(ScrapeQuery.of(platform, keyword, location))));
+    }
+
+    @Override
+    public Flux<Job> fetch(ScrapeQuery query) {
+        long querySeed = mix(mix(platformSeed, query.keyword().hashCode()), query.location().hashCode());
+        int pages = (properties.jobsPerQuery() + properties.pageSize() - 1) / properties.pageSize();
+        return Flux.range(0, pages)
+                .concatMap(page -> page(query, querySeed, page), 1)
+                .concatMapIterable(jobs -> jobs, 1);
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    private Mono<List<Job>> page(ScrapeQuery query, long querySeed, int page) {
+        SplittableRandom random = new SplittableRandom(mix(querySeed, -1 - page));
+        Duration latency = latency(random);
+        boolean fails = random.nextDouble() < properties.errorRate();
+        Mono<List<Job>> jobs = fails
+                ? Mono.error(new IllegalStateException("Synthetic failure of page " + (page + 1) + " of " + query))
+                : Mono.fromSupplier(() -> pipelineMetrics.parse(platform, () -> jobs(query, querySeed, page)));
+        return latency.isZero() ? jobs : Mono.delay(latency).then(jobs);
+    }
+
+    private List<Job> jobs(ScrapeQuery query, long querySeed, int page) {
+        int from = page * properties.pageSize();
+        int to = Math.min(from + properties.pageSize(), properties.jobsPerQuery());
+        List<Job> jobs = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            SplittableRandom random = new SplittableRandom(mix(querySeed, index));
+            jobs.add(random.nextDouble() < properties.duplicateRate()
+                    ? sharedJob(random.nextInt(Math.max(1, properties.jobsPerQuery())))
+                    : queryJob(query, random.nextLong()));
+        }
+        return jobs;
+    }
+
+    /**
+     * Job of the pool common to every query of the platform.
+     */
+    private Job sharedJob(int poolIndex) {
+        long jobSeed = mix(platformSeed, -1L - poolIndex);
+        SplittableRandom random = new SplittableRandom(jobSeed);
+        return job(jobSeed, pick(random, SENIORITIES) + " " + pick(random, ROLES), pick(random, CITIES), random);
+    }
+
+    private Job queryJob(ScrapeQuery query, long jobSeed) {
+        SplittableRandom random = new SplittableRandom(jobSeed);
+        return job(jobSeed, pick(random, SENIORITIES) + " " + query.keyword(), query.location(), random);
+    }
+
+    private Job job(long jobSeed, String title, String location, SplittableRandom random) {
+        String id = Long.toHexString(jobSeed);
+        return Job.builder()
+                .externalId(platform.getName() + "-synthetic-" + id)
+                .title(title)
+                .company("Company " + random.nextInt(5_000))
+                .location(location)
+                .description(description(random))
+                .url(platform.getUrl() + "/synthetic/" + id)
+                .platform(platform)
+                .build();
+    }
+
+    private String description(SplittableRandom random) {
+        StringBuilder description = new StringBuilder(properties.descriptionSize() + 16);
+        while (description.length() < properties.descriptionSize()) {
+            description.append(pick(random, WORDS)).append(' ');
+        }
+        description.setLength(properties.descriptionSize());
+        return description.toString();
+    }
+
+    private Duration latency(SplittableRandom random) {
+        long mean = properties.pageLatency().toNanos();
+        if (mean == 0) {
+            return Duration.ZERO;
+        }
+        double jitter = properties.latencyJitter() * (2 * random.nextDouble() - 1);
+        return Duration.ofNanos(Math.round(mean * (1 + jitter)));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long mix(long seed, long value) {
+        return new SplittableRandom(seed ^ (value * 0x9E3779B97F4A7C15L)).nextLong();
+    }
+}
@@ -0,0 +1,11 @@
+CREATE TABLE scrape_watermark (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    criteria_id BIGINT NOT NULL,
+    platform VARCHAR(255) NOT NULL,
+    keyword VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    last_external_id VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    FOREIGN KEY (criteria_id) REFERENCES search_criteria(id) ON DELETE CASCADE,
+    UNIQUE (criteria_id, platform, keyword, location)
+);
@@ -0,0 +1,21 @@
+CREATE TABLE scrape_task (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_id VARCHAR(36) NOT NULL,
+    platform VARCHAR(255) NOT NULL,
+    keyword VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    criteria_ids VARCHAR(4000) NOT NULL,
+    full_rescan BOOLEAN NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    attempts INT NOT NULL,
+    lease_owner VARCHAR(255),
+    lease_expires_at TIMESTAMP,
+    fetched_jobs BIGINT NOT NULL,
+    new_jobs BIGINT NOT NULL,
+    error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    UNIQUE (run_id, platform, keyword, location)
+);
+
+CREATE INDEX idx_scrape_task_status ON scrape_task (status, id);
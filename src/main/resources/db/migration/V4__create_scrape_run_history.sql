@@ -0,0 +1,36 @@
+CREATE TABLE scrape_run_history (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_id VARCHAR(36) NOT NULL UNIQUE,
+    state VARCHAR(32) NOT NULL,
+    full_rescan BOOLEAN NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    criteria BIGINT NOT NULL,
+    tasks BIGINT NOT NULL,
+    failed_tasks BIGINT NOT NULL,
+    fetched_jobs BIGINT NOT NULL,
+    new_jobs BIGINT NOT NULL,
+    dedup_hit_ratio DOUBLE PRECISION NOT NULL,
+    bytes_downloaded BIGINT NOT NULL,
+    error VARCHAR(1000)
+);
+
+CREATE INDEX idx_scrape_run_history_started_at ON scrape_run_history (started_at);
+
+CREATE TABLE scrape_run_stat (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    run_id VARCHAR(36) NOT NULL,
+    scope VARCHAR(32) NOT NULL,
+    scope_key VARCHAR(255) NOT NULL,
+    tasks BIGINT NOT NULL,
+    failed_tasks BIGINT NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    fetched_jobs BIGINT NOT NULL,
+    new_jobs BIGINT NOT NULL,
+    dedup_hit_ratio DOUBLE PRECISION NOT NULL,
+    bytes_downloaded BIGINT NOT NULL,
+    last_error VARCHAR(1000),
+    FOREIGN KEY (run_id) REFERENCES scrape_run_history(run_id) ON DELETE CASCADE,
+    UNIQUE (run_id, scope, scope_key)
+);
@@ -0,0 +1 @@
+ALTER TABLE job ADD COLUMN content_hash BIGINT;
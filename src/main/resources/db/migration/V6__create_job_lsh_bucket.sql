@@ -0,0 +1,12 @@
+ALTER TABLE job ADD COLUMN cluster_id BIGINT;
+
+CREATE INDEX idx_job_cluster_id ON job (cluster_id);
+
+CREATE TABLE job_lsh_bucket (
+    job_id BIGINT NOT NULL,
+    bucket BIGINT NOT NULL,
+    PRIMARY KEY (job_id, bucket),
+    FOREIGN KEY (job_id) REFERENCES job(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_job_lsh_bucket_bucket ON job_lsh_bucket (bucket);
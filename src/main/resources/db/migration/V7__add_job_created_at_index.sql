@@ -0,0 +1,3 @@
+CREATE INDEX idx_job_created_at_id ON job (created_at, id);
+
+CREATE INDEX idx_job_canonical_created_at_id ON job (created_at, id) WHERE cluster_id IS NULL;
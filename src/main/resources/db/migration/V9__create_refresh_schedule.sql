@@ -0,0 +1,13 @@
+CREATE TABLE refresh_schedule (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    criteria_id BIGINT NOT NULL,
+    platform VARCHAR(255) NOT NULL,
+    interval_ms BIGINT NOT NULL,
+    next_due_at TIMESTAMP NOT NULL,
+    last_refresh_at TIMESTAMP,
+    new_jobs_per_hour DOUBLE PRECISION,
+    FOREIGN KEY (criteria_id) REFERENCES search_criteria(id) ON DELETE CASCADE,
+    UNIQUE (criteria_id, platform)
+);
+
+CREATE INDEX idx_refresh_schedule_next_due_at ON refresh_schedule (next_due_at);
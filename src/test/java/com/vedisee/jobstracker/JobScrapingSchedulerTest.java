@@ -1,52 +1,59 @@
 package com.vedisee.jobstracker;
 
-import com.vedisee.jobstracker.model.Job;
-import com.vedisee.jobstracker.model.Platform;
-import com.vedisee.jobstracker.service.JobScrapingService;
+import com.vedisee.jobstracker.component.JobScrapingScheduler;
+import com.vedisee.jobstracker.config.RefreshScheduleProperties;
+import com.vedisee.jobstracker.service.ScrapeRunService;
+import com.vedisee.jobstracker.service.ScrapeRunStatus;
+import com.vedisee.jobstracker.service.ScrapeRunTicket;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.test.annotation.DirtiesContext;
-import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.time.Duration;
-import java.util.List;
-import java.util.UUID;
+import java.time.Instant;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
-@SpringBootTest
-@EnableScheduling
-@DirtiesContext
-@TestPropertySource(properties = {
-        "job.scraping.cron=*/2 * * * * *"
+/**
+ * Boots the scheduler alone: the full application context costs far more than the cron ticks under test.
+ */
+@SpringBootTest(classes = JobScrapingSchedulerTest.SchedulerConfig.class, properties = {
+        "job.scraping.cron=* * * * * *"
 })
+@DirtiesContext
 class JobScrapingSchedulerTest {
 
+    @Configuration
+    @EnableScheduling
+    @EnableConfigurationProperties(RefreshScheduleProperties.class)
+    @Import(JobScrapingScheduler.class)
+    static class SchedulerConfig {
+    }
+
     @MockitoBean
-    private JobScrapingService jobScrapingService;
+    private ScrapeRunService scrapeRunService;
 
     @Test
     void shouldExecuteScheduledJobSuccessfully() {
         // Given
-        Job job = Job.builder()
-                .externalId(Platform.INDEED.getName() + "-" + UUID.randomUUID())
-                .title("Software engineer - Position 0")
-                .company("Company 0")
-                .description("Job description for software engineer")
-                .url(Platform.INDEED.getUrl() + "/" + UUID.randomUUID())
-                .platform(Platform.INDEED)
-                .build();
+        when(scrapeRunService.trigger(eq(false), any()))
+                .thenAnswer(invocation -> new ScrapeRunTicket(invocation.getArgument(1), false, ScrapeRunStatus.State.PLANNING));
 
         // When
         // Then
-        when(jobScrapingService.scrapAllPlatforms()).thenReturn(List.of(job));
         await()
-                .atMost(Duration.ofSeconds(5))
+                .atMost(Duration.ofSeconds(3))
                 .untilAsserted(() ->
-                        verify(jobScrapingService, atLeastOnce()).scrapAllPlatforms()
+                        verify(scrapeRunService, atLeastOnce()).trigger(eq(false),
+                                argThat(runId -> runId.equals(JobScrapingScheduler.scheduledRunId(Instant.now()))
+                                        || runId.equals(JobScrapingScheduler.scheduledRunId(Instant.now().minusSeconds(60)))))
                 );
     }
 
@@ -54,14 +61,27 @@ class JobScrapingSchedulerTest {
     void shouldHandleExceptionDuringScheduledExecution() {
         // Given
         doThrow(new RuntimeException("Scraping failed"))
-                .when(jobScrapingService).scrapAllPlatforms();
+                .when(scrapeRunService).trigger(eq(false), any());
 
         // When
         // Then
         await()
-                .atMost(Duration.ofSeconds(5))
+                .atMost(Duration.ofSeconds(4))
                 .untilAsserted(() ->
-                        verify(jobScrapingService, atLeastOnce()).scrapAllPlatforms()
+                        verify(scrapeRunService, atLeast(2)).trigger(eq(false), any())
                 );
     }
+
+    @Test
+    void scheduledRunId_ShouldBeSharedByReplicasFiringInTheSameMinute() {
+        // Given
+        Instant firedOnNodeA = Instant.parse("2026-01-01T02:00:00.120Z");
+        Instant firedOnNodeB = Instant.parse("2026-01-01T02:00:01.870Z");
+
+        // When
+        // Then
+        assertThat(JobScrapingScheduler.scheduledRunId(firedOnNodeA)).isEqualTo(JobScrapingScheduler.scheduledRunId(firedOnNodeB));
+        assertThat(JobScrapingScheduler.scheduledRunId(firedOnNodeA))
+                .isNotEqualTo(JobScrapingScheduler.scheduledRunId(firedOnNodeA.plus(Duration.ofDays(1))));
+    }
 }
@@ -1,22 +1,55 @@
 package com.vedisee.jobstracker;
 
+import com.vedisee.jobstracker.config.IngestProperties;
+import com.vedisee.jobstracker.config.KnownExternalIdProperties;
+import com.vedisee.jobstracker.config.NearDuplicateProperties;
+import com.vedisee.jobstracker.config.ScrapePlannerProperties;
+import com.vedisee.jobstracker.config.ScrapingConcurrencyProperties;
 import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.JobContentHash;
 import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
 import com.vedisee.jobstracker.repository.JobRepository;
 import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
+import com.vedisee.jobstracker.service.ConcurrentScrapeExecutor;
+import com.vedisee.jobstracker.service.JobIngestWriter;
 import com.vedisee.jobstracker.service.JobScrapingServiceImpl;
+import com.vedisee.jobstracker.service.KnownExternalIdFilter;
+import com.vedisee.jobstracker.service.NearDuplicateDetector;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import com.vedisee.jobstracker.service.ScrapeQueryPlanner;
+import com.vedisee.jobstracker.service.ScrapePlan;
+import com.vedisee.jobstracker.service.ScrapeListener;
+import com.vedisee.jobstracker.service.ScrapeReport;
+import com.vedisee.jobstracker.service.ScrapeTaskResult;
+import com.vedisee.jobstracker.service.ScrapeWatermarkService;
+import com.vedisee.jobstracker.service.SiteAvailabilityService;
 import com.vedisee.jobstracker.service.scraper.JobScraperService;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -36,6 +69,20 @@ class JobScrapingServiceTest {
     @Mock
     private JobRepository jobRepository;
 
+    @Mock
+    private SiteAvailabilityService siteAvailabilityService;
+
+    @Mock
+    private ScrapeWatermarkService scrapeWatermarkService;
+
+    private KnownExternalIdFilter knownExternalIdFilter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ScrapePipelineMetrics pipelineMetrics = new ScrapePipelineMetrics(meterRegistry);
+
+    private NearDuplicateDetector nearDuplicateDetector;
+
     private JobScrapingServiceImpl jobScrapingService;
 
     private SearchCriteria searchCriteria;
@@ -48,7 +95,11 @@ class JobScrapingServiceTest {
 
     @BeforeEach
     void setUp() {
-        reset(scraperService1, scraperService2, searchCriteriaRepository, jobRepository);
+        reset(scraperService1, scraperService2, searchCriteriaRepository, jobRepository, siteAvailabilityService, scrapeWatermarkService);
+        lenient().when(siteAvailabilityService.probeAll(anyCollection())).thenReturn(Mono.just(Map.of()));
+        knownExternalIdFilter = new KnownExternalIdFilter(new KnownExternalIdProperties(true, 1000, 0.01, DataSize.ofKilobytes(1), 100, Duration.ofMinutes(10)),
+                jobRepository, TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+        nearDuplicateDetector = new NearDuplicateDetector(jobRepository, new NearDuplicateProperties(false, 3, 16, 4, 0.7, 50));
 
         try {
             platform1 = Platform.values()[0];
@@ -62,12 +113,19 @@ class JobScrapingServiceTest {
         jobScrapingService = new JobScrapingServiceImpl(
                 scraperServices,
                 searchCriteriaRepository,
-                jobRepository
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(500, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
         );
 
         searchCriteria = SearchCriteria.builder()
                 .id(1L)
                 .keywords(Collections.singleton("Java Developer"))
+                .locations(Collections.singleton("Paris"))
                 .build();
 
         job1 = createJob("ext-1", "Job 1");
@@ -78,21 +136,21 @@ class JobScrapingServiceTest {
     @Test
     void scrapAllPlatforms_WhenNoSearchCriteria_ShouldReturnEmptyList() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of());
+        givenCriteria();
 
         // When
         List<Job> result = jobScrapingService.scrapAllPlatforms();
 
         // Then
         assertThat(result).isEmpty();
-        verify(searchCriteriaRepository).findAll();
+        verify(searchCriteriaRepository).findAllIds(any(Pageable.class));
         verifyNoInteractions(scraperService1, scraperService2, jobRepository);
     }
 
     @Test
     void scrapAllPlatforms_WhenScraperNotAvailable_ShouldSkipScraper() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of(searchCriteria));
+        givenCriteria(searchCriteria);
         when(scraperService1.isAvailable()).thenReturn(false);
         when(scraperService1.getPlatform()).thenReturn(platform1);
         when(scraperService2.isAvailable()).thenReturn(false);
@@ -105,27 +163,26 @@ class JobScrapingServiceTest {
         assertThat(result).isEmpty();
         verify(scraperService1).isAvailable();
         verify(scraperService2).isAvailable();
-        verify(scraperService1, never()).scrapeJobs(any());
-        verify(scraperService2, never()).scrapeJobs(any());
+        verify(scraperService1, never()).fetch(any());
+        verify(scraperService2, never()).fetch(any());
     }
 
     @Test
     void scrapAllPlatforms_WithCriteriaAndAvailableScrapers_ShouldReturnOnlyNewJobs() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of(searchCriteria));
+        givenCriteria(searchCriteria);
 
         when(scraperService1.isAvailable()).thenReturn(true);
         when(scraperService1.getPlatform()).thenReturn(platform1);
-        when(scraperService1.scrapeJobs(searchCriteria)).thenReturn(Arrays.asList(job1, job2));
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1, job2));
 
         when(scraperService2.isAvailable()).thenReturn(true);
         when(scraperService2.getPlatform()).thenReturn(platform2);
-        when(scraperService2.scrapeJobs(searchCriteria)).thenReturn(List.of(job3));
+        when(scraperService2.fetch(query(platform2, "Java Developer"))).thenReturn(Flux.just(job3));
 
-        when(jobRepository.findByExternalId("ext-1")).thenReturn(Optional.of(job1));
-        when(jobRepository.findByExternalId("ext-2")).thenReturn(Optional.empty());
-        when(jobRepository.findByExternalId("ext-3")).thenReturn(Optional.empty());
-        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobRepository.findContentHashes(List.of("ext-1", "ext-2"))).thenReturn(unchanged(job1));
+        when(jobRepository.findContentHashes(List.of("ext-3"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         List<Job> result = jobScrapingService.scrapAllPlatforms();
@@ -133,30 +190,29 @@ class JobScrapingServiceTest {
         // Then
         assertThat(result).hasSize(2);
         assertThat(result).containsExactlyInAnyOrder(job2, job3);
-        verify(scraperService1).scrapeJobs(searchCriteria);
-        verify(scraperService2).scrapeJobs(searchCriteria);
-        verify(jobRepository, times(2)).save(any(Job.class));
-        verify(jobRepository).save(job2);
-        verify(jobRepository).save(job3);
-        verify(jobRepository, never()).save(job1);
+        verify(scraperService1).fetch(query(platform1, "Java Developer"));
+        verify(scraperService2).fetch(query(platform2, "Java Developer"));
+        verify(jobRepository, times(2)).insertIgnoringDuplicates(anyList());
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job2));
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job3));
     }
 
     @Test
     void scrapAllPlatforms_WhenScraperThrowsException_ShouldContinueWithOtherScrapers() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of(searchCriteria));
+        givenCriteria(searchCriteria);
 
         when(scraperService1.isAvailable()).thenReturn(true);
         when(scraperService1.getPlatform()).thenReturn(platform1);
-        when(scraperService1.scrapeJobs(searchCriteria))
+        when(scraperService1.fetch(query(platform1, "Java Developer")))
                 .thenThrow(new RuntimeException("Scraping failed"));
 
         when(scraperService2.isAvailable()).thenReturn(true);
         when(scraperService2.getPlatform()).thenReturn(platform2);
-        when(scraperService2.scrapeJobs(searchCriteria)).thenReturn(List.of(job3));
+        when(scraperService2.fetch(query(platform2, "Java Developer"))).thenReturn(Flux.just(job3));
 
-        when(jobRepository.findByExternalId("ext-3")).thenReturn(Optional.empty());
-        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobRepository.findContentHashes(List.of("ext-3"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         List<Job> result = jobScrapingService.scrapAllPlatforms();
@@ -164,9 +220,9 @@ class JobScrapingServiceTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result).containsExactly(job3);
-        verify(scraperService1).scrapeJobs(searchCriteria);
-        verify(scraperService2).scrapeJobs(searchCriteria);
-        verify(jobRepository).save(job3);
+        verify(scraperService1).fetch(query(platform1, "Java Developer"));
+        verify(scraperService2).fetch(query(platform2, "Java Developer"));
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job3));
     }
 
     @Test
@@ -175,25 +231,27 @@ class JobScrapingServiceTest {
         SearchCriteria criteria1 = SearchCriteria.builder()
                 .id(1L)
                 .keywords(Collections.singleton("Java Developer"))
+                .locations(Collections.singleton("Paris"))
                 .build();
 
         SearchCriteria criteria2 = SearchCriteria.builder()
                 .id(2L)
                 .keywords(Collections.singleton("Python Developer"))
+                .locations(Collections.singleton("Paris"))
                 .build();
 
-        when(searchCriteriaRepository.findAll()).thenReturn(Arrays.asList(criteria1, criteria2));
+        givenCriteria(criteria1, criteria2);
 
         when(scraperService1.isAvailable()).thenReturn(true);
         when(scraperService1.getPlatform()).thenReturn(platform1);
-        when(scraperService1.scrapeJobs(criteria1)).thenReturn(List.of(job1));
-        when(scraperService1.scrapeJobs(criteria2)).thenReturn(List.of(job2));
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1));
+        when(scraperService1.fetch(query(platform1, "Python Developer"))).thenReturn(Flux.just(job2));
 
         when(scraperService2.isAvailable()).thenReturn(false);
         when(scraperService2.getPlatform()).thenReturn(platform2);
 
-        when(jobRepository.findByExternalId(anyString())).thenReturn(Optional.empty());
-        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobRepository.findContentHashes(anyCollection())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         List<Job> result = jobScrapingService.scrapAllPlatforms();
@@ -201,40 +259,39 @@ class JobScrapingServiceTest {
         // Then
         assertThat(result).hasSize(2);
         assertThat(result).containsExactlyInAnyOrder(job1, job2);
-        verify(scraperService1).scrapeJobs(criteria1);
-        verify(scraperService1).scrapeJobs(criteria2);
-        verify(jobRepository, times(2)).save(any(Job.class));
+        verify(scraperService1).fetch(query(platform1, "Java Developer"));
+        verify(scraperService1).fetch(query(platform1, "Python Developer"));
+        verify(jobRepository, times(2)).insertIgnoringDuplicates(anyList());
     }
 
     @Test
     void scrapAllPlatforms_WhenScraperReturnsEmptyList_ShouldReturnEmptyList() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of(searchCriteria));
+        givenCriteria(searchCriteria);
         when(scraperService1.isAvailable()).thenReturn(true);
         when(scraperService1.getPlatform()).thenReturn(platform1);
-        when(scraperService1.scrapeJobs(searchCriteria)).thenReturn(List.of());
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.empty());
         when(scraperService2.isAvailable()).thenReturn(true);
         when(scraperService2.getPlatform()).thenReturn(platform2);
-        when(scraperService2.scrapeJobs(searchCriteria)).thenReturn(List.of());
+        when(scraperService2.fetch(query(platform2, "Java Developer"))).thenReturn(Flux.empty());
 
         // When
         List<Job> result = jobScrapingService.scrapAllPlatforms();
 
         // Then
         assertThat(result).isEmpty();
-        verify(jobRepository, never()).save(any(Job.class));
+        verify(jobRepository, never()).insertIgnoringDuplicates(anyList());
     }
 
     @Test
     void scrapAllPlatforms_WhenAllJobsAlreadyExist_ShouldReturnEmptyList() {
         // Given
-        when(searchCriteriaRepository.findAll()).thenReturn(List.of(searchCriteria));
+        givenCriteria(searchCriteria);
         when(scraperService1.isAvailable()).thenReturn(true);
         when(scraperService1.getPlatform()).thenReturn(platform1);
-        when(scraperService1.scrapeJobs(searchCriteria)).thenReturn(Arrays.asList(job1, job2));
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1, job2));
 
-        when(jobRepository.findByExternalId("ext-1")).thenReturn(Optional.of(job1));
-        when(jobRepository.findByExternalId("ext-2")).thenReturn(Optional.of(job2));
+        when(jobRepository.findContentHashes(List.of("ext-1", "ext-2"))).thenReturn(unchanged(job1, job2));
 
         when(scraperService2.isAvailable()).thenReturn(false);
         when(scraperService2.getPlatform()).thenReturn(platform2);
@@ -244,7 +301,427 @@ class JobScrapingServiceTest {
 
         // Then
         assertThat(result).isEmpty();
-        verify(jobRepository, never()).save(any(Job.class));
+        verify(jobRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void scrapAllPlatforms_WhenConcurrent_ShouldReturnSameNewJobsAsSequential() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                Arrays.asList(scraperService1, scraperService2),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(true)),
+                new IngestProperties(500, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        givenCriteria(searchCriteria);
+
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1, job2));
+
+        when(scraperService2.isAvailable()).thenReturn(true);
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+        when(scraperService2.fetch(query(platform2, "Java Developer"))).thenReturn(Flux.just(job3));
+
+        when(jobRepository.findContentHashes(List.of("ext-1", "ext-2"))).thenReturn(unchanged(job1));
+        when(jobRepository.findContentHashes(List.of("ext-3"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> result = jobScrapingService.scrapAllPlatforms();
+
+        // Then
+        assertThat(result).containsExactly(job2, job3);
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job2));
+    }
+
+    @Test
+    void scrapAllPlatforms_WhenConcurrentAndScraperFails_ShouldKeepOtherPlatformsResults() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                Arrays.asList(scraperService1, scraperService2),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(true)),
+                new IngestProperties(500, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        givenCriteria(searchCriteria);
+
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenThrow(new RuntimeException("Scraping failed"));
+
+        when(scraperService2.isAvailable()).thenReturn(false);
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+
+        // When
+        List<Job> result = jobScrapingService.scrapAllPlatforms();
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(scraperService2, never()).fetch(any());
+        verify(jobRepository, never()).insertIgnoringDuplicates(anyList());
+    }
+
+    @Test
+    void scrapAllPlatforms_ShouldDropDuplicatesAndLookUpExistingIdsPerChunk() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                List.of(scraperService1),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(2, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        Job duplicateOfJob1 = createJob("ext-1", "Job 1 again");
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1, duplicateOfJob1, job2, job3));
+
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(Map.of());
+        when(jobRepository.findContentHashes(List.of("ext-2", "ext-3"))).thenReturn(unchanged(job2));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> result = jobScrapingService.scrapAllPlatforms();
+
+        // Then
+        assertThat(result).containsExactly(job1, job3);
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job1));
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job3));
+        verify(jobRepository, never()).findByExternalId(anyString());
+    }
+
+    @Test
+    void scrapAllPlatforms_ShouldPageThroughSearchCriteria() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                List.of(scraperService1),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(500, 2, 1),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        SearchCriteria criteria2 = SearchCriteria.builder()
+                .id(2L)
+                .keywords(Collections.singleton("Python Developer"))
+                .locations(Collections.singleton("Paris"))
+                .build();
+        PageRequest firstPage = PageRequest.of(0, 1, Sort.by("id"));
+        when(searchCriteriaRepository.findAllIds(firstPage)).thenReturn(new SliceImpl<>(List.of(1L), firstPage, true));
+        when(searchCriteriaRepository.findAllIds(firstPage.next())).thenReturn(new SliceImpl<>(List.of(2L), firstPage.next(), false));
+        when(searchCriteriaRepository.findAllByIdIn(eq(List.of(1L)), any(Sort.class))).thenReturn(List.of(searchCriteria));
+        when(searchCriteriaRepository.findAllByIdIn(eq(List.of(2L)), any(Sort.class))).thenReturn(List.of(criteria2));
+
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1));
+        when(scraperService1.fetch(query(platform1, "Python Developer"))).thenReturn(Flux.just(job2));
+        when(jobRepository.findContentHashes(anyCollection())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> result = jobScrapingService.scrapAllPlatforms();
+
+        // Then
+        assertThat(result).containsExactly(job1, job2);
+        verify(searchCriteriaRepository, never()).findAll();
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldReportCountsWithoutCollectingJobs() {
+        // Given
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1, job2));
+        when(scraperService2.isAvailable()).thenReturn(false);
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+
+        when(jobRepository.findContentHashes(List.of("ext-1", "ext-2"))).thenReturn(unchanged(job1));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        assertThat(report).isEqualTo(new ScrapeReport(1, 2, 1, 2, 1, 2, 0));
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldReportPlanAndEachFinishedQueryToListener() {
+        // Given
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1));
+        when(scraperService2.isAvailable()).thenReturn(false);
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ScrapePlan> plans = new ArrayList<>();
+        List<ScrapeTaskResult> finished = new ArrayList<>();
+        ScrapeListener listener = new ScrapeListener() {
+            @Override
+            public void onPlanned(ScrapePlan plan) {
+                plans.add(plan);
+            }
+
+            @Override
+            public void onTaskFinished(ScrapeTaskResult result) {
+                finished.add(result);
+            }
+        };
+
+        // When
+        jobScrapingService.ingestAllPlatforms(false, listener);
+
+        // Then
+        assertThat(plans).singleElement().extracting(ScrapePlan::plannedRequests).isEqualTo(2);
+        assertThat(finished).extracting(ScrapeTaskResult::status)
+                .containsExactlyInAnyOrder(ScrapeTaskResult.Status.COMPLETED, ScrapeTaskResult.Status.UNAVAILABLE);
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldFetchIdenticalQueriesOnceAcrossCriteria() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                List.of(scraperService1),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(500, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        SearchCriteria sameSearch = SearchCriteria.builder()
+                .id(2L)
+                .keywords(Collections.singleton("  java   DEVELOPER"))
+                .locations(Collections.singleton("paris "))
+                .build();
+        givenCriteria(searchCriteria, sameSearch);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(query(platform1, "Java Developer"))).thenReturn(Flux.just(job1));
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        assertThat(report).isEqualTo(new ScrapeReport(2, 1, 0, 1, 1, 2, 0));
+        verify(scraperService1, times(1)).fetch(any());
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldStopAtWatermarkAndAdvanceItWithLastChunk() {
+        // Given
+        jobScrapingService = singleScraperService();
+        ScrapePlan.PlannedQuery planned = new ScrapePlan.PlannedQuery(query(platform1, "Java Developer"), List.of(1L));
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(planned.query())).thenReturn(Flux.just(job1, job2, job3));
+        when(scrapeWatermarkService.stopMarkers(planned)).thenReturn(Set.of("ext-2"));
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        assertThat(report.fetchedJobs()).isEqualTo(1);
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job1));
+        verify(scrapeWatermarkService).advance(planned, "ext-1");
+    }
+
+    @Test
+    void ingestAllPlatforms_WithFullRescan_ShouldIgnoreWatermarks() {
+        // Given
+        jobScrapingService = singleScraperService();
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(any())).thenReturn(Flux.just(job1, job2, job3));
+        when(jobRepository.findContentHashes(anyCollection())).thenReturn(unchanged(job2, job3));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms(true);
+
+        // Then
+        assertThat(report.fetchedJobs()).isEqualTo(3);
+        verify(scrapeWatermarkService, never()).stopMarkers(any());
+        verify(scrapeWatermarkService).advance(any(), eq("ext-1"));
+    }
+
+    @Test
+    void ingestAllPlatforms_WhenStreamFailsHalfway_ShouldKeepWatermark() {
+        // Given
+        jobScrapingService = new JobScrapingServiceImpl(
+                List.of(scraperService1),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(1, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+        givenCriteria(searchCriteria);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(any())).thenReturn(Flux.concat(Flux.just(job1), Flux.error(new IllegalStateException("page 2 failed"))));
+        when(jobRepository.findContentHashes(anyCollection())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        assertThat(report.failedTasks()).isEqualTo(1);
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job1));
+        verify(scrapeWatermarkService, never()).advance(any(), any());
+    }
+
+    @Test
+    void ingestAllPlatforms_WhenNoSearchCriteria_ShouldReturnEmptyReport() {
+        // Given
+        givenCriteria();
+
+        // When
+        ScrapeReport report = jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        assertThat(report).isEqualTo(ScrapeReport.empty());
+        verifyNoInteractions(scraperService1, scraperService2, jobRepository);
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldTimeEachStageAndMeasureTasks() {
+        // Given
+        jobScrapingService = singleScraperService();
+        givenCriteria(searchCriteria);
+        List<ScrapeTaskResult> finished = new ArrayList<>();
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.fetch(any())).thenReturn(Flux.just(job1, job2, job3));
+        when(scrapeWatermarkService.stopMarkers(any())).thenReturn(Set.of());
+        when(jobRepository.findContentHashes(anyCollection())).thenReturn(unchanged(job2));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        jobScrapingService.ingestAllPlatforms(false, new ScrapeListener() {
+            @Override
+            public void onTaskFinished(ScrapeTaskResult result) {
+                finished.add(result);
+            }
+        });
+
+        // Then
+        assertThat(meterRegistry.find("scraper.pipeline.stage.duration").timers())
+                .extracting(timer -> timer.getId().getTag("stage"))
+                .contains("availability", "fetch", "dedup", "persist");
+        assertThat(meterRegistry.get("scraper.pipeline.stage.jobs").tags("stage", "fetch", "platform", platform1.name())
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("scraper.pipeline.jobs").tags("outcome", "duplicate").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scraper.pipeline.tasks").tags("status", "completed").counter().count()).isEqualTo(1);
+        assertThat(finished).singleElement().satisfies(result -> assertThat(result.duration()).isPositive());
+    }
+
+    @Test
+    void ingestAllPlatforms_ShouldOnlyProbeRemoteScrapers() {
+        // Given
+        givenCriteria(searchCriteria);
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.isRemote()).thenReturn(true);
+        when(scraperService1.fetch(any())).thenReturn(Flux.empty());
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+        when(scraperService2.isRemote()).thenReturn(false);
+        when(scraperService2.fetch(any())).thenReturn(Flux.empty());
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService2.isAvailable()).thenReturn(true);
+        when(scrapeWatermarkService.stopMarkers(any())).thenReturn(Set.of());
+
+        // When
+        jobScrapingService.ingestAllPlatforms();
+
+        // Then
+        verify(siteAvailabilityService).probeAll(List.of(platform1.getUrl()));
+    }
+
+    @Test
+    void ingestSelected_ShouldProbeRemoteScrapersBeforeScraping() {
+        // Given
+        when(searchCriteriaRepository.findAllByIdIn(eq(Set.of(1L)), any(Sort.class))).thenReturn(List.of(searchCriteria));
+        when(scraperService1.getPlatform()).thenReturn(platform1);
+        when(scraperService1.isRemote()).thenReturn(true);
+        when(scraperService1.isAvailable()).thenReturn(true);
+        when(scraperService1.fetch(any())).thenReturn(Flux.empty());
+        when(scraperService2.getPlatform()).thenReturn(platform2);
+        when(scraperService2.isRemote()).thenReturn(false);
+        when(scrapeWatermarkService.stopMarkers(any())).thenReturn(Set.of());
+
+        // When
+        jobScrapingService.ingestSelected(Map.of(1L, Set.of(platform1)), ScrapeListener.NONE);
+
+        // Then
+        InOrder inOrder = inOrder(siteAvailabilityService, scraperService1);
+        inOrder.verify(siteAvailabilityService).probeAll(List.of(platform1.getUrl()));
+        inOrder.verify(scraperService1).fetch(any());
+        verify(scraperService2, never()).fetch(any());
+    }
+
+    private void givenCriteria(SearchCriteria... criteria) {
+        List<Long> ids = Arrays.stream(criteria).map(SearchCriteria::getId).toList();
+        when(searchCriteriaRepository.findAllIds(any(Pageable.class))).thenReturn(new SliceImpl<>(ids));
+        if (criteria.length > 0) {
+            when(searchCriteriaRepository.findAllByIdIn(eq(ids), any(Sort.class))).thenReturn(List.of(criteria));
+        }
+    }
+
+    private JobScrapingServiceImpl singleScraperService() {
+        return new JobScrapingServiceImpl(
+                List.of(scraperService1),
+                searchCriteriaRepository,
+                new JobIngestWriter(jobRepository, TransactionOperations.withoutTransaction(), knownExternalIdFilter, pipelineMetrics, nearDuplicateDetector),
+                new ConcurrentScrapeExecutor(concurrencyProperties(false)),
+                new IngestProperties(500, 2, 100),
+                siteAvailabilityService,
+                new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of())),
+                scrapeWatermarkService,
+                pipelineMetrics
+        );
+    }
+
+    private static ScrapeQuery query(Platform platform, String keyword) {
+        return ScrapeQuery.of(platform, keyword, "Paris");
+    }
+
+    private static ScrapingConcurrencyProperties concurrencyProperties(boolean enabled) {
+        return new ScrapingConcurrencyProperties(enabled, 2, Map.of(), Duration.ofSeconds(5), Duration.ofSeconds(10));
     }
 
     private Job createJob(String externalId, String title) {
@@ -253,4 +730,8 @@ class JobScrapingServiceTest {
         job.setTitle(title);
         return job;
     }
-}
\ No newline at end of file
+
+    private static Map<String, Long> unchanged(Job... jobs) {
+        return Arrays.stream(jobs).collect(Collectors.toMap(Job::getExternalId, JobContentHash::of));
+    }
+}
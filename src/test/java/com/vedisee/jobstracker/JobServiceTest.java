@@ -1,23 +1,34 @@
 package com.vedisee.jobstracker;
 
+import com.vedisee.jobstracker.config.JobPageProperties;
+import com.vedisee.jobstracker.dto.JobPage;
+import com.vedisee.jobstracker.dto.JobSearchHit;
+import com.vedisee.jobstracker.dto.JobSearchPage;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.SearchCriteria;
 import com.vedisee.jobstracker.repository.JobRepository;
 import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
-import com.vedisee.jobstracker.service.JobScrapingService;
+import com.vedisee.jobstracker.service.JobCursor;
 import com.vedisee.jobstracker.service.JobServiceImpl;
+import com.vedisee.jobstracker.service.ScrapeRunService;
+import com.vedisee.jobstracker.service.ScrapeRunStatus;
+import com.vedisee.jobstracker.service.ScrapeRunTicket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +41,7 @@ class JobServiceTest {
     private SearchCriteriaRepository searchCriteriaRepository;
 
     @Mock
-    private JobScrapingService jobScrapingService;
+    private ScrapeRunService scrapeRunService;
 
     private JobServiceImpl jobService;
 
@@ -44,7 +55,8 @@ class JobServiceTest {
         jobService = new JobServiceImpl(
                 jobRepository,
                 searchCriteriaRepository,
-                jobScrapingService
+                scrapeRunService,
+                new JobPageProperties(2, 3)
         );
 
         job1 = createJob(1L, "ext-1", "Java Developer", "Company A");
@@ -63,6 +75,124 @@ class JobServiceTest {
                 .build();
     }
 
+    @Test
+    void findJobs_WithoutCursor_ShouldReturnTheFirstPageAndACursorAfterItsLastJob() {
+        // Given
+        Job job3 = createJob(3L, "ext-3", "Go Developer", "Company C");
+        when(jobRepository.findFirstPage(Limit.of(3))).thenReturn(List.of(job1, job2, job3));
+
+        // When
+        JobPage page = jobService.findJobs(null, null, false);
+
+        // Then
+        assertThat(page.items()).containsExactly(job1, job2);
+        assertThat(JobCursor.decode(page.nextCursor())).isEqualTo(new JobCursor(job2.getCreatedAt(), 2L));
+    }
+
+    @Test
+    void findJobs_WithCursor_ShouldSeekAfterItAndEndOnTheLastPage() {
+        // Given
+        String cursor = JobCursor.after(job1).encode();
+        when(jobRepository.findPageAfter(job1.getCreatedAt(), 1L, Limit.of(4))).thenReturn(List.of(job2));
+
+        // When
+        JobPage page = jobService.findJobs(cursor, 10, false);
+
+        // Then
+        assertThat(page.items()).containsExactly(job2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findJobs_WhenCollapsingDuplicates_ShouldPageCanonicalJobsOnly() {
+        // Given
+        when(jobRepository.findFirstCanonicalPage(Limit.of(2))).thenReturn(List.of(job1));
+
+        // When
+        JobPage page = jobService.findJobs("", 1, true);
+
+        // Then
+        assertThat(page.items()).containsExactly(job1);
+        verify(jobRepository, never()).findFirstPage(any());
+    }
+
+    @Test
+    void findJobs_WithInvalidCursor_ShouldThrow() {
+        // When
+        // Then
+        assertThatThrownBy(() -> jobService.findJobs("not-a-cursor", null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void searchJobs_ShouldReturnThePageOfHitsAndTheNextPageNumber() {
+        // Given
+        JobSearchHit hit1 = new JobSearchHit(job1, 0.9, "<mark>Java</mark> backend");
+        JobSearchHit hit2 = new JobSearchHit(job2, 0.5, "some <mark>java</mark>");
+        JobSearchHit hit3 = new JobSearchHit(createJob(3L, "ext-3", "Go Developer", "Company C"), 0.1, "");
+        when(jobRepository.search("java", false, 2L, 3)).thenReturn(List.of(hit1, hit2, hit3));
+
+        // When
+        JobSearchPage page = jobService.searchJobs(" java ", 1, null, false);
+
+        // Then
+        assertThat(page.items()).containsExactly(hit1, hit2);
+        assertThat(page.nextPage()).isEqualTo(2);
+    }
+
+    @Test
+    void searchJobs_OnTheLastPage_ShouldHaveNoNextPage() {
+        // Given
+        JobSearchHit hit = new JobSearchHit(job1, 0.9, "<mark>Java</mark> backend");
+        when(jobRepository.search("java", true, 0L, 4)).thenReturn(List.of(hit));
+
+        // When
+        JobSearchPage page = jobService.searchJobs("java", null, 10, true);
+
+        // Then
+        assertThat(page.items()).containsExactly(hit);
+        assertThat(page.nextPage()).isNull();
+    }
+
+    @Test
+    void searchJobs_WithBlankQueryOrNegativePage_ShouldThrow() {
+        // When
+        // Then
+        assertThatThrownBy(() -> jobService.searchJobs(" ", null, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jobService.searchJobs("java", -1, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void findDuplicates_ShouldReturnTheOtherMembersOfTheCluster() {
+        // Given
+        job2.setClusterId(1L);
+        Job job3 = createJob(3L, "ext-3", "Java Developer", "Company A");
+        job3.setClusterId(1L);
+        when(jobRepository.findById(2L)).thenReturn(Optional.of(job2));
+        when(jobRepository.findCluster(1L)).thenReturn(List.of(job1, job2, job3));
+
+        // When
+        Optional<List<Job>> result = jobService.findDuplicates(2L);
+
+        // Then
+        assertThat(result).contains(List.of(job1, job3));
+    }
+
+    @Test
+    void findDuplicates_WhenJobDoesNotExist_ShouldReturnEmpty() {
+        // Given
+        when(jobRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        // Then
+        assertThat(jobService.findDuplicates(99L)).isEmpty();
+        verify(jobRepository, never()).findCluster(any());
+    }
+
     @Test
     void findAllJobs_WhenJobsExist_ShouldReturnAllJobs() {
         // Given
@@ -246,58 +376,55 @@ class JobServiceTest {
     }
 
     @Test
-    void triggerJobScraping_ShouldCallJobScrapingService() {
+    void triggerJobScraping_ShouldStartRunThroughScrapeRunService() {
         // Given
-        List<Job> scrapedJobs = Arrays.asList(job1, job2);
-        when(jobScrapingService.scrapAllPlatforms()).thenReturn(scrapedJobs);
+        ScrapeRunTicket ticket = new ScrapeRunTicket(UUID.randomUUID(), false, ScrapeRunStatus.State.PLANNING);
+        when(scrapeRunService.trigger(false)).thenReturn(ticket);
 
         // When
-        jobService.triggerJobScraping();
+        ScrapeRunTicket result = jobService.triggerJobScraping();
 
         // Then
-        verify(jobScrapingService).scrapAllPlatforms();
-        verify(jobScrapingService, times(1)).scrapAllPlatforms();
+        assertThat(result).isEqualTo(ticket);
+        verify(scrapeRunService, times(1)).trigger(false);
     }
 
     @Test
-    void triggerJobScraping_WhenNoJobsScraped_ShouldStillCallService() {
+    void triggerJobScraping_WithFullRescan_ShouldForwardFlag() {
         // Given
-        when(jobScrapingService.scrapAllPlatforms()).thenReturn(List.of());
+        when(scrapeRunService.trigger(true)).thenReturn(new ScrapeRunTicket(UUID.randomUUID(), false, ScrapeRunStatus.State.PLANNING));
 
         // When
-        jobService.triggerJobScraping();
+        jobService.triggerJobScraping(true);
 
         // Then
-        verify(jobScrapingService).scrapAllPlatforms();
+        verify(scrapeRunService).trigger(true);
     }
 
     @Test
-    void triggerJobScraping_WhenScrapingThrowsException_ShouldPropagateException() {
+    void triggerJobScraping_ShouldNotInteractWithRepositories() {
         // Given
-        when(jobScrapingService.scrapAllPlatforms())
-                .thenThrow(new RuntimeException("Scraping failed"));
+        when(scrapeRunService.trigger(false)).thenReturn(new ScrapeRunTicket(UUID.randomUUID(), true, ScrapeRunStatus.State.RUNNING));
 
-        // When & Then
-        try {
-            jobService.triggerJobScraping();
-        } catch (RuntimeException e) {
-            assertThat(e.getMessage()).isEqualTo("Scraping failed");
-        }
+        // When
+        jobService.triggerJobScraping();
 
-        verify(jobScrapingService).scrapAllPlatforms();
+        // Then
+        verify(scrapeRunService).trigger(false);
+        verifyNoInteractions(jobRepository, searchCriteriaRepository);
     }
 
     @Test
-    void triggerJobScraping_ShouldNotInteractWithRepositories() {
+    void findScrapeRun_WhenUnknown_ShouldReturnEmpty() {
         // Given
-        when(jobScrapingService.scrapAllPlatforms()).thenReturn(List.of(job1));
+        UUID id = UUID.randomUUID();
+        when(scrapeRunService.findRun(id)).thenReturn(Optional.empty());
 
         // When
-        jobService.triggerJobScraping();
+        Optional<ScrapeRunStatus> result = jobService.findScrapeRun(id);
 
         // Then
-        verify(jobScrapingService).scrapAllPlatforms();
-        verifyNoInteractions(jobRepository, searchCriteriaRepository);
+        assertThat(result).isEmpty();
     }
 
     private Job createJob(Long id, String externalId, String title, String company) {
@@ -306,6 +433,7 @@ class JobServiceTest {
         job.setExternalId(externalId);
         job.setTitle(title);
         job.setCompany(company);
+        job.setCreatedAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusNanos(id * 1_000));
         return job;
     }
 }
@@ -15,16 +15,26 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
 import java.util.Set;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -57,6 +67,8 @@ public class JobControllerIT {
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
         registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
     }
 
     @BeforeEach
@@ -80,8 +92,124 @@ public class JobControllerIT {
 
         mockMvc.perform(get("/api/jobs"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].title").value("Java Developer"));
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Java Developer"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldPageThroughJobsWithCursors() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            jobRepository.save(Job.builder()
+                    .externalId("page-" + i)
+                    .title("Job " + i)
+                    .company("Tech Corp")
+                    .description("Great job")
+                    .platform(Platform.LINKEDIN)
+                    .location("Remote")
+                    .url("http://example.com/" + i)
+                    .build());
+        }
+
+        String body = mockMvc.perform(get("/api/jobs").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Job 1"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asString();
+
+        mockMvc.perform(get("/api/jobs").param("size", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Job 3"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldRankFullTextMatchesAndHighlightThem() throws Exception {
+        jobRepository.save(Job.builder()
+                .externalId("search-description")
+                .title("Backend Developer")
+                .company("Tech Corp")
+                .description("You will maintain Kotlin services alongside our Java platform")
+                .platform(Platform.LINKEDIN)
+                .location("Remote")
+                .url("http://example.com/search-description")
+                .build());
+        jobRepository.save(Job.builder()
+                .externalId("search-title")
+                .title("Kotlin Developer")
+                .company("Tech Corp")
+                .description("Build mobile applications in Kotlin")
+                .platform(Platform.INDEED)
+                .location("Paris")
+                .url("http://example.com/search-title")
+                .build());
+        jobRepository.save(Job.builder()
+                .externalId("search-other")
+                .title("Python Developer")
+                .company("Tech Corp")
+                .description("Data pipelines")
+                .platform(Platform.INDEED)
+                .location("Paris")
+                .url("http://example.com/search-other")
+                .build());
+
+        mockMvc.perform(get("/api/jobs/search").param("q", "kotlin").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].job.externalId").value("search-title"))
+                .andExpect(jsonPath("$.items[0].snippet").value(containsString("<mark>Kotlin</mark>")))
+                .andExpect(jsonPath("$.nextPage").value(1));
+
+        mockMvc.perform(get("/api/jobs/search").param("q", "kotlin").param("size", "1").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].job.externalId").value("search-description"))
+                .andExpect(jsonPath("$.nextPage").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectBlankSearch() throws Exception {
+        mockMvc.perform(get("/api/jobs/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldExportJobsOfAPlatformAsCsv() throws Exception {
+        for (Platform platform : Platform.values()) {
+            jobRepository.save(Job.builder()
+                    .externalId("export-" + platform)
+                    .title("Java Developer")
+                    .company("Tech Corp")
+                    .description("Great job")
+                    .platform(platform)
+                    .location("Remote")
+                    .url("http://example.com/" + platform)
+                    .build());
+        }
+
+        MvcResult result = mockMvc.perform(get("/api/jobs/export").param("format", "csv").param("platform", "INDEED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(csv.lines().toList()).hasSize(2).last().asString().contains("export-INDEED");
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/api/jobs/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/jobs").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -140,8 +268,23 @@ public class JobControllerIT {
     }
 
     @Test
-    void shouldTriggerJobScraping() throws Exception {
-        mockMvc.perform(post("/api/jobs/scrape"))
-                .andExpect(status().isOk());
+    void shouldTriggerJobScrapingAsynchronously() throws Exception {
+        String body = mockMvc.perform(post("/api/jobs/scrape"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.runId").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String runId = objectMapper.readTree(body).get("runId").asString();
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                mockMvc.perform(get("/api/scrape-runs/{id}", runId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.state").value("SUCCEEDED")));
+    }
+
+    @Test
+    void shouldReturn404WhenScrapeRunNotFound() throws Exception {
+        mockMvc.perform(get("/api/scrape-runs/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
     }
 }
@@ -0,0 +1,290 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.JobContentHash;
+import com.vedisee.jobstracker.model.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobRepositoryImplTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private JobRepositoryImpl jobRepository;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_job_and_search_criteria.sql"),
+                new ClassPathResource("db/migration/V5__add_job_content_hash.sql"),
+                new ClassPathResource("db/migration/V6__create_job_lsh_bucket.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        jobRepository = new JobRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    void insertIgnoringDuplicates_ShouldInsertNewJobsAndAssignIds() {
+        // When
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2")));
+
+        // Then
+        assertThat(inserted).extracting(Job::getExternalId).containsExactly("ext-1", "ext-2");
+        assertThat(inserted).allSatisfy(job -> {
+            assertThat(job.getId()).isNotNull();
+            assertThat(job.getCreatedAt()).isNotNull();
+            assertThat(job.getUpdatedAt()).isEqualTo(job.getCreatedAt());
+        });
+        assertThat(count()).isEqualTo(2);
+    }
+
+    @Test
+    void insertIgnoringDuplicates_ShouldSkipRowsThatAlreadyExist() {
+        // Given
+        jobRepository.insertIgnoringDuplicates(List.of(job("ext-1")));
+
+        // When
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2")));
+
+        // Then
+        assertThat(inserted).extracting(Job::getExternalId).containsExactly("ext-2");
+        assertThat(inserted.getFirst().getId()).isEqualTo(idOf("ext-2"));
+        assertThat(count()).isEqualTo(2);
+    }
+
+    @Test
+    void insertIgnoringDuplicates_WithMoreRowsThanOneStatementHolds_ShouldInsertThemAll() {
+        // Given
+        jobRepository.insertIgnoringDuplicates(List.of(job("ext-700")));
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            jobs.add(job("ext-" + i));
+        }
+
+        // When
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(jobs);
+
+        // Then
+        assertThat(inserted).hasSize(1_199).doesNotContain(jobs.get(700));
+        assertThat(inserted).allSatisfy(job -> assertThat(job.getId()).isEqualTo(idOf(job.getExternalId())));
+        assertThat(count()).isEqualTo(1_200);
+    }
+
+    @Test
+    void findContentHashes_ShouldReturnTheHashStoredOnInsert() {
+        // Given
+        Job job = job("ext-1");
+        jobRepository.insertIgnoringDuplicates(List.of(job));
+
+        // When
+        Map<String, Long> hashes = jobRepository.findContentHashes(List.of("ext-1", "ext-2"));
+
+        // Then
+        assertThat(hashes).containsExactly(Map.entry("ext-1", JobContentHash.of(job)));
+    }
+
+    @Test
+    void updateChangedContent_ShouldRewriteOnlyRowsWhoseHashDiffers() {
+        // Given
+        Job first = job("ext-1");
+        Job second = job("ext-2");
+        jobRepository.insertIgnoringDuplicates(List.of(first, second));
+        jdbcTemplate.getJdbcTemplate().update("UPDATE job SET updated_at = TIMESTAMP '2020-01-01 00:00:00'");
+        Job edited = job("ext-1");
+        edited.setDescription("Great job, now fully remote");
+        Job same = job("ext-2");
+
+        // When
+        List<Job> updated = jobRepository.updateChangedContent(List.of(edited, same));
+
+        // Then
+        assertThat(updated).containsExactly(edited);
+        assertThat(edited.getId()).isEqualTo(idOf("ext-1"));
+        assertThat(jobRepository.findContentHashes(List.of("ext-1"))).containsEntry("ext-1", JobContentHash.of(edited));
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForList(
+                "SELECT external_id FROM job WHERE updated_at > TIMESTAMP '2020-01-01 00:00:00'", String.class))
+                .containsExactly("ext-1");
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT description FROM job WHERE external_id = 'ext-1'", String.class)).isEqualTo("Great job, now fully remote");
+    }
+
+    @Test
+    void updateChangedContent_WhenRowPredatesHashes_ShouldStoreHashWithoutTouchingUpdatedAt() {
+        // Given
+        jobRepository.insertIgnoringDuplicates(List.of(job("ext-1")));
+        jdbcTemplate.getJdbcTemplate().update("UPDATE job SET content_hash = NULL, updated_at = TIMESTAMP '2020-01-01 00:00:00'");
+        Job job = job("ext-1");
+
+        // When
+        jobRepository.updateChangedContent(List.of(job));
+
+        // Then
+        assertThat(jobRepository.findContentHashes(List.of("ext-1"))).containsEntry("ext-1", JobContentHash.of(job));
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject(
+                "SELECT COUNT(*) FROM job WHERE updated_at = TIMESTAMP '2020-01-01 00:00:00'", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void findJobIdsByLshBuckets_ShouldReturnTheJobsFiledUnderEachBucket() {
+        // Given
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2")));
+        Long first = inserted.get(0).getId();
+        Long second = inserted.get(1).getId();
+        jobRepository.insertLshBuckets(Map.of(first, new long[]{10L, 20L}, second, new long[]{20L, 30L}));
+
+        // When
+        Map<Long, List<Long>> jobIds = jobRepository.findJobIdsByLshBuckets(List.of(20L, 30L, 40L), 10);
+
+        // Then
+        assertThat(jobIds).containsOnlyKeys(20L, 30L);
+        assertThat(jobIds.get(20L)).containsExactlyInAnyOrder(first, second);
+        assertThat(jobIds.get(30L)).containsExactly(second);
+    }
+
+    @Test
+    void findJobIdsByLshBuckets_ShouldKeepTheMostRecentJobsOfACrowdedBucket() {
+        // Given
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2"), job("ext-3")));
+        Map<Long, long[]> buckets = new HashMap<>();
+        inserted.forEach(job -> buckets.put(job.getId(), new long[]{20L}));
+        buckets.put(inserted.get(0).getId(), new long[]{10L, 20L});
+        jobRepository.insertLshBuckets(buckets);
+
+        // When
+        Map<Long, List<Long>> jobIds = jobRepository.findJobIdsByLshBuckets(List.of(10L, 20L), 2);
+
+        // Then
+        assertThat(jobIds.get(20L)).containsExactlyInAnyOrder(inserted.get(1).getId(), inserted.get(2).getId());
+        assertThat(jobIds.get(10L)).containsExactly(inserted.get(0).getId());
+    }
+
+    @Test
+    void deleteLshBuckets_ShouldRemoveOnlyTheBucketsOfTheGivenJobs() {
+        // Given
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2")));
+        Long first = inserted.get(0).getId();
+        Long second = inserted.get(1).getId();
+        jobRepository.insertLshBuckets(Map.of(first, new long[]{10L, 20L}, second, new long[]{20L}));
+
+        // When
+        jobRepository.deleteLshBuckets(List.of(first));
+
+        // Then
+        assertThat(jobRepository.findJobIdsByLshBuckets(List.of(10L, 20L), 10)).containsExactly(Map.entry(20L, List.of(second)));
+    }
+
+    @Test
+    void assignClusters_ShouldLinkJobsToTheirCanonicalJob() {
+        // Given
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2")));
+        Long canonical = inserted.get(0).getId();
+        Long duplicate = inserted.get(1).getId();
+
+        // When
+        jobRepository.assignClusters(Map.of(duplicate, canonical));
+
+        // Then
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForList("SELECT cluster_id FROM job ORDER BY id", Long.class))
+                .containsExactly(null, canonical);
+    }
+
+    @Test
+    void forEachExternalId_ShouldStreamEveryExternalId() {
+        // Given
+        jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2"), job("ext-3")));
+        List<String> streamed = new ArrayList<>();
+
+        // When
+        jobRepository.forEachExternalId(2, streamed::add);
+
+        // Then
+        assertThat(streamed).containsExactlyInAnyOrder("ext-1", "ext-2", "ext-3");
+    }
+
+    @Test
+    void forEachJob_ShouldStreamJobsMatchingTheFilterInIdOrder() {
+        // Given
+        Job indeed = job("ext-3");
+        indeed.setPlatform(Platform.INDEED);
+        jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2"), indeed, job("ext-4")));
+        setCreatedAt("ext-1", "2026-01-10 00:00:00");
+        setCreatedAt("ext-2", "2026-02-10 00:00:00");
+        setCreatedAt("ext-3", "2026-02-10 00:00:00");
+        setCreatedAt("ext-4", "2026-03-10 00:00:00");
+        List<Job> streamed = new ArrayList<>();
+
+        // When
+        jobRepository.forEachJob(new JobExportFilter(Platform.LINKEDIN, LocalDateTime.of(2026, 2, 1, 0, 0),
+                LocalDateTime.of(2026, 3, 10, 0, 0), null), 1, streamed::add);
+
+        // Then
+        assertThat(streamed).singleElement().satisfies(job -> {
+            assertThat(job.getExternalId()).isEqualTo("ext-2");
+            assertThat(job.getId()).isNotNull();
+            assertThat(job.getPlatform()).isEqualTo(Platform.LINKEDIN);
+            assertThat(job.getCreatedAt()).isEqualTo(LocalDateTime.of(2026, 2, 10, 0, 0));
+            assertThat(job.getUpdatedAt()).isNotNull();
+            assertThat(job.getClusterId()).isNull();
+        });
+    }
+
+    @Test
+    void forEachJob_WithoutCriteria_ShouldStreamEveryJob() {
+        // Given
+        List<Job> inserted = jobRepository.insertIgnoringDuplicates(List.of(job("ext-1"), job("ext-2"), job("ext-3")));
+        jobRepository.assignClusters(Map.of(inserted.get(2).getId(), inserted.get(0).getId()));
+        List<Job> streamed = new ArrayList<>();
+
+        // When
+        jobRepository.forEachJob(JobExportFilter.all(), 2, streamed::add);
+
+        // Then
+        assertThat(streamed).extracting(Job::getExternalId).containsExactly("ext-1", "ext-2", "ext-3");
+        assertThat(streamed.get(2).getClusterId()).isEqualTo(inserted.get(0).getId());
+    }
+
+    @Test
+    void insertIgnoringDuplicates_WithNoJobs_ShouldReturnEmptyList() {
+        assertThat(jobRepository.insertIgnoringDuplicates(List.of())).isEmpty();
+    }
+
+    private void setCreatedAt(String externalId, String createdAt) {
+        jdbcTemplate.getJdbcTemplate().update("UPDATE job SET created_at = CAST(? AS TIMESTAMP) WHERE external_id = ?",
+                createdAt, externalId);
+    }
+
+    private Long idOf(String externalId) {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT id FROM job WHERE external_id = ?", Long.class, externalId);
+    }
+
+    private Integer count() {
+        return jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM job", Integer.class);
+    }
+
+    private static Job job(String externalId) {
+        return Job.builder()
+                .externalId(externalId)
+                .title("Java Developer")
+                .company("Tech Corp")
+                .description("Great job")
+                .platform(Platform.LINKEDIN)
+                .location("Remote")
+                .url("http://example.com/" + externalId)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeRunHistoryRepositoryImplTest {
+
+    private static final String RUN = "6f1c0c1e-3f0a-3c2b-9f57-0d6c2b1f4a10";
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 2, 0);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ScrapeRunHistoryRepositoryImpl repository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V4__create_scrape_run_history.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        repository = new ScrapeRunHistoryRepositoryImpl(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void merge_ShouldInsertTheFirstRecordOfARun() {
+        // When
+        merge(run("SUCCEEDED", START, START.plusSeconds(30), 100, 1024, null), List.of(stat("LINKEDIN", 4, 40, 10, null)));
+
+        // Then
+        Map<String, Object> run = jdbcTemplate.queryForMap("SELECT * FROM scrape_run_history", Map.of());
+        assertThat(run).containsEntry("STATE", "SUCCEEDED").containsEntry("FETCHED_JOBS", 100L).containsEntry("DURATION_MS", 30_000L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scrape_run_stat", Map.of(), Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void merge_WhenTheSameRunIsRecordedTwice_ShouldMergeIntoOneRow() {
+        // Given
+        merge(run("SUCCEEDED", START, START.plusSeconds(30), 100, 1024, null),
+                List.of(stat("LINKEDIN", 4, 40, 10, null), stat("INDEED", 2, 20, 5, "timeout")));
+
+        // When
+        merge(run("FAILED", START.plusSeconds(1), START.plusSeconds(45), 120, 2048, "worker died"),
+                List.of(stat("LINKEDIN", 3, 60, 30, "blocked"), stat("GOOGLE", 1, 10, 10, null)));
+
+        // Then
+        Map<String, Object> run = jdbcTemplate.queryForMap("SELECT * FROM scrape_run_history", Map.of());
+        assertThat(run)
+                .containsEntry("STATE", "FAILED")
+                .containsEntry("DURATION_MS", 45_000L)
+                .containsEntry("FETCHED_JOBS", 120L)
+                .containsEntry("BYTES_DOWNLOADED", 3072L)
+                .containsEntry("ERROR", "worker died");
+        List<Map<String, Object>> stats = jdbcTemplate.queryForList(
+                "SELECT scope_key, tasks, fetched_jobs, new_jobs, dedup_hit_ratio, last_error FROM scrape_run_stat ORDER BY scope_key", Map.of());
+        assertThat(stats).extracting(stat -> stat.get("SCOPE_KEY")).containsExactly("GOOGLE", "INDEED", "LINKEDIN");
+        assertThat(stats.get(2))
+                .containsEntry("TASKS", 7L)
+                .containsEntry("FETCHED_JOBS", 100L)
+                .containsEntry("NEW_JOBS", 40L)
+                .containsEntry("DEDUP_HIT_RATIO", 0.6)
+                .containsEntry("LAST_ERROR", "blocked");
+        assertThat(stats.get(1)).containsEntry("LAST_ERROR", "timeout");
+    }
+
+    private void merge(ScrapeRunHistory run, List<ScrapeRunStat> stats) {
+        transactionTemplate.executeWithoutResult(status -> repository.merge(run, stats));
+    }
+
+    private static ScrapeRunHistory run(String state, LocalDateTime startedAt, LocalDateTime finishedAt, long fetchedJobs,
+                                        long bytesDownloaded, String error) {
+        return ScrapeRunHistory.builder()
+                .runId(RUN)
+                .state(state)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .durationMs(Duration.between(startedAt, finishedAt).toMillis())
+                .criteria(2)
+                .tasks(6)
+                .fetchedJobs(fetchedJobs)
+                .newJobs(fetchedJobs / 2)
+                .dedupHitRatio(0.5)
+                .bytesDownloaded(bytesDownloaded)
+                .error(error)
+                .build();
+    }
+
+    private static ScrapeRunStat stat(String platform, long tasks, long fetchedJobs, long newJobs, String lastError) {
+        return ScrapeRunStat.builder()
+                .runId(RUN)
+                .scope(ScrapeRunStat.Scope.PLATFORM)
+                .scopeKey(platform)
+                .tasks(tasks)
+                .fetchedJobs(fetchedJobs)
+                .newJobs(newJobs)
+                .lastError(lastError)
+                .build();
+    }
+}
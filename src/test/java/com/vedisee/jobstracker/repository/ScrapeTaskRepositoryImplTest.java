@@ -0,0 +1,169 @@
+package com.vedisee.jobstracker.repository;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeTaskRepositoryImplTest {
+
+    private static final String RUN = "run-1";
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 2, 0);
+
+    private ScrapeTaskRepositoryImpl repository;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_job_and_search_criteria.sql"),
+                new ClassPathResource("db/migration/V3__create_scrape_task.sql"))
+                .execute(dataSource);
+        repository = new ScrapeTaskRepositoryImpl(new NamedParameterJdbcTemplate(dataSource));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void enqueue_ShouldIgnoreTasksAlreadyQueuedForRun() {
+        // Given
+        repository.enqueue(List.of(task("java"), task("python")));
+
+        // When
+        int inserted = repository.enqueue(List.of(task("java"), task("go")));
+
+        // Then
+        assertThat(inserted).isEqualTo(1);
+        assertThat(repository.summarize(RUN).tasks()).isEqualTo(3);
+    }
+
+    @Test
+    void claim_ShouldLeaseTasksToOwnerAndSkipThemForOthers() {
+        // Given
+        repository.enqueue(List.of(task("java"), task("python"), task("go")));
+
+        // When
+        List<ScrapeTask> first = claim("node-a", 2, NOW);
+        List<ScrapeTask> second = claim("node-b", 2, NOW);
+
+        // Then
+        assertThat(first).extracting(ScrapeTask::getKeyword).containsExactly("java", "python");
+        assertThat(first).allSatisfy(task -> {
+            assertThat(task.getStatus()).isEqualTo(ScrapeTask.Status.RUNNING);
+            assertThat(task.getLeaseOwner()).isEqualTo("node-a");
+            assertThat(task.getAttempts()).isEqualTo(1);
+        });
+        assertThat(second).extracting(ScrapeTask::getKeyword).containsExactly("go");
+    }
+
+    @Test
+    void claim_WhenLeaseExpired_ShouldReclaimTask() {
+        // Given
+        repository.enqueue(List.of(task("java")));
+        claim("node-a", 1, NOW);
+
+        // When
+        List<ScrapeTask> beforeExpiry = claim("node-b", 1, NOW.plusMinutes(1));
+        List<ScrapeTask> afterExpiry = claim("node-b", 1, NOW.plusMinutes(3));
+
+        // Then
+        assertThat(beforeExpiry).isEmpty();
+        assertThat(afterExpiry).singleElement().satisfies(task -> {
+            assertThat(task.getLeaseOwner()).isEqualTo("node-b");
+            assertThat(task.getAttempts()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void extendLeases_ShouldKeepTaskFromBeingReclaimed() {
+        // Given
+        repository.enqueue(List.of(task("java")));
+        long id = claim("node-a", 1, NOW).getFirst().getId();
+
+        // When
+        int renewed = repository.extendLeases(List.of(id), "node-a", NOW.plusMinutes(5));
+        int renewedByOther = repository.extendLeases(List.of(id), "node-b", NOW.plusMinutes(10));
+
+        // Then
+        assertThat(renewed).isEqualTo(1);
+        assertThat(renewedByOther).isZero();
+        assertThat(claim("node-b", 1, NOW.plusMinutes(3))).isEmpty();
+    }
+
+    @Test
+    void complete_ShouldBeFencedByLeaseOwner() {
+        // Given
+        repository.enqueue(List.of(task("java")));
+        claim("node-a", 1, NOW);
+        long id = claim("node-b", 1, NOW.plusMinutes(3)).getFirst().getId();
+
+        // When
+        boolean staleOwner = repository.complete(id, "node-a", 10, 5, NOW.plusMinutes(4));
+        boolean currentOwner = repository.complete(id, "node-b", 7, 2, NOW.plusMinutes(4));
+
+        // Then
+        assertThat(staleOwner).isFalse();
+        assertThat(currentOwner).isTrue();
+        assertThat(repository.summarize(RUN)).isEqualTo(new ScrapeTaskRepositoryCustom.Summary(1, 0, 7, 2));
+        assertThat(repository.countOpen(RUN)).isZero();
+    }
+
+    @Test
+    void release_ShouldRequeueUntilMaxAttemptsThenFail() {
+        // Given
+        repository.enqueue(List.of(task("java")));
+
+        // When
+        long id = claim("node-a", 1, NOW).getFirst().getId();
+        repository.release(id, "node-a", "FAILED: boom", 2, NOW);
+        long retried = claim("node-a", 1, NOW).getFirst().getId();
+        repository.release(retried, "node-a", "FAILED: boom", 2, NOW);
+
+        // Then
+        assertThat(retried).isEqualTo(id);
+        assertThat(claim("node-a", 1, NOW)).isEmpty();
+        assertThat(repository.summarize(RUN).failedTasks()).isEqualTo(1);
+        assertThat(repository.countOpen(RUN)).isZero();
+    }
+
+    @Test
+    void failAbandoned_ShouldFailExpiredTasksOnLastAttempt() {
+        // Given
+        repository.enqueue(List.of(task("java")));
+        repository.claim(RUN, "node-a", 1, 1, NOW, NOW.plusMinutes(2));
+
+        // When
+        int failed = repository.failAbandoned(1, NOW.plusMinutes(3));
+
+        // Then
+        assertThat(failed).isEqualTo(1);
+        assertThat(repository.countOpen(RUN)).isZero();
+    }
+
+    private List<ScrapeTask> claim(String owner, int limit, LocalDateTime now) {
+        return transactionTemplate.execute(status -> repository.claim(null, owner, limit, 3, now, now.plusMinutes(2)));
+    }
+
+    private static ScrapeTask task(String keyword) {
+        return ScrapeTask.builder()
+                .runId(RUN)
+                .platform(Platform.LINKEDIN)
+                .keyword(keyword)
+                .location("paris")
+                .criteriaIds("1,2")
+                .createdAt(NOW)
+                .build();
+    }
+}
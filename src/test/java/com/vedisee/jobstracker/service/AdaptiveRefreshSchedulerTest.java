@@ -0,0 +1,395 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.RefreshScheduleProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.RefreshScheduleRepository;
+import com.vedisee.jobstracker.repository.RefreshScheduleRepositoryImpl;
+import com.vedisee.jobstracker.repository.SearchCriteriaRepository;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveRefreshSchedulerTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    // nextDouble() == 0.5: no jitter, new pairs due after half the min interval
+    private static final RandomGenerator MIDPOINT = () -> Long.MIN_VALUE;
+
+    @Mock
+    private JobScrapingService jobScrapingService;
+
+    @Mock
+    private ScrapeWorker scrapeWorker;
+
+    @Mock
+    private SearchCriteriaRepository searchCriteriaRepository;
+
+    @Mock
+    private ScrapeRunHistoryService scrapeRunHistoryService;
+
+    private final MutableClock clock = new MutableClock(START);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private RefreshScheduleRepository refreshScheduleRepository;
+
+    private TransactionOperations transactionOperations;
+
+    @BeforeEach
+    void setUp() {
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_job_and_search_criteria.sql"),
+                new ClassPathResource("db/migration/V9__create_refresh_schedule.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        // The scheduler only uses the JDBC fragment: run it against H2 behind the repository interface.
+        refreshScheduleRepository = mock(RefreshScheduleRepository.class, delegatesTo(new RefreshScheduleRepositoryImpl(jdbcTemplate)));
+        transactionOperations = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Test
+    void tick_ShouldOnlyRefreshPairsOnceDue() {
+        // Given
+        givenCriteriaIds(1L);
+        List<Map<Long, Set<Platform>>> selections = new ArrayList<>();
+        when(jobScrapingService.ingestSelected(any(), any())).thenAnswer(invocation -> {
+            selections.add(Map.copyOf(invocation.getArgument(0)));
+            return ScrapeReport.empty();
+        });
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN, Platform.INDEED));
+
+        // When
+        int beforeDue = scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+        int whenDue = scheduler.tick();
+
+        // Then
+        assertThat(beforeDue).isZero();
+        assertThat(whenDue).isEqualTo(2);
+        assertThat(selections).containsExactly(Map.of(1L, EnumSet.of(Platform.LINKEDIN, Platform.INDEED)));
+    }
+
+    @Test
+    void tick_ShouldShortenIntervalOfBusyPairsAndStretchQuietOnes() {
+        // Given
+        givenCriteriaIds(1L, 2L);
+        givenNewJobs(Map.of(1L, 20L, 2L, 0L));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        // 20 new jobs over the 6h initial interval: 3.33/h, so 5 new jobs take 1.5h
+        assertThat(interval(scheduler, 1L)).isEqualTo(Duration.ofMinutes(90));
+        assertThat(interval(scheduler, 2L)).isEqualTo(Duration.ofHours(12));
+        assertThat(scheduler.snapshot().getFirst().nextDueAt()).isEqualTo(clock.instant().plus(Duration.ofMinutes(90)));
+    }
+
+    @Test
+    void tick_ShouldKeepIntervalsWithinBounds() {
+        // Given
+        givenCriteriaIds(1L, 2L);
+        givenNewJobs(Map.of(1L, 10_000L, 2L, 0L));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            clock.advance(Duration.ofHours(25));
+            scheduler.tick();
+        }
+
+        // Then
+        assertThat(interval(scheduler, 1L)).isEqualTo(Duration.ofHours(1));
+        assertThat(interval(scheduler, 2L)).isEqualTo(Duration.ofHours(24));
+    }
+
+    @Test
+    void tick_WhenPairFails_ShouldRetryAfterMinIntervalWithoutAdapting() {
+        // Given
+        givenCriteriaIds(1L);
+        ScrapePlan.PlannedQuery planned = new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"), List.of(1L));
+        when(jobScrapingService.ingestSelected(any(), any())).thenAnswer(invocation -> {
+            ScrapeListener listener = invocation.getArgument(1);
+            listener.onTaskFinished(ScrapeTaskResult.failed(planned, "boom"));
+            return ScrapeReport.empty();
+        });
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        AdaptiveRefreshScheduler.Snapshot snapshot = scheduler.snapshot().getFirst();
+        assertThat(snapshot.interval()).isEqualTo(Duration.ofHours(6));
+        assertThat(snapshot.newJobsPerHour()).isNull();
+        assertThat(snapshot.nextDueAt()).isEqualTo(clock.instant().plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    void tick_ShouldRecordEachRefreshInTheRunHistory() {
+        // Given
+        givenCriteriaIds(1L);
+        givenNewJobs(Map.of(1L, 4L));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        ArgumentCaptor<ScrapeRunStatus> recorded = ArgumentCaptor.forClass(ScrapeRunStatus.class);
+        verify(scrapeRunHistoryService).record(recorded.capture());
+        ScrapeRunStatus run = recorded.getValue();
+        assertThat(run.state()).isEqualTo(ScrapeRunStatus.State.SUCCEEDED);
+        assertThat(run.fullRescan()).isFalse();
+        assertThat(run.finishedAt()).isNotNull();
+        assertThat(run.total().newJobs()).isEqualTo(4);
+        assertThat(run.criteria()).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void tick_WhenRefreshThrows_ShouldRecordAFailedRun() {
+        // Given
+        givenCriteriaIds(1L);
+        when(jobScrapingService.ingestSelected(any(), any())).thenThrow(new IllegalStateException("db down"));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        scheduler.tick();
+
+        // Then
+        ArgumentCaptor<ScrapeRunStatus> recorded = ArgumentCaptor.forClass(ScrapeRunStatus.class);
+        verify(scrapeRunHistoryService).record(recorded.capture());
+        assertThat(recorded.getValue().state()).isEqualTo(ScrapeRunStatus.State.FAILED);
+        assertThat(recorded.getValue().error()).isEqualTo("db down");
+    }
+
+    @Test
+    void tick_ShouldCapRefreshesPerTick() {
+        // Given
+        givenCriteriaIds(1L, 2L, 3L);
+        when(jobScrapingService.ingestSelected(any(), any())).thenReturn(ScrapeReport.empty());
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(2), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        int first = scheduler.tick();
+        int second = scheduler.tick();
+
+        // Then
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+    }
+
+    @Test
+    void sync_ShouldForgetDeletedCriteria() {
+        // Given
+        givenCriteriaIds(1L, 2L);
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.sync(Set.of(1L, 2L), START);
+
+        // When
+        jdbcTemplate.update("DELETE FROM search_criteria WHERE id = 1", Map.of());
+        scheduler.sync(Set.of(2L), START.plus(Duration.ofMinutes(10)));
+
+        // Then
+        assertThat(scheduler.snapshot()).extracting(AdaptiveRefreshScheduler.Snapshot::criteriaId).containsExactly(2L);
+        verify(jobScrapingService, never()).ingestSelected(any(), any());
+    }
+
+    @Test
+    void tick_ShouldKeepTheScheduleAcrossRestarts() {
+        // Given
+        givenCriteriaIds(1L);
+        givenNewJobs(Map.of(1L, 20L));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+        scheduler.tick();
+
+        // When
+        AdaptiveRefreshScheduler restarted = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        int refreshed = restarted.tick();
+
+        // Then
+        assertThat(refreshed).isZero();
+        assertThat(restarted.snapshot()).isEqualTo(scheduler.snapshot());
+        assertThat(interval(restarted, 1L)).isEqualTo(Duration.ofMinutes(90));
+    }
+
+    @Test
+    void tick_WhilePairsAreClaimedByAnotherNode_ShouldSkipThem() {
+        // Given
+        givenCriteriaIds(1L);
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+        transactionOperations.execute(status -> refreshScheduleRepository.claimDue(Set.of(Platform.LINKEDIN), 50,
+                LocalDateTime.ofInstant(clock.instant(), ZoneOffset.UTC),
+                LocalDateTime.ofInstant(clock.instant().plus(Duration.ofHours(1)), ZoneOffset.UTC)));
+
+        // When
+        int refreshed = scheduler.tick();
+
+        // Then
+        assertThat(refreshed).isZero();
+        verify(jobScrapingService, never()).ingestSelected(any(), any());
+    }
+
+    @Test
+    void tick_WithWorkQueueEnabled_ShouldEnqueueDuePairsAndAdaptFromTheirTasks() {
+        // Given
+        givenCriteriaIds(1L, 2L);
+        ScrapePlan plan = new ScrapePlan(2, 2, List.of(), Map.of());
+        when(scrapeWorker.isEnabled()).thenReturn(true);
+        when(jobScrapingService.planSelected(Map.of(1L, EnumSet.of(Platform.LINKEDIN), 2L, EnumSet.of(Platform.LINKEDIN)))).thenReturn(plan);
+        when(scrapeWorker.run(any(), eq(plan), eq(false), any())).thenReturn(new ScrapeReport(2, 2, 1, 20, 20, 2, 0));
+        when(scrapeWorker.tasks(any())).thenReturn(List.of(
+                task("1", ScrapeTask.Status.COMPLETED, 20),
+                task("2", ScrapeTask.Status.FAILED, 0)));
+        AdaptiveRefreshScheduler scheduler = scheduler(properties(50), EnumSet.of(Platform.LINKEDIN));
+        scheduler.tick();
+        clock.advance(Duration.ofMinutes(30));
+
+        // When
+        int refreshed = scheduler.tick();
+
+        // Then
+        assertThat(refreshed).isEqualTo(2);
+        assertThat(interval(scheduler, 1L)).isEqualTo(Duration.ofMinutes(90));
+        assertThat(interval(scheduler, 2L)).isEqualTo(Duration.ofHours(6));
+        assertThat(snapshot(scheduler, 2L).nextDueAt()).isEqualTo(clock.instant().plus(Duration.ofHours(1)));
+        verify(jobScrapingService, never()).ingestSelected(any(), any());
+        verify(scrapeRunHistoryService).record(any());
+    }
+
+    private void givenNewJobs(Map<Long, Long> newJobsByCriteria) {
+        when(jobScrapingService.ingestSelected(any(), any())).thenAnswer(invocation -> {
+            Map<Long, Set<Platform>> selection = invocation.getArgument(0);
+            ScrapeListener listener = invocation.getArgument(1);
+            selection.forEach((criteriaId, platforms) -> platforms.forEach(platform -> {
+                ScrapePlan.PlannedQuery planned = new ScrapePlan.PlannedQuery(
+                        ScrapeQuery.of(platform, "keyword-" + criteriaId, "paris"), List.of(criteriaId));
+                long newJobs = newJobsByCriteria.getOrDefault(criteriaId, 0L);
+                listener.onTaskFinished(ScrapeTaskResult.completed(planned, newJobs, newJobs, List.of()));
+            }));
+            return ScrapeReport.empty();
+        });
+    }
+
+    private void givenCriteriaIds(Long... ids) {
+        for (Long id: ids) {
+            jdbcTemplate.update("INSERT INTO search_criteria (id, name, created_at) VALUES (:id, 'criteria', CURRENT_TIMESTAMP)",
+                    Map.of("id", id));
+        }
+        lenient().when(searchCriteriaRepository.findAllIds(any(Pageable.class))).thenReturn(new SliceImpl<>(List.of(ids)));
+    }
+
+    private static ScrapeTask task(String criteriaIds, ScrapeTask.Status status, long newJobs) {
+        return ScrapeTask.builder()
+                .platform(Platform.LINKEDIN)
+                .keyword("keyword-" + criteriaIds)
+                .location("paris")
+                .criteriaIds(criteriaIds)
+                .status(status)
+                .newJobs(newJobs)
+                .build();
+    }
+
+    private static Duration interval(AdaptiveRefreshScheduler scheduler, Long criteriaId) {
+        return snapshot(scheduler, criteriaId).interval();
+    }
+
+    private static AdaptiveRefreshScheduler.Snapshot snapshot(AdaptiveRefreshScheduler scheduler, Long criteriaId) {
+        return scheduler.snapshot().stream()
+                .filter(snapshot -> snapshot.criteriaId().equals(criteriaId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private AdaptiveRefreshScheduler scheduler(RefreshScheduleProperties properties, Set<Platform> platforms) {
+        return new AdaptiveRefreshScheduler(properties, jobScrapingService, scrapeWorker, scrapeRunHistoryService,
+                searchCriteriaRepository, refreshScheduleRepository, transactionOperations, platforms, clock, MIDPOINT);
+    }
+
+    private static RefreshScheduleProperties properties(int maxRefreshesPerTick) {
+        return new RefreshScheduleProperties(true, Duration.ofHours(1), Duration.ofHours(24), Duration.ofHours(6),
+                5, 0.3, 0.1, Duration.ofMinutes(1), maxRefreshesPerTick, Duration.ofMinutes(10));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapingConcurrencyProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.JobScraperService;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrentScrapeExecutorTest {
+
+    @Mock
+    private JobScraperService linkedInScraper;
+
+    @Mock
+    private JobScraperService indeedScraper;
+
+    @Test
+    void execute_ShouldReturnResultsInPlannedOrder() {
+        // Given
+        ScrapePlan.PlannedQuery linkedInJava = query(Platform.LINKEDIN, "Java", 1L);
+        ScrapePlan.PlannedQuery indeedJava = query(Platform.INDEED, "Java", 1L);
+        ScrapePlan.PlannedQuery linkedInPython = query(Platform.LINKEDIN, "Python", 2L);
+        ScrapePlan.PlannedQuery indeedPython = query(Platform.INDEED, "Python", 2L);
+        Job job1 = job("ext-1");
+        Job job2 = job("ext-2");
+
+        when(linkedInScraper.isAvailable()).thenReturn(true);
+        when(linkedInScraper.fetch(linkedInJava.query())).thenReturn(Flux.just(job1));
+        when(linkedInScraper.fetch(linkedInPython.query())).thenReturn(Flux.just(job2));
+        when(indeedScraper.isAvailable()).thenReturn(false);
+
+        ConcurrentScrapeExecutor executor = new ConcurrentScrapeExecutor(properties(4, Map.of(), Duration.ofSeconds(5)));
+
+        // When
+        List<ScrapeTaskResult> results = executor.execute(List.of(linkedInJava, indeedJava, linkedInPython, indeedPython),
+                scrapers(), ConcurrentScrapeExecutorTest::scrape);
+
+        // Then
+        assertThat(results).extracting(ScrapeTaskResult::status).containsExactly(
+                ScrapeTaskResult.Status.COMPLETED, ScrapeTaskResult.Status.UNAVAILABLE,
+                ScrapeTaskResult.Status.COMPLETED, ScrapeTaskResult.Status.UNAVAILABLE);
+        assertThat(results.get(0).newJobs()).containsExactly(job1);
+        assertThat(results.get(2).newJobs()).containsExactly(job2);
+    }
+
+    @Test
+    void execute_WhenScraperHangs_ShouldTimeOutWithoutBlockingOtherPlatform() {
+        // Given
+        ScrapePlan.PlannedQuery linkedIn = query(Platform.LINKEDIN, "Java", 1L);
+        ScrapePlan.PlannedQuery indeed = query(Platform.INDEED, "Java", 1L);
+        Job job = job("ext-1");
+
+        when(linkedInScraper.isAvailable()).thenReturn(true);
+        when(linkedInScraper.fetch(any())).thenAnswer(invocation -> {
+            new CountDownLatch(1).await();
+            return Flux.empty();
+        });
+        when(indeedScraper.isAvailable()).thenReturn(true);
+        when(indeedScraper.fetch(indeed.query())).thenReturn(Flux.just(job));
+
+        ConcurrentScrapeExecutor executor = new ConcurrentScrapeExecutor(properties(4, Map.of(), Duration.ofMillis(200)));
+
+        // When
+        List<ScrapeTaskResult> results = executor.execute(List.of(linkedIn, indeed), scrapers(), ConcurrentScrapeExecutorTest::scrape);
+
+        // Then
+        assertThat(results.get(0).status()).isEqualTo(ScrapeTaskResult.Status.TIMED_OUT);
+        assertThat(results.get(1).status()).isEqualTo(ScrapeTaskResult.Status.COMPLETED);
+        assertThat(results.get(1).newJobs()).containsExactly(job);
+    }
+
+    @Test
+    void execute_ShouldNotExceedPlatformParallelism() {
+        // Given
+        List<ScrapePlan.PlannedQuery> queries = List.of(query(Platform.LINKEDIN, "a", 1L), query(Platform.LINKEDIN, "b", 2L),
+                query(Platform.LINKEDIN, "c", 3L), query(Platform.LINKEDIN, "d", 4L));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        when(linkedInScraper.isAvailable()).thenReturn(true);
+        when(linkedInScraper.fetch(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            TimeUnit.MILLISECONDS.sleep(50);
+            inFlight.decrementAndGet();
+            return Flux.empty();
+        });
+
+        ConcurrentScrapeExecutor executor = new ConcurrentScrapeExecutor(
+                properties(4, Map.of(Platform.LINKEDIN, 1), Duration.ofSeconds(5)));
+
+        // When
+        List<ScrapeTaskResult> results = executor.execute(queries, Map.of(Platform.LINKEDIN, linkedInScraper), ConcurrentScrapeExecutorTest::scrape);
+
+        // Then
+        assertThat(results).allMatch(result -> result.status() == ScrapeTaskResult.Status.COMPLETED);
+        assertThat(maxInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WhenScraperThrows_ShouldReportFailure() {
+        // Given
+        ScrapePlan.PlannedQuery query = query(Platform.LINKEDIN, "Java", 1L);
+        when(linkedInScraper.isAvailable()).thenReturn(true);
+        when(linkedInScraper.fetch(query.query())).thenThrow(new IllegalStateException("boom"));
+
+        ConcurrentScrapeExecutor executor = new ConcurrentScrapeExecutor(properties(4, Map.of(), Duration.ofSeconds(5)));
+
+        // When
+        List<ScrapeTaskResult> results = executor.execute(List.of(query), Map.of(Platform.LINKEDIN, linkedInScraper), ConcurrentScrapeExecutorTest::scrape);
+
+        // Then
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.status()).isEqualTo(ScrapeTaskResult.Status.FAILED);
+            assertThat(result.error()).isEqualTo("boom");
+        });
+    }
+
+    @Test
+    void execute_ShouldPullQueriesLazily() {
+        // Given
+        AtomicInteger pulled = new AtomicInteger();
+        Iterable<ScrapePlan.PlannedQuery> queries = () -> List.of(query(Platform.LINKEDIN, "a", 1L), query(Platform.LINKEDIN, "b", 2L)).stream()
+                .peek(query -> pulled.incrementAndGet())
+                .iterator();
+        when(linkedInScraper.isAvailable()).thenReturn(true);
+        when(linkedInScraper.fetch(any())).thenReturn(Flux.empty());
+
+        ConcurrentScrapeExecutor executor = new ConcurrentScrapeExecutor(properties(4, Map.of(), Duration.ofSeconds(5)));
+
+        // When
+        List<ScrapeTaskResult> results = executor.execute(queries, Map.of(Platform.LINKEDIN, linkedInScraper), ConcurrentScrapeExecutorTest::scrape);
+
+        // Then
+        assertThat(results).extracting(ScrapeTaskResult::criteriaIds).containsExactly(List.of(1L), List.of(2L));
+        assertThat(pulled.get()).isEqualTo(2);
+    }
+
+    private Map<Platform, JobScraperService> scrapers() {
+        return Map.of(Platform.LINKEDIN, linkedInScraper, Platform.INDEED, indeedScraper);
+    }
+
+    private static ScrapeTaskResult scrape(ScrapePlan.PlannedQuery query, JobScraperService scraper) {
+        if (!scraper.isAvailable()) {
+            return ScrapeTaskResult.unavailable(query);
+        }
+        List<Job> jobs = scraper.fetch(query.query()).collectList().block();
+        return ScrapeTaskResult.completed(query, jobs.size(), jobs.size(), jobs);
+    }
+
+    private static ScrapingConcurrencyProperties properties(int parallelism, Map<Platform, Integer> perPlatform, Duration taskTimeout) {
+        return new ScrapingConcurrencyProperties(true, parallelism, perPlatform, taskTimeout, Duration.ofSeconds(10));
+    }
+
+    private static ScrapePlan.PlannedQuery query(Platform platform, String keyword, Long criteriaId) {
+        return new ScrapePlan.PlannedQuery(ScrapeQuery.of(platform, keyword, "Paris"), List.of(criteriaId));
+    }
+
+    private static Job job(String externalId) {
+        Job job = new Job();
+        job.setExternalId(externalId);
+        return job;
+    }
+}
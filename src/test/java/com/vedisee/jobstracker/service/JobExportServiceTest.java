@@ -0,0 +1,159 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.JobExportProperties;
+import com.vedisee.jobstracker.dto.JobExportFilter;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobExportServiceTest {
+
+    private static final JobExportFilter FILTER = new JobExportFilter(Platform.LINKEDIN, null, null, null);
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    private JobExportService jobExportService;
+
+    @BeforeEach
+    void setUp() {
+        jobExportService = new JobExportService(new JobExportProperties(250), jobRepository, objectMapper, transactionManager);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void export_AsNdjson_ShouldWriteOneJsonDocumentPerLineWithinAReadOnlyTransaction() throws IOException {
+        // Given
+        givenJobs(job(1L, "Java Developer"), job(2L, "Kotlin Developer"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = jobExportService.export(FILTER, JobExportFormat.NDJSON, out);
+
+        // Then
+        assertThat(rows).isEqualTo(2);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("title").asString()).isEqualTo("Java Developer");
+        assertThat(first.has("contentHash")).isFalse();
+        assertThat(objectMapper.readTree(lines.get(1)).get("title").asString()).isEqualTo("Kotlin Developer");
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void export_AsCsv_ShouldWriteAHeaderAndQuoteFieldsHoldingSeparators() throws IOException {
+        // Given
+        Job job = job(7L, "Developer, \"Senior\"");
+        job.setDescription("Line one\nLine two");
+        job.setClusterId(3L);
+        givenJobs(job);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        jobExportService.export(FILTER, JobExportFormat.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(JobExportService.CSV_HEADER + "\r\n"
+                + "7,ext-7,LINKEDIN,\"Developer, \"\"Senior\"\"\",Tech Corp,Remote,http://example.com/7,"
+                + "\"Line one\nLine two\",2026-01-10T09:30,2026-01-11T10:00,3\r\n");
+    }
+
+    @Test
+    void export_WithNoMatchingJobs_ShouldWriteOnlyTheCsvHeader() throws IOException {
+        // Given
+        givenJobs();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = jobExportService.export(FILTER, JobExportFormat.CSV, out);
+
+        // Then
+        assertThat(rows).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(JobExportService.CSV_HEADER + "\r\n");
+    }
+
+    @Test
+    void export_WhenTheClientGoesAway_ShouldRollBackAndRethrow() {
+        // Given
+        Job job = job(1L, "Java Developer");
+        job.setDescription("x".repeat(20_000));
+        givenJobs(job);
+        OutputStream closed = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When
+        // Then
+        assertThatThrownBy(() -> jobExportService.export(FILTER, JobExportFormat.NDJSON, closed))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        verify(transactionManager).rollback(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenJobs(Job... jobs) {
+        doAnswer(invocation -> {
+            Consumer<Job> consumer = invocation.getArgument(2);
+            List.of(jobs).forEach(consumer);
+            return null;
+        }).when(jobRepository).forEachJob(eq(FILTER), eq(250), any(Consumer.class));
+    }
+
+    private static Job job(Long id, String title) {
+        return Job.builder()
+                .id(id)
+                .externalId("ext-" + id)
+                .title(title)
+                .company("Tech Corp")
+                .description("Great job")
+                .platform(Platform.LINKEDIN)
+                .location("Remote")
+                .url("http://example.com/" + id)
+                .createdAt(LocalDateTime.of(2026, 1, 10, 9, 30))
+                .updatedAt(LocalDateTime.of(2026, 1, 11, 10, 0))
+                .build();
+    }
+}
@@ -0,0 +1,242 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.KnownExternalIdProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.JobContentHash;
+import com.vedisee.jobstracker.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobIngestWriterTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    private final AtomicInteger transactions = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KnownExternalIdFilter knownExternalIdFilter;
+
+    private JobIngestWriter jobIngestWriter;
+
+    @BeforeEach
+    void setUp() {
+        TransactionOperations countingTransactions = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                transactions.incrementAndGet();
+                TransactionStatus status = new SimpleTransactionStatus();
+                return action.doInTransaction(status);
+            }
+        };
+        knownExternalIdFilter = new KnownExternalIdFilter(new KnownExternalIdProperties(true, 1000, 0.01, DataSize.ofKilobytes(1), 100, Duration.ofMinutes(10)),
+                jobRepository, TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+        jobIngestWriter = new JobIngestWriter(jobRepository, countingTransactions, knownExternalIdFilter,
+                new ScrapePipelineMetrics(meterRegistry), nearDuplicateDetector);
+    }
+
+    @Test
+    void saveNewJobs_ShouldWriteEachChunkInItsOwnTransaction() {
+        // Given
+        Job job1 = job("ext-1");
+        Job job2 = job("ext-2");
+        when(jobRepository.findContentHashes(anyList())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> first = jobIngestWriter.saveNewJobs(List.of(job1));
+        List<Job> second = jobIngestWriter.saveNewJobs(List.of(job2));
+
+        // Then
+        assertThat(first).containsExactly(job1);
+        assertThat(second).containsExactly(job2);
+        assertThat(transactions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void saveNewJobs_ShouldSkipKnownAndDuplicateExternalIds() {
+        // Given
+        Job job1 = job("ext-1");
+        Job job1Again = job("ext-1");
+        Job job2 = job("ext-2");
+        when(jobRepository.findContentHashes(List.of("ext-1", "ext-2"))).thenReturn(unchanged(job2));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(job1, job1Again, job2));
+
+        // Then
+        assertThat(saved).containsExactly(job1);
+        verify(jobRepository).insertIgnoringDuplicates(List.of(job1));
+    }
+
+    @Test
+    void saveNewJobs_WhenKnownIdsLoaded_ShouldOnlyLookUpPossiblyKnownIds() {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("ext-1");
+            return null;
+        }).when(jobRepository).forEachExternalId(anyInt(), any());
+        knownExternalIdFilter.rebuild();
+        Job job1 = job("ext-1");
+        Job job2 = job("ext-2");
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(unchanged(job1));
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(job1, job2));
+
+        // Then
+        assertThat(saved).containsExactly(job2);
+        verify(jobRepository).findContentHashes(List.of("ext-1"));
+        assertThat(knownExternalIdFilter.mightContain("ext-2")).isTrue();
+    }
+
+    @Test
+    void saveNewJobs_WhenNoIdCanBeKnown_ShouldSkipLookup() {
+        // Given
+        knownExternalIdFilter.rebuild();
+        Job job1 = job("ext-1");
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(job1));
+
+        // Then
+        assertThat(saved).containsExactly(job1);
+        verify(jobRepository, never()).findContentHashes(anyCollection());
+    }
+
+    @Test
+    void saveNewJobs_WithCallback_ShouldRunItInTheChunkTransaction() {
+        // Given
+        Job job1 = job("ext-1");
+        AtomicInteger transactionsSeenByCallback = new AtomicInteger();
+        when(jobRepository.findContentHashes(anyList())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(job1), () -> transactionsSeenByCallback.set(transactions.get()));
+
+        // Then
+        assertThat(saved).containsExactly(job1);
+        assertThat(transactions.get()).isEqualTo(1);
+        assertThat(transactionsSeenByCallback.get()).isEqualTo(1);
+        assertThat(stageTimings("persist")).isEqualTo(1);
+        assertThat(stageTimings("watermark")).isEqualTo(1);
+    }
+
+    @Test
+    void saveNewJobs_ShouldRewriteOnlyKnownJobsWhoseContentChanged() {
+        // Given
+        Job edited = job("ext-1");
+        Job untouched = job("ext-2");
+        Map<String, Long> storedHashes = unchanged(edited, untouched);
+        edited.setTitle("Senior Java Developer");
+        when(jobRepository.findContentHashes(anyList())).thenReturn(storedHashes);
+        when(jobRepository.updateChangedContent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(edited, untouched));
+
+        // Then
+        assertThat(saved).isEmpty();
+        assertThat(edited.getContentHash()).isEqualTo(JobContentHash.of(edited));
+        verify(jobRepository).updateChangedContent(List.of(edited));
+        verify(jobRepository, never()).insertIgnoringDuplicates(anyList());
+        verify(nearDuplicateDetector).refile(List.of(edited));
+    }
+
+    @Test
+    void saveNewJobs_WhenAnIdWasInsertedBehindTheFiltersBack_ShouldCompareItsContentAndLearnIt() {
+        // Given
+        knownExternalIdFilter.rebuild();
+        Job edited = job("ext-1");
+        Map<String, Long> storedHashes = unchanged(edited);
+        edited.setTitle("Senior Java Developer");
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenReturn(List.of());
+        when(jobRepository.findContentHashes(List.of("ext-1"))).thenReturn(storedHashes);
+        when(jobRepository.updateChangedContent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of(edited));
+
+        // Then
+        assertThat(saved).isEmpty();
+        verify(jobRepository).updateChangedContent(List.of(edited));
+        verify(nearDuplicateDetector).refile(List.of(edited));
+        assertThat(knownExternalIdFilter.mightContain("ext-1")).isTrue();
+        assertThat(knownExternalIdFilter.observedFalseNegativeRate()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("scraper.pipeline.jobs").tag("outcome", "updated").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void saveNewJobs_ShouldClusterOnlyInsertedJobs() {
+        // Given
+        Job job1 = job("ext-1");
+        Job job2 = job("ext-2");
+        when(jobRepository.findContentHashes(anyList())).thenReturn(Map.of());
+        when(jobRepository.insertIgnoringDuplicates(anyList())).thenReturn(List.of(job2));
+
+        // When
+        jobIngestWriter.saveNewJobs(List.of(job1, job2));
+
+        // Then
+        verify(nearDuplicateDetector).link(List.of(job2));
+    }
+
+    @Test
+    void saveNewJobs_WithEmptyChunk_ShouldNotOpenTransaction() {
+        // When
+        List<Job> saved = jobIngestWriter.saveNewJobs(List.of());
+
+        // Then
+        assertThat(saved).isEmpty();
+        assertThat(transactions.get()).isZero();
+        verifyNoInteractions(jobRepository);
+    }
+
+    private long stageTimings(String stage) {
+        return meterRegistry.get("scraper.pipeline.stage.duration").tag("stage", stage).timer().count();
+    }
+
+    private static Job job(String externalId) {
+        Job job = new Job();
+        job.setExternalId(externalId);
+        return job;
+    }
+
+    private static Map<String, Long> unchanged(Job... jobs) {
+        return Arrays.stream(jobs).collect(Collectors.toMap(Job::getExternalId, JobContentHash::of));
+    }
+}
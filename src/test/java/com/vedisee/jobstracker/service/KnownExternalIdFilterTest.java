@@ -0,0 +1,213 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.KnownExternalIdProperties;
+import com.vedisee.jobstracker.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KnownExternalIdFilterTest {
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MutableClock clock;
+
+    private KnownExternalIdFilter knownExternalIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        knownExternalIdFilter = filter(DataSize.ofKilobytes(64));
+    }
+
+    @Test
+    void mightContain_BeforeFirstLoad_ShouldTreatEveryIdAsPossiblyKnown() {
+        assertThat(knownExternalIdFilter.isReady()).isFalse();
+        assertThat(knownExternalIdFilter.mightContain("anything")).isTrue();
+    }
+
+    @Test
+    void rebuild_ShouldLoadEveryExternalIdFromTheJobTable() {
+        // Given
+        givenJobTable(IntStream.range(0, 1000).mapToObj(i -> "ext-" + i).toList());
+
+        // When
+        boolean rebuilt = knownExternalIdFilter.rebuild();
+
+        // Then
+        assertThat(rebuilt).isTrue();
+        assertThat(IntStream.range(0, 1000)).allMatch(i -> knownExternalIdFilter.mightContain("ext-" + i));
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> knownExternalIdFilter.mightContain("new-" + i)).count();
+        assertThat(falsePositives).isLessThan(200);
+    }
+
+    @Test
+    void rebuild_WhenLoadFails_ShouldKeepCurrentFilter() {
+        // Given
+        givenJobTable(List.of("ext-1"));
+        knownExternalIdFilter.rebuild();
+        doThrow(new IllegalStateException("db down")).when(jobRepository).forEachExternalId(anyInt(), any());
+
+        // When
+        boolean rebuilt = knownExternalIdFilter.rebuild();
+
+        // Then
+        assertThat(rebuilt).isFalse();
+        assertThat(knownExternalIdFilter.mightContain("ext-1")).isTrue();
+    }
+
+    @Test
+    void addAll_DuringRebuild_ShouldReplayIdsIntoTheNewFilter() {
+        // Given
+        doAnswer(invocation -> {
+            knownExternalIdFilter.addAll(List.of("inserted-meanwhile"));
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("ext-1");
+            return null;
+        }).when(jobRepository).forEachExternalId(anyInt(), any());
+
+        // When
+        knownExternalIdFilter.rebuild();
+
+        // Then
+        assertThat(knownExternalIdFilter.mightContain("inserted-meanwhile")).isTrue();
+        assertThat(knownExternalIdFilter.mightContain("ext-1")).isTrue();
+        assertThat(knownExternalIdFilter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void recordLookups_WhenDriftPersists_ShouldRebuildAtMostOncePerMinInterval() {
+        // Given
+        givenJobTable(List.of("ext-1"));
+        knownExternalIdFilter.rebuild();
+
+        // When
+        knownExternalIdFilter.recordLookups(0, 2_000, 0);
+
+        // Then
+        verify(jobRepository, after(200).times(1)).forEachExternalId(anyInt(), any());
+
+        // When
+        clock.advance(Duration.ofMinutes(11));
+        knownExternalIdFilter.recordLookups(0, 2_000, 0);
+
+        // Then
+        verify(jobRepository, timeout(2_000).times(2)).forEachExternalId(anyInt(), any());
+    }
+
+    @Test
+    void recordLookups_WhenTheCappedFilterCannotReachTheTargetRate_ShouldNotRebuild() {
+        // Given
+        knownExternalIdFilter = filter(DataSize.ofBytes(64));
+        givenJobTable(IntStream.range(0, 1000).mapToObj(i -> "ext-" + i).toList());
+        knownExternalIdFilter.rebuild();
+        clock.advance(Duration.ofMinutes(11));
+        long falsePositives = IntStream.range(0, 2_000).filter(i -> knownExternalIdFilter.mightContain("new-" + i)).count();
+
+        // When
+        knownExternalIdFilter.recordLookups(2_000 - falsePositives, falsePositives, 0);
+
+        // Then
+        assertThat(knownExternalIdFilter.observedFalsePositiveRate()).isGreaterThan(0.02);
+        verify(jobRepository, after(200).times(1)).forEachExternalId(anyInt(), any());
+    }
+
+    @Test
+    void recordFalseNegatives_WhenOtherNodesKeepInsertingBehindTheFilter_ShouldRebuild() {
+        // Given
+        givenJobTable(List.of("ext-1"));
+        knownExternalIdFilter.rebuild();
+        clock.advance(Duration.ofMinutes(11));
+        knownExternalIdFilter.recordLookups(2_000, 0, 0);
+
+        // When
+        knownExternalIdFilter.recordFalseNegatives(100);
+
+        // Then
+        assertThat(meterRegistry.get("job.ingest.known.ids.false.negatives").counter().count()).isEqualTo(100);
+        verify(jobRepository, timeout(2_000).times(2)).forEachExternalId(anyInt(), any());
+    }
+
+    @Test
+    void recordLookups_ShouldReportObservedFalsePositiveRate() {
+        // Given
+        givenJobTable(List.of());
+        knownExternalIdFilter.rebuild();
+
+        // When
+        knownExternalIdFilter.recordLookups(90, 10, 5);
+
+        // Then
+        assertThat(knownExternalIdFilter.observedFalsePositiveRate()).isEqualTo(5.0 / 95);
+        assertThat(meterRegistry.get("job.ingest.known.ids.false.positive.rate").gauge().value()).isEqualTo(5.0 / 95);
+        assertThat(meterRegistry.get("job.ingest.known.ids.skipped.lookups").counter().count()).isEqualTo(90);
+    }
+
+    private KnownExternalIdFilter filter(DataSize maxSize) {
+        return new KnownExternalIdFilter(new KnownExternalIdProperties(true, 10_000, 0.01, maxSize, 100, Duration.ofMinutes(10)),
+                jobRepository, TransactionOperations.withoutTransaction(), meterRegistry, clock);
+    }
+
+    private void givenJobTable(List<String> externalIds) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            externalIds.forEach(consumer);
+            return null;
+        }).when(jobRepository).forEachExternalId(anyInt(), any());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.NearDuplicateProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearDuplicateDetectorTest {
+
+    private static final String DESCRIPTION = "We are looking for a backend engineer to design, build and operate the "
+            + "Java services behind our payment platform. You will work with Spring Boot, PostgreSQL and Kafka, "
+            + "mentor junior developers and own features from design to production.";
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @BeforeEach
+    void setUp() {
+        nearDuplicateDetector = new NearDuplicateDetector(jobRepository, new NearDuplicateProperties(true, 3, 16, 4, 0.7, 50));
+    }
+
+    @Test
+    void link_ShouldClusterTheSamePostingFromAnotherPlatformWithinAChunk() {
+        // Given
+        Job linkedIn = job(1L, Platform.LINKEDIN, "Senior Java Developer", DESCRIPTION);
+        Job indeed = job(2L, Platform.INDEED, "Senior Java Developer (m/f)", DESCRIPTION + " Apply now!");
+        Job other = job(3L, Platform.INDEED, "Data Analyst", "Build dashboards and reports for the finance team with SQL.");
+
+        // When
+        int linked = nearDuplicateDetector.link(List.of(linkedIn, indeed, other));
+
+        // Then
+        assertThat(linked).isEqualTo(1);
+        assertThat(linkedIn.getClusterId()).isNull();
+        assertThat(indeed.getClusterId()).isEqualTo(1L);
+        assertThat(other.getClusterId()).isNull();
+        verify(jobRepository).assignClusters(Map.of(2L, 1L));
+        verify(jobRepository).insertLshBuckets(argThat(buckets -> buckets.keySet().containsAll(List.of(1L, 2L, 3L))
+                && buckets.values().stream().allMatch(jobBuckets -> jobBuckets.length == 16)));
+    }
+
+    @Test
+    void link_ShouldJoinTheClusterOfAStoredJobSharingABucket() {
+        // Given
+        Job canonical = job(1L, Platform.LINKEDIN, "Senior Java Developer", DESCRIPTION);
+        Job stored = job(5L, Platform.GOOGLE_JOBS, "Senior Java Developer", DESCRIPTION);
+        stored.setClusterId(canonical.getId());
+        Job indeed = job(9L, Platform.INDEED, "Senior Java Developer", DESCRIPTION);
+        Map<Long, List<Long>> storedBuckets = Arrays.stream(bucketsOf(stored)).boxed()
+                .collect(Collectors.toMap(bucket -> bucket, bucket -> List.of(stored.getId()), (first, second) -> first));
+        when(jobRepository.findJobIdsByLshBuckets(anyCollection(), eq(50))).thenReturn(storedBuckets);
+        when(jobRepository.findAllById(any())).thenReturn(List.of(stored));
+
+        // When
+        int linked = nearDuplicateDetector.link(List.of(indeed));
+
+        // Then
+        assertThat(linked).isEqualTo(1);
+        assertThat(indeed.getClusterId()).isEqualTo(canonical.getId());
+        verify(jobRepository).assignClusters(Map.of(9L, 1L));
+    }
+
+    @Test
+    void link_WhenCandidateIsNotSimilarEnough_ShouldNotCluster() {
+        // Given
+        Job stored = job(1L, Platform.LINKEDIN, "Senior Java Developer", DESCRIPTION);
+        Job rewritten = job(2L, Platform.INDEED, "Senior Java Developer", "Join our team in Lyon to build mobile apps.");
+        when(jobRepository.findJobIdsByLshBuckets(anyCollection(), eq(50)))
+                .thenReturn(Map.of(bucketsOf(rewritten)[0], List.of(stored.getId())));
+        when(jobRepository.findAllById(any())).thenReturn(List.of(stored));
+
+        // When
+        int linked = nearDuplicateDetector.link(List.of(rewritten));
+
+        // Then
+        assertThat(linked).isZero();
+        assertThat(rewritten.getClusterId()).isNull();
+        verify(jobRepository).assignClusters(Map.of());
+    }
+
+    @Test
+    void refile_ShouldReplaceTheBucketsOfRewrittenJobs() {
+        // Given
+        Job rewritten = job(4L, Platform.LINKEDIN, "Senior Java Developer", DESCRIPTION);
+
+        // When
+        nearDuplicateDetector.refile(List.of(rewritten));
+
+        // Then
+        InOrder inOrder = inOrder(jobRepository);
+        inOrder.verify(jobRepository).deleteLshBuckets(Set.of(4L));
+        inOrder.verify(jobRepository).insertLshBuckets(argThat(buckets -> buckets.size() == 1
+                && Arrays.equals(buckets.get(4L), bucketsOf(rewritten))));
+        verify(jobRepository, never()).assignClusters(any());
+    }
+
+    @Test
+    void link_WhenDisabled_ShouldNotTouchTheRepository() {
+        // Given
+        nearDuplicateDetector = new NearDuplicateDetector(jobRepository, new NearDuplicateProperties(false, 3, 16, 4, 0.7, 50));
+
+        // When
+        int linked = nearDuplicateDetector.link(List.of(job(1L, Platform.LINKEDIN, "Java Developer", DESCRIPTION)));
+
+        // Then
+        assertThat(linked).isZero();
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void similarity_ShouldBeTheJaccardIndexOfTheShingles() {
+        // Given
+        MinHash minHash = new MinHash(1, 16, 4);
+        long[] first = minHash.shingles(Job.builder().title("A, b c").build());
+        long[] second = minHash.shingles(Job.builder().title("b c d").build());
+
+        // When
+        // Then
+        assertThat(first).hasSize(3);
+        assertThat(MinHash.similarity(first, second)).isEqualTo(0.5);
+        assertThat(minHash.buckets(first)).isEqualTo(minHash.buckets(first.clone()));
+    }
+
+    private static long[] bucketsOf(Job job) {
+        MinHash minHash = new MinHash(3, 16, 4);
+        return minHash.buckets(minHash.shingles(job));
+    }
+
+    private static Job job(Long id, Platform platform, String title, String description) {
+        return Job.builder()
+                .id(id)
+                .externalId(platform.name() + "-" + id)
+                .title(title)
+                .company("Acme Payments")
+                .location("Paris")
+                .description(description)
+                .url("https://example.com/" + id)
+                .platform(platform)
+                .build();
+    }
+}
@@ -0,0 +1,236 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.PlatformHealthProperties;
+import com.vedisee.jobstracker.model.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlatformHealthRegistryTest {
+
+    private static final String SITE = Platform.INDEED.getUrl();
+
+    private MutableClock clock;
+    private PlatformHealthRegistry registry;
+    private AtomicInteger probes;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        registry = new PlatformHealthRegistry(new PlatformHealthProperties(Duration.ofMinutes(1), 3, Duration.ofMinutes(5)), clock);
+        probes = new AtomicInteger();
+    }
+
+    @Test
+    void isAvailable_ShouldReuseCachedResultWithinTtl() {
+        // Given
+        registry.isAvailable(SITE, probe(true));
+
+        // When
+        clock.advance(Duration.ofSeconds(30));
+        boolean available = registry.isAvailable(SITE, probe(true));
+
+        // Then
+        assertThat(available).isTrue();
+        assertThat(probes).hasValue(1);
+    }
+
+    @Test
+    void isAvailable_ShouldProbeAgainOnceTtlExpired() {
+        // Given
+        registry.isAvailable(SITE, probe(true));
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+        boolean available = registry.isAvailable(SITE, probe(false));
+
+        // Then
+        assertThat(available).isFalse();
+        assertThat(probes).hasValue(2);
+        assertThat(registry.snapshot().get(SITE).state()).isEqualTo(PlatformHealthRegistry.State.CLOSED);
+    }
+
+    @Test
+    void isAvailable_ShouldOpenCircuitAfterConsecutiveFailuresAndSkipProbes() {
+        // Given
+        failTimes(3);
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+        boolean available = registry.isAvailable(SITE, probe(true));
+
+        // Then
+        assertThat(available).isFalse();
+        assertThat(probes).hasValue(3);
+        PlatformHealthRegistry.Snapshot snapshot = registry.snapshot().get(SITE);
+        assertThat(snapshot.state()).isEqualTo(PlatformHealthRegistry.State.OPEN);
+        assertThat(snapshot.platform()).isEqualTo("INDEED");
+        assertThat(snapshot.consecutiveFailures()).isEqualTo(3);
+    }
+
+    @Test
+    void isAvailable_ShouldCloseCircuitWhenHalfOpenProbeSucceeds() {
+        // Given
+        failTimes(3);
+        clock.advance(Duration.ofMinutes(6));
+
+        // When
+        boolean available = registry.isAvailable(SITE, probe(true));
+
+        // Then
+        assertThat(available).isTrue();
+        assertThat(probes).hasValue(4);
+        assertThat(registry.snapshot().get(SITE).state()).isEqualTo(PlatformHealthRegistry.State.CLOSED);
+        assertThat(registry.snapshot().get(SITE).consecutiveFailures()).isZero();
+    }
+
+    @Test
+    void isAvailable_ShouldReopenCircuitWhenHalfOpenProbeFails() {
+        // Given
+        failTimes(3);
+        clock.advance(Duration.ofMinutes(6));
+
+        // When
+        boolean available = registry.isAvailable(SITE, probe(false));
+        clock.advance(Duration.ofMinutes(1));
+        boolean availableAfterReopen = registry.isAvailable(SITE, probe(true));
+
+        // Then
+        assertThat(available).isFalse();
+        assertThat(availableAfterReopen).isFalse();
+        assertThat(probes).hasValue(4);
+        assertThat(registry.snapshot().get(SITE).state()).isEqualTo(PlatformHealthRegistry.State.OPEN);
+    }
+
+    @Test
+    void isAvailable_WhenTheHalfOpenProbeThrows_ShouldReopenTheCircuitAndProbeAgainLater() {
+        // Given
+        failTimes(3);
+        clock.advance(Duration.ofMinutes(6));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> registry.isAvailable(SITE, () -> {
+            throw new IllegalStateException("block() interrupted");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(registry.snapshot().get(SITE).state()).isEqualTo(PlatformHealthRegistry.State.OPEN);
+        assertThat(registry.isOpen(SITE)).isTrue();
+
+        clock.advance(Duration.ofMinutes(6));
+        assertThat(registry.isAvailable(SITE, probe(true))).isTrue();
+        assertThat(registry.snapshot().get(SITE).state()).isEqualTo(PlatformHealthRegistry.State.CLOSED);
+    }
+
+    @Test
+    void isAvailable_ShouldLetOnlyOneCallerProbeWhileHalfOpen() {
+        // Given
+        failTimes(3);
+        clock.advance(Duration.ofMinutes(6));
+
+        // When
+        boolean nested = registry.isAvailable(SITE, () -> {
+            probes.incrementAndGet();
+            return registry.isAvailable(SITE, probe(true));
+        });
+
+        // Then
+        assertThat(nested).isFalse();
+        assertThat(probes).hasValue(4);
+    }
+
+    @Test
+    void isAvailable_WhileTheFirstProbeIsInFlight_ShouldWaitForItsResult() throws Exception {
+        // Given
+        CountDownLatch probing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> first = executor.submit(() -> registry.isAvailable(SITE, () -> {
+                probes.incrementAndGet();
+                probing.countDown();
+                awaitQuietly(release);
+                return true;
+            }));
+            assertThat(probing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> registry.isAvailable(SITE, probe(true)));
+            Thread.sleep(100);
+            boolean answeredEarly = second.isDone();
+            release.countDown();
+
+            // Then
+            assertThat(answeredEarly).isFalse();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(probes).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            registry.isAvailable(SITE, probe(false));
+            clock.advance(Duration.ofMinutes(2));
+        }
+    }
+
+    private java.util.function.BooleanSupplier probe(boolean result) {
+        return () -> {
+            probes.incrementAndGet();
+            return result;
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapePlannerProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeQueryPlannerTest {
+
+    private final ScrapeQueryPlanner planner = new ScrapeQueryPlanner(new ScrapePlannerProperties(Map.of()));
+
+    @Test
+    void plan_ShouldMergeNormalizedQueriesAndRouteThemToEveryCriteria() {
+        // Given
+        List<SearchCriteria> criteria = List.of(
+                criteria(1L, Set.of("Java"), Set.of("Paris")),
+                criteria(2L, Set.of(" java "), Set.of("PARIS")),
+                criteria(3L, Set.of("Java", "Kotlin"), Set.of("Paris")));
+
+        // When
+        ScrapePlan plan = planner.plan(criteria, List.of(Platform.LINKEDIN));
+
+        // Then
+        assertThat(plan.criteria()).isEqualTo(3);
+        assertThat(plan.requestedQueries()).isEqualTo(4);
+        assertThat(plan.plannedRequests()).isEqualTo(2);
+        assertThat(plan.queries()).containsExactlyInAnyOrder(
+                new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"), List.of(1L, 2L, 3L)),
+                new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "kotlin", "paris"), List.of(3L)));
+    }
+
+    @Test
+    void plan_WithSelection_ShouldOnlyPlanSelectedCriteriaPlatforms() {
+        // Given
+        List<SearchCriteria> criteria = List.of(criteria(1L, Set.of("Java"), Set.of("Paris")), criteria(2L, Set.of("Java"), Set.of("Paris")));
+
+        // When
+        ScrapePlan plan = planner.plan(criteria, List.of(Platform.LINKEDIN, Platform.INDEED),
+                (searchCriteria, platform) -> searchCriteria.getId() == 1L || platform == Platform.INDEED);
+
+        // Then
+        assertThat(plan.queries()).containsExactlyInAnyOrder(
+                new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"), List.of(1L)),
+                new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.INDEED, "java", "paris"), List.of(1L, 2L)));
+    }
+
+    @Test
+    void plan_ShouldInterleavePlatforms() {
+        // Given
+        List<SearchCriteria> criteria = List.of(criteria(1L, Set.of("Java"), Set.of("Paris")), criteria(2L, Set.of("Go"), Set.of("Lyon")));
+
+        // When
+        ScrapePlan plan = planner.plan(criteria, List.of(Platform.LINKEDIN, Platform.INDEED));
+
+        // Then
+        assertThat(plan.queries()).extracting(ScrapePlan.PlannedQuery::platform)
+                .containsExactly(Platform.LINKEDIN, Platform.INDEED, Platform.LINKEDIN, Platform.INDEED);
+    }
+
+    @Test
+    void plan_WhenOverBudget_ShouldKeepMostRequestedQueries() {
+        // Given
+        List<SearchCriteria> criteria = List.of(
+                criteria(1L, Set.of("Rust"), Set.of("Paris")),
+                criteria(2L, Set.of("Java"), Set.of("Paris")),
+                criteria(3L, Set.of("Java"), Set.of("Paris")));
+
+        // When
+        ScrapePlan plan = planner.plan(criteria, List.of(Platform.LINKEDIN, Platform.INDEED), Map.of(Platform.LINKEDIN, 1));
+
+        // Then
+        assertThat(plan.queries()).extracting(ScrapePlan.PlannedQuery::query).containsExactly(
+                ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"),
+                ScrapeQuery.of(Platform.INDEED, "rust", "paris"),
+                ScrapeQuery.of(Platform.INDEED, "java", "paris"));
+        assertThat(plan.skippedByBudget()).containsExactly(Map.entry(Platform.LINKEDIN, 1));
+        assertThat(plan.skippedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void plan_ShouldIgnoreMissingOrBlankKeywordsAndLocations() {
+        // Given
+        List<SearchCriteria> criteria = List.of(
+                criteria(1L, null, Set.of("Paris")),
+                criteria(2L, Set.of("Java"), null),
+                criteria(3L, Set.of(" "), Set.of("Paris")));
+
+        // When
+        ScrapePlan plan = planner.plan(criteria, List.of(Platform.LINKEDIN));
+
+        // Then
+        assertThat(plan.criteria()).isEqualTo(3);
+        assertThat(plan.queries()).isEmpty();
+    }
+
+    private static SearchCriteria criteria(Long id, Set<String> keywords, Set<String> locations) {
+        return SearchCriteria.builder()
+                .id(id)
+                .name("criteria-" + id)
+                .keywords(keywords)
+                .locations(locations)
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeRunHistory;
+import com.vedisee.jobstracker.model.ScrapeRunStat;
+import com.vedisee.jobstracker.repository.ScrapeRunHistoryRepository;
+import com.vedisee.jobstracker.repository.ScrapeRunStatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeRunHistoryServiceTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T10:00:00Z");
+
+    @Mock
+    private ScrapeRunHistoryRepository scrapeRunHistoryRepository;
+
+    @Mock
+    private ScrapeRunStatRepository scrapeRunStatRepository;
+
+    private ScrapeRunHistoryService scrapeRunHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        scrapeRunHistoryService = new ScrapeRunHistoryService(scrapeRunHistoryRepository, scrapeRunStatRepository,
+                TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void record_ShouldStoreRunWithPlatformAndCriteriaStats() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        ScrapeRunStatus.Progress linkedIn = new ScrapeRunStatus.Progress(2, 1, 1, 10, 4, 4096, 1500, "boom");
+        ScrapeRunStatus.Progress criteria = new ScrapeRunStatus.Progress(1, 1, 0, 10, 4, 4096, 700, null);
+        ScrapeRunStatus run = new ScrapeRunStatus(runId, ScrapeRunStatus.State.SUCCEEDED, false, START, START.plusSeconds(3),
+                linkedIn, Map.of(Platform.LINKEDIN, linkedIn), Map.of(7L, criteria), new ScrapeReport(1, 2, 1, 10, 4, 2, 0), null);
+
+        // When
+        scrapeRunHistoryService.record(run);
+
+        // Then
+        ArgumentCaptor<ScrapeRunHistory> history = ArgumentCaptor.forClass(ScrapeRunHistory.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScrapeRunStat>> stats = ArgumentCaptor.forClass(List.class);
+        verify(scrapeRunHistoryRepository).merge(history.capture(), stats.capture());
+        assertThat(history.getValue().getRunId()).isEqualTo(runId.toString());
+        assertThat(history.getValue().getStartedAt()).isEqualTo(LocalDateTime.of(2026, 1, 1, 10, 0));
+        assertThat(history.getValue().getDurationMs()).isEqualTo(3000);
+        assertThat(history.getValue().getTasks()).isEqualTo(2);
+        assertThat(history.getValue().getDedupHitRatio()).isEqualTo(0.6);
+        assertThat(history.getValue().getBytesDownloaded()).isEqualTo(4096);
+
+        assertThat(stats.getValue()).extracting(ScrapeRunStat::getScope, ScrapeRunStat::getScopeKey, ScrapeRunStat::getDurationMs,
+                        ScrapeRunStat::getFailedTasks, ScrapeRunStat::getLastError)
+                .containsExactly(
+                        tuple(ScrapeRunStat.Scope.PLATFORM, "LINKEDIN", 1500L, 1L, "boom"),
+                        tuple(ScrapeRunStat.Scope.CRITERIA, "7", 700L, 0L, null));
+    }
+
+    @Test
+    void record_WithoutReport_ShouldUseObservedTotals() {
+        // Given
+        ScrapeRunStatus.Progress total = new ScrapeRunStatus.Progress(3, 1, 2, 0, 0, 0, 20, "x".repeat(2000));
+        ScrapeRunStatus run = new ScrapeRunStatus(UUID.randomUUID(), ScrapeRunStatus.State.FAILED, true, START, START.plusMillis(50),
+                total, Map.of(), Map.of(1L, total), null, "database down");
+
+        // When
+        scrapeRunHistoryService.record(run);
+
+        // Then
+        ArgumentCaptor<ScrapeRunHistory> history = ArgumentCaptor.forClass(ScrapeRunHistory.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ScrapeRunStat>> stats = ArgumentCaptor.forClass(List.class);
+        verify(scrapeRunHistoryRepository).merge(history.capture(), stats.capture());
+        assertThat(history.getValue().getState()).isEqualTo("FAILED");
+        assertThat(history.getValue().getTasks()).isEqualTo(3);
+        assertThat(history.getValue().getFailedTasks()).isEqualTo(2);
+        assertThat(history.getValue().getDedupHitRatio()).isZero();
+        assertThat(history.getValue().getError()).isEqualTo("database down");
+
+        assertThat(stats.getValue()).singleElement().satisfies(stat -> assertThat(stat.getLastError()).hasSize(1000));
+    }
+
+    @Test
+    void find_ShouldRebuildTheStatusOfARecordedRunWithItsBreakdown() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(scrapeRunHistoryRepository.findByRunId(runId.toString())).thenReturn(Optional.of(ScrapeRunHistory.builder()
+                .runId(runId.toString())
+                .state("SUCCEEDED")
+                .startedAt(LocalDateTime.of(2026, 1, 1, 10, 0))
+                .finishedAt(LocalDateTime.of(2026, 1, 1, 10, 0, 3))
+                .durationMs(3000)
+                .criteria(1)
+                .tasks(4)
+                .failedTasks(1)
+                .fetchedJobs(10)
+                .newJobs(4)
+                .build()));
+        when(scrapeRunStatRepository.findByRunId(runId.toString())).thenReturn(List.of(
+                ScrapeRunStat.builder().scope(ScrapeRunStat.Scope.PLATFORM).scopeKey("LINKEDIN").tasks(4).failedTasks(1).fetchedJobs(10).build(),
+                ScrapeRunStat.builder().scope(ScrapeRunStat.Scope.CRITERIA).scopeKey("7").tasks(2).newJobs(4).build()));
+
+        // When
+        ScrapeRunStatus status = scrapeRunHistoryService.find(runId).orElseThrow();
+
+        // Then
+        assertThat(status.state()).isEqualTo(ScrapeRunStatus.State.SUCCEEDED);
+        assertThat(status.startedAt()).isEqualTo(START);
+        assertThat(status.total().completedQueries()).isEqualTo(3);
+        assertThat(status.report().newJobs()).isEqualTo(4);
+        assertThat(status.platforms().get(Platform.LINKEDIN).failedQueries()).isEqualTo(1);
+        assertThat(status.criteria().get(7L).newJobs()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,299 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeRunServiceImplTest {
+
+    @Mock
+    private JobScrapingService jobScrapingService;
+
+    @Mock
+    private ScrapeWorker scrapeWorker;
+
+    @Mock
+    private ScrapeRunHistoryService scrapeRunHistoryService;
+
+    @Test
+    void trigger_WhileRunInProgress_ShouldJoinIt() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobScrapingService.ingestAllPlatforms(anyBoolean(), any())).thenAnswer(invocation -> {
+            release.await();
+            return ScrapeReport.empty();
+        });
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket first = service.trigger(false);
+        ScrapeRunTicket second = service.trigger(false);
+        release.countDown();
+
+        // Then
+        assertThat(first.joined()).isFalse();
+        assertThat(second.joined()).isTrue();
+        assertThat(second.runId()).isEqualTo(first.runId());
+        awaitState(service, first.runId(), ScrapeRunStatus.State.SUCCEEDED);
+        verify(jobScrapingService, times(1)).ingestAllPlatforms(anyBoolean(), any());
+    }
+
+    @Test
+    void trigger_FullRescanWhileIncrementalRunInProgress_ShouldQueueItAfterThatRun() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenAnswer(invocation -> {
+            release.await();
+            return ScrapeReport.empty();
+        });
+        doReturn(ScrapeReport.empty()).when(jobScrapingService).ingestAllPlatforms(eq(true), any());
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket incremental = service.trigger(false);
+        ScrapeRunTicket fullRescan = service.trigger(true);
+        ScrapeRunTicket secondFullRescan = service.trigger(true);
+
+        // Then
+        assertThat(fullRescan.joined()).isFalse();
+        assertThat(fullRescan.runId()).isNotEqualTo(incremental.runId());
+        assertThat(fullRescan.state()).isEqualTo(ScrapeRunStatus.State.QUEUED);
+        assertThat(secondFullRescan.joined()).isTrue();
+        assertThat(secondFullRescan.runId()).isEqualTo(fullRescan.runId());
+        assertThat(service.findRun(fullRescan.runId()).orElseThrow().fullRescan()).isTrue();
+
+        // When
+        release.countDown();
+
+        // Then
+        awaitState(service, incremental.runId(), ScrapeRunStatus.State.SUCCEEDED);
+        awaitState(service, fullRescan.runId(), ScrapeRunStatus.State.SUCCEEDED);
+        verify(jobScrapingService).ingestAllPlatforms(eq(true), any());
+        assertThat(service.findRun(fullRescan.runId()).orElseThrow().startedAt()).isNotNull();
+    }
+
+    @Test
+    void trigger_IncrementalWhileFullRescanInProgress_ShouldJoinIt() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobScrapingService.ingestAllPlatforms(eq(true), any())).thenAnswer(invocation -> {
+            release.await();
+            return ScrapeReport.empty();
+        });
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket fullRescan = service.trigger(true);
+        ScrapeRunTicket incremental = service.trigger(false);
+        release.countDown();
+
+        // Then
+        assertThat(incremental.joined()).isTrue();
+        assertThat(incremental.runId()).isEqualTo(fullRescan.runId());
+        awaitState(service, fullRescan.runId(), ScrapeRunStatus.State.SUCCEEDED);
+        verify(jobScrapingService, times(1)).ingestAllPlatforms(anyBoolean(), any());
+    }
+
+    @Test
+    void trigger_AfterRunFinished_ShouldStartNewRun() {
+        // Given
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenReturn(ScrapeReport.empty());
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+        ScrapeRunTicket first = service.trigger(false);
+        awaitState(service, first.runId(), ScrapeRunStatus.State.SUCCEEDED);
+
+        // When
+        ScrapeRunTicket second = service.trigger(false);
+
+        // Then
+        assertThat(second.joined()).isFalse();
+        assertThat(second.runId()).isNotEqualTo(first.runId());
+    }
+
+    @Test
+    void trigger_WithTheIdOfAFinishedRun_ShouldNotRunItAgain() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenReturn(ScrapeReport.empty());
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+        service.trigger(false, runId);
+        awaitState(service, runId, ScrapeRunStatus.State.SUCCEEDED);
+
+        // When
+        ScrapeRunTicket again = service.trigger(false, runId);
+
+        // Then
+        assertThat(again.joined()).isTrue();
+        assertThat(again.state()).isEqualTo(ScrapeRunStatus.State.SUCCEEDED);
+        verify(jobScrapingService, times(1)).ingestAllPlatforms(anyBoolean(), any());
+        verify(scrapeRunHistoryService, times(1)).record(any());
+    }
+
+    @Test
+    void trigger_WithTheIdOfARunRecordedByAnotherNode_ShouldTreatItAsDone() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        ScrapeRunStatus.Progress total = new ScrapeRunStatus.Progress(3, 3, 0, 30, 6, 0, 900, null);
+        when(scrapeRunHistoryService.find(runId)).thenReturn(Optional.of(new ScrapeRunStatus(runId, ScrapeRunStatus.State.SUCCEEDED,
+                false, Instant.EPOCH, Instant.EPOCH.plusSeconds(60), total, Map.of(), Map.of(), ScrapeReport.empty(), null)));
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket ticket = service.trigger(false, runId);
+
+        // Then
+        assertThat(ticket.joined()).isTrue();
+        assertThat(ticket.state()).isEqualTo(ScrapeRunStatus.State.SUCCEEDED);
+        verifyNoInteractions(jobScrapingService, scrapeWorker);
+    }
+
+    @Test
+    void findRun_ShouldReportProgressPerPlatformAndCriteria() {
+        // Given
+        ScrapePlan.PlannedQuery linkedIn = new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"), List.of(1L, 2L));
+        ScrapePlan.PlannedQuery indeed = new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.INDEED, "java", "paris"), List.of(1L));
+        ScrapeReport report = new ScrapeReport(2, 2, 1, 3, 2, 3, 0);
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenAnswer(invocation -> {
+            ScrapeListener listener = invocation.getArgument(1);
+            listener.onPlanned(new ScrapePlan(2, 3, List.of(linkedIn, indeed), Map.of()));
+            listener.onTaskFinished(ScrapeTaskResult.completed(linkedIn, 3, 2, List.of()));
+            listener.onTaskFinished(ScrapeTaskResult.failed(indeed, "boom"));
+            listener.onTaskFinished(ScrapeTaskResult.timedOut(indeed));
+            return report;
+        });
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket ticket = service.trigger(false);
+        ScrapeRunStatus status = awaitState(service, ticket.runId(), ScrapeRunStatus.State.SUCCEEDED);
+
+        // Then
+        assertThat(status.total()).isEqualTo(new ScrapeRunStatus.Progress(2, 1, 1, 3, 2, 0, 0, "boom"));
+        assertThat(status.platforms()).containsEntry(Platform.LINKEDIN, new ScrapeRunStatus.Progress(1, 1, 0, 3, 2, 0, 0, null))
+                .containsEntry(Platform.INDEED, new ScrapeRunStatus.Progress(1, 0, 1, 0, 0, 0, 0, "boom"));
+        assertThat(status.criteria()).containsEntry(1L, new ScrapeRunStatus.Progress(2, 1, 1, 3, 2, 0, 0, "boom"))
+                .containsEntry(2L, new ScrapeRunStatus.Progress(1, 1, 0, 3, 2, 0, 0, null));
+        assertThat(status.report()).isEqualTo(report);
+        assertThat(status.finishedAt()).isNotNull();
+    }
+
+    @Test
+    void trigger_WhenRunFinishes_ShouldRecordItInHistory() {
+        // Given
+        ScrapePlan.PlannedQuery linkedIn = new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris"), List.of(1L));
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenAnswer(invocation -> {
+            ScrapeListener listener = invocation.getArgument(1);
+            listener.onPlanned(new ScrapePlan(1, 1, List.of(linkedIn), Map.of()));
+            listener.onTaskFinished(ScrapeTaskResult.completed(linkedIn, 4, 1, List.of()).measured(2048, Duration.ofMillis(30)));
+            return new ScrapeReport(1, 1, 0, 4, 1, 1, 0);
+        });
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket ticket = service.trigger(false);
+
+        // Then
+        ArgumentCaptor<ScrapeRunStatus> recorded = ArgumentCaptor.forClass(ScrapeRunStatus.class);
+        verify(scrapeRunHistoryService, timeout(5000)).record(recorded.capture());
+        assertThat(recorded.getValue().id()).isEqualTo(ticket.runId());
+        assertThat(recorded.getValue().state()).isEqualTo(ScrapeRunStatus.State.SUCCEEDED);
+        assertThat(recorded.getValue().platforms()).containsEntry(Platform.LINKEDIN,
+                new ScrapeRunStatus.Progress(1, 1, 0, 4, 1, 2048, 30, null));
+        assertThat(recorded.getValue().total().dedupHitRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    void findRun_WhenRunThrows_ShouldReportFailure() {
+        // Given
+        when(jobScrapingService.ingestAllPlatforms(eq(false), any())).thenThrow(new IllegalStateException("database down"));
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket ticket = service.trigger(false);
+        ScrapeRunStatus status = awaitState(service, ticket.runId(), ScrapeRunStatus.State.FAILED);
+
+        // Then
+        assertThat(status.error()).isEqualTo("database down");
+        assertThat(service.trigger(false).joined()).isFalse();
+    }
+
+    @Test
+    void trigger_WithWorkQueueEnabled_ShouldRunThroughWorker() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        ScrapeReport report = new ScrapeReport(1, 2, 0, 4, 1, 2, 0);
+        when(scrapeWorker.isEnabled()).thenReturn(true);
+        when(scrapeWorker.run(eq(runId), eq(false), any())).thenReturn(report);
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        ScrapeRunTicket ticket = service.trigger(false, runId);
+        ScrapeRunStatus status = awaitState(service, runId, ScrapeRunStatus.State.SUCCEEDED);
+
+        // Then
+        assertThat(ticket.runId()).isEqualTo(runId);
+        assertThat(status.report()).isEqualTo(report);
+        verifyNoInteractions(jobScrapingService);
+    }
+
+    @Test
+    void findRun_WhenTheRunIsNotKnownLocally_ShouldFallBackToHistoryThenTheQueue() {
+        // Given
+        UUID recordedRun = UUID.randomUUID();
+        UUID queuedRun = UUID.randomUUID();
+        ScrapeRunStatus.Progress total = new ScrapeRunStatus.Progress(3, 1, 0, 10, 2, 0, 0, null);
+        ScrapeRunStatus recorded = new ScrapeRunStatus(recordedRun, ScrapeRunStatus.State.SUCCEEDED, false, Instant.EPOCH,
+                Instant.EPOCH.plusSeconds(60), total, Map.of(), Map.of(), ScrapeReport.empty(), null);
+        ScrapeRunStatus running = new ScrapeRunStatus(queuedRun, ScrapeRunStatus.State.RUNNING, false, Instant.EPOCH,
+                null, total, Map.of(), Map.of(), null, null);
+        when(scrapeRunHistoryService.find(recordedRun)).thenReturn(Optional.of(recorded));
+        when(scrapeWorker.findRun(queuedRun)).thenReturn(Optional.of(running));
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        // Then
+        assertThat(service.findRun(recordedRun)).contains(recorded);
+        assertThat(service.findRun(queuedRun)).contains(running);
+    }
+
+    @Test
+    void findRun_WhenUnknown_ShouldReturnEmpty() {
+        // Given
+        ScrapeRunServiceImpl service = new ScrapeRunServiceImpl(jobScrapingService, scrapeWorker, scrapeRunHistoryService);
+
+        // When
+        // Then
+        assertThat(service.findRun(UUID.randomUUID())).isEmpty();
+    }
+
+    private static ScrapeRunStatus awaitState(ScrapeRunServiceImpl service, UUID id, ScrapeRunStatus.State state) {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> service.findRun(id).map(ScrapeRunStatus::state).orElse(null) == state);
+        return service.findRun(id).orElseThrow();
+    }
+}
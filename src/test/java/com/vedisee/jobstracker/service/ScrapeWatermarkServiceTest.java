@@ -0,0 +1,99 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeWatermark;
+import com.vedisee.jobstracker.repository.ScrapeWatermarkRepository;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeWatermarkServiceTest {
+
+    private static final ScrapePlan.PlannedQuery PLANNED =
+            new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.INDEED, "java", "paris"), List.of(1L, 2L));
+
+    @Mock
+    private ScrapeWatermarkRepository scrapeWatermarkRepository;
+
+    private ScrapeWatermarkService scrapeWatermarkService;
+
+    @BeforeEach
+    void setUp() {
+        scrapeWatermarkService = new ScrapeWatermarkService(scrapeWatermarkRepository);
+    }
+
+    @Test
+    void stopMarkers_WhenEveryCriteriaHasWatermark_ShouldReturnThemAll() {
+        // Given
+        givenWatermarks(watermark(1L, "ext-5"), watermark(2L, "ext-3"));
+
+        // When
+        Set<String> markers = scrapeWatermarkService.stopMarkers(PLANNED);
+
+        // Then
+        assertThat(markers).containsExactlyInAnyOrder("ext-5", "ext-3");
+    }
+
+    @Test
+    void stopMarkers_WhenACriteriaWasNeverScanned_ShouldRequireFullScan() {
+        // Given
+        givenWatermarks(watermark(1L, "ext-5"));
+
+        // When
+        Set<String> markers = scrapeWatermarkService.stopMarkers(PLANNED);
+
+        // Then
+        assertThat(markers).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void advance_ShouldUpdateExistingAndCreateMissingWatermarks() {
+        // Given
+        ScrapeWatermark existing = watermark(1L, "ext-5");
+        givenWatermarks(existing);
+        ArgumentCaptor<List<ScrapeWatermark>> saved = ArgumentCaptor.forClass(List.class);
+
+        // When
+        scrapeWatermarkService.advance(PLANNED, "ext-9");
+
+        // Then
+        verify(scrapeWatermarkRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(2).allSatisfy(watermark -> {
+            assertThat(watermark.getLastExternalId()).isEqualTo("ext-9");
+            assertThat(watermark.getUpdatedAt()).isNotNull();
+            assertThat(watermark.getPlatform()).isEqualTo(Platform.INDEED);
+        });
+        assertThat(saved.getValue().get(0)).isSameAs(existing);
+        assertThat(saved.getValue().get(1).getCriteriaId()).isEqualTo(2L);
+        assertThat(saved.getValue().get(1).getId()).isNull();
+    }
+
+    private void givenWatermarks(ScrapeWatermark... watermarks) {
+        when(scrapeWatermarkRepository.findByPlatformAndKeywordAndLocationAndCriteriaIdIn(
+                Platform.INDEED, "java", "paris", List.of(1L, 2L))).thenReturn(List.of(watermarks));
+    }
+
+    private static ScrapeWatermark watermark(Long criteriaId, String externalId) {
+        return ScrapeWatermark.builder()
+                .id(criteriaId * 10)
+                .criteriaId(criteriaId)
+                .platform(Platform.INDEED)
+                .keyword("java")
+                .location("paris")
+                .lastExternalId(externalId)
+                .build();
+    }
+}
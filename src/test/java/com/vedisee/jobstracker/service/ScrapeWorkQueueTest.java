@@ -0,0 +1,89 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapeWorkQueueProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.ScrapeTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeWorkQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 2, 0);
+
+    @Mock
+    private ScrapeTaskRepository scrapeTaskRepository;
+
+    private ScrapeWorkQueue scrapeWorkQueue;
+
+    @BeforeEach
+    void setUp() {
+        scrapeWorkQueue = new ScrapeWorkQueue(new ScrapeWorkQueueProperties(true, "node-a", 8, Duration.ofMinutes(2),
+                Duration.ofSeconds(30), Duration.ofMillis(10), 3), scrapeTaskRepository, TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void findRun_ShouldReportProgressOfARunFromItsTasks() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(scrapeTaskRepository.findByRunIdOrderById(runId.toString())).thenReturn(List.of(
+                task(Platform.LINKEDIN, "1,2", ScrapeTask.Status.COMPLETED, 10, 4, null),
+                task(Platform.INDEED, "2", ScrapeTask.Status.FAILED, 0, 0, "BLOCKED"),
+                task(Platform.INDEED, "1", ScrapeTask.Status.RUNNING, 0, 0, null)));
+
+        // When
+        ScrapeRunStatus status = scrapeWorkQueue.findRun(runId).orElseThrow();
+
+        // Then
+        assertThat(status.state()).isEqualTo(ScrapeRunStatus.State.RUNNING);
+        assertThat(status.startedAt()).isEqualTo(Instant.parse("2026-01-01T02:00:00Z"));
+        assertThat(status.finishedAt()).isNull();
+        assertThat(status.total().plannedQueries()).isEqualTo(3);
+        assertThat(status.total().fetchedJobs()).isEqualTo(10);
+        assertThat(status.platforms().get(Platform.INDEED).failedQueries()).isEqualTo(1);
+        assertThat(status.platforms().get(Platform.INDEED).lastError()).isEqualTo("BLOCKED");
+        assertThat(status.criteria()).containsOnlyKeys(1L, 2L);
+        assertThat(status.criteria().get(1L).newJobs()).isEqualTo(4);
+    }
+
+    @Test
+    void findRun_WhenTheRunHasNoTasks_ShouldReturnEmpty() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        when(scrapeTaskRepository.findByRunIdOrderById(runId.toString())).thenReturn(List.of());
+
+        // When
+        // Then
+        assertThat(scrapeWorkQueue.findRun(runId)).isEmpty();
+    }
+
+    private static ScrapeTask task(Platform platform, String criteriaIds, ScrapeTask.Status status, long fetchedJobs, long newJobs,
+                                   String error) {
+        return ScrapeTask.builder()
+                .platform(platform)
+                .keyword("java")
+                .location("paris")
+                .criteriaIds(criteriaIds)
+                .status(status)
+                .fetchedJobs(fetchedJobs)
+                .newJobs(newJobs)
+                .error(error)
+                .createdAt(NOW)
+                .updatedAt(NOW.plusMinutes(1))
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.ScrapeWorkQueueProperties;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.model.ScrapeTask;
+import com.vedisee.jobstracker.repository.ScrapeTaskRepositoryCustom;
+import com.vedisee.jobstracker.service.scraper.ScrapeQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeWorkerTest {
+
+    @Mock
+    private ScrapeWorkQueue scrapeWorkQueue;
+
+    @Mock
+    private JobScrapingService jobScrapingService;
+
+    private ScrapeWorker scrapeWorker;
+
+    @BeforeEach
+    void setUp() {
+        scrapeWorker = new ScrapeWorker(new ScrapeWorkQueueProperties(true, "node-a", 8, Duration.ofMinutes(2),
+                Duration.ofSeconds(30), Duration.ofMillis(10), 3), scrapeWorkQueue, jobScrapingService);
+    }
+
+    @Test
+    void run_ShouldEnqueuePlanDrainItAndReportAcrossNodes() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        ScrapePlan.PlannedQuery java = planned("java", 1L, 2L);
+        ScrapePlan.PlannedQuery python = planned("python", 2L);
+        ScrapePlan plan = new ScrapePlan(2, 3, List.of(java, python), Map.of());
+        ScrapeTask javaTask = task(1L, "java", "1,2");
+        ScrapeTask pythonTask = task(2L, "python", "2");
+        ScrapeTaskResult javaResult = ScrapeTaskResult.completed(java, 5, 2, List.of());
+        ScrapeTaskResult pythonResult = ScrapeTaskResult.failed(python, "boom");
+
+        when(jobScrapingService.planAllPlatforms()).thenReturn(plan);
+        when(scrapeWorkQueue.enqueue(runId, plan, false)).thenReturn(2);
+        when(scrapeWorkQueue.claim(runId)).thenReturn(List.of(javaTask, pythonTask), List.of());
+        when(scrapeWorkQueue.hasOpenTasks(runId)).thenReturn(false);
+        when(jobScrapingService.ingestQueries(eq(List.of(java, python)), eq(false), any())).thenReturn(List.of(javaResult, pythonResult));
+        when(scrapeWorkQueue.summarize(runId)).thenReturn(new ScrapeTaskRepositoryCustom.Summary(2, 1, 9, 3));
+
+        // When
+        ScrapeReport report = scrapeWorker.run(runId, false, ScrapeListener.NONE);
+
+        // Then
+        verify(scrapeWorkQueue).finish(javaTask, javaResult);
+        verify(scrapeWorkQueue).finish(pythonTask, pythonResult);
+        assertThat(report).isEqualTo(new ScrapeReport(2, 2, 1, 9, 3, 3, 0));
+    }
+
+    @Test
+    void run_WhenOtherNodesStillHoldTasks_ShouldWaitUntilRunIsClosed() {
+        // Given
+        UUID runId = UUID.randomUUID();
+        ScrapePlan plan = new ScrapePlan(1, 1, List.of(planned("java", 1L)), Map.of());
+        when(jobScrapingService.planAllPlatforms()).thenReturn(plan);
+        when(scrapeWorkQueue.claim(runId)).thenReturn(List.of());
+        when(scrapeWorkQueue.hasOpenTasks(runId)).thenReturn(true, true, false);
+        when(scrapeWorkQueue.summarize(runId)).thenReturn(new ScrapeTaskRepositoryCustom.Summary(1, 0, 1, 1));
+
+        // When
+        ScrapeReport report = scrapeWorker.run(runId, false, ScrapeListener.NONE);
+
+        // Then
+        verify(scrapeWorkQueue, times(3)).claim(runId);
+        assertThat(report.newJobs()).isEqualTo(1);
+    }
+
+    @Test
+    void run_WithoutCriteria_ShouldNotEnqueue() {
+        // Given
+        when(jobScrapingService.planAllPlatforms()).thenReturn(null);
+
+        // When
+        ScrapeReport report = scrapeWorker.run(UUID.randomUUID(), false, ScrapeListener.NONE);
+
+        // Then
+        assertThat(report).isEqualTo(ScrapeReport.empty());
+        verify(scrapeWorkQueue, times(0)).enqueue(any(), any(), eq(false));
+    }
+
+    @Test
+    void toPlannedQuery_ShouldRestoreCriteriaIds() {
+        // When
+        ScrapePlan.PlannedQuery planned = ScrapeWorkQueue.toPlannedQuery(task(1L, "java", "1,2"));
+
+        // Then
+        assertThat(planned).isEqualTo(planned("java", 1L, 2L));
+    }
+
+    private static ScrapePlan.PlannedQuery planned(String keyword, Long... criteriaIds) {
+        return new ScrapePlan.PlannedQuery(ScrapeQuery.of(Platform.LINKEDIN, keyword, "paris"), List.of(criteriaIds));
+    }
+
+    private static ScrapeTask task(Long id, String keyword, String criteriaIds) {
+        return ScrapeTask.builder()
+                .id(id)
+                .platform(Platform.LINKEDIN)
+                .keyword(keyword)
+                .location("paris")
+                .criteriaIds(criteriaIds)
+                .status(ScrapeTask.Status.RUNNING)
+                .build();
+    }
+}
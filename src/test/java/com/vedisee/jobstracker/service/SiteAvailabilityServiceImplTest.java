@@ -0,0 +1,109 @@
+package com.vedisee.jobstracker.service;
+
+import com.vedisee.jobstracker.config.PlatformHealthProperties;
+import com.vedisee.jobstracker.model.Platform;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SiteAvailabilityServiceImplTest {
+
+    private final PlatformHealthRegistry registry = new PlatformHealthRegistry(
+            new PlatformHealthProperties(Duration.ofMinutes(1), 1, Duration.ofMinutes(5)));
+
+    @Test
+    void probeAll_ShouldProbeSitesConcurrently() {
+        // Given
+        Duration delay = Duration.ofMillis(300);
+        SiteAvailabilityServiceImpl service = service(request -> Mono.delay(delay)
+                .thenReturn(ClientResponse.create(HttpStatus.OK).build()));
+        List<String> sites = List.of(Platform.LINKEDIN.getUrl(), Platform.INDEED.getUrl(), Platform.GOOGLE_JOBS.getUrl());
+
+        // When
+        long start = System.nanoTime();
+        Map<String, Availability> result = service.probeAll(sites).block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(result).containsOnlyKeys(sites);
+        assertThat(result.values()).allSatisfy(availability -> {
+            assertThat(availability.reachable()).isTrue();
+            assertThat(availability.statusCode()).isEqualTo(200);
+            assertThat(availability.latency()).isGreaterThanOrEqualTo(delay);
+        });
+        assertThat(elapsed).isLessThan(delay.multipliedBy(sites.size()));
+    }
+
+    @Test
+    void probeAll_ShouldReportStatusAndErrorsAndFeedCircuitBreaker() {
+        // Given
+        SiteAvailabilityServiceImpl service = service(request -> request.url().toString().startsWith(Platform.LINKEDIN.getUrl())
+                ? Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build())
+                : Mono.error(new IOException("Connection refused")));
+
+        // When
+        Map<String, Availability> result = service.probeAll(List.of(Platform.LINKEDIN.getUrl(), Platform.INDEED.getUrl())).block();
+
+        // Then
+        assertThat(result.get(Platform.LINKEDIN.getUrl()).reachable()).isFalse();
+        assertThat(result.get(Platform.LINKEDIN.getUrl()).statusCode()).isEqualTo(429);
+        assertThat(result.get(Platform.INDEED.getUrl()).statusCode()).isNull();
+        assertThat(result.get(Platform.INDEED.getUrl()).error()).isEqualTo("Connection refused");
+        assertThat(registry.isOpen(Platform.LINKEDIN.getUrl())).isTrue();
+        assertThat(registry.isOpen(Platform.INDEED.getUrl())).isTrue();
+    }
+
+    @Test
+    void probeAll_ShouldSkipSitesWithOpenCircuit() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        SiteAvailabilityServiceImpl service = service(request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+        registry.record(Platform.INDEED.getUrl(), false);
+
+        // When
+        Map<String, Availability> result = service.probeAll(List.of(Platform.INDEED.getUrl())).block();
+
+        // Then
+        assertThat(result.get(Platform.INDEED.getUrl())).isEqualTo(Availability.circuitOpen(Platform.INDEED.getUrl()));
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void isSiteReachable_ShouldCacheProbeResult() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        SiteAvailabilityServiceImpl service = service(request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        });
+
+        // When
+        boolean first = service.isSiteReachable(Platform.INDEED.getUrl());
+        boolean second = service.isSiteReachable(Platform.INDEED.getUrl());
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(calls).hasValue(1);
+    }
+
+    private SiteAvailabilityServiceImpl service(ExchangeFunction exchangeFunction) {
+        SiteAvailabilityServiceImpl service = new SiteAvailabilityServiceImpl(WebClient.builder().exchangeFunction(exchangeFunction), registry);
+        service.init();
+        return service;
+    }
+}
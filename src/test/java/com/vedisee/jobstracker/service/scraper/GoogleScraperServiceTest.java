@@ -3,7 +3,9 @@ package com.vedisee.jobstracker.service.scraper;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
 import com.vedisee.jobstracker.service.SiteAvailabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -31,11 +34,15 @@ class GoogleScraperServiceTest {
     @Mock
     private SiteAvailabilityService siteAvailabilityService;
 
+    @Mock
+    private JobSearchCrawler jobSearchCrawler;
+
     private GoogleScraperService googleScraperService;
 
     @BeforeEach
     void setUp() {
-        googleScraperService = new GoogleScraperService(environment, siteAvailabilityService);
+        googleScraperService = new GoogleScraperService(environment, siteAvailabilityService, new ScrapePipelineMetrics(new SimpleMeterRegistry()),
+                jobSearchCrawler);
     }
 
     @Test
@@ -57,7 +64,7 @@ class GoogleScraperServiceTest {
 
         // Then
         assertThat(result).isTrue();
-        verify(siteAvailabilityService).isSiteReachable(Platform.INDEED.getUrl());
+        verify(siteAvailabilityService).isSiteReachable(Platform.GOOGLE_JOBS.getUrl());
     }
 
     @Test
@@ -70,7 +77,7 @@ class GoogleScraperServiceTest {
 
         // Then
         assertThat(result).isFalse();
-        verify(siteAvailabilityService).isSiteReachable(Platform.INDEED.getUrl());
+        verify(siteAvailabilityService).isSiteReachable(Platform.GOOGLE_JOBS.getUrl());
     }
 
     @Test
@@ -127,9 +134,11 @@ class GoogleScraperServiceTest {
     }
 
     @Test
-    void scrapeJobs_NotInDevProfile_ShouldReturnEmptyList() {
+    void scrapeJobs_NotInDevProfile_ShouldCrawlPlatform() {
         // Given
         when(environment.acceptsProfiles(any(Profiles.class))).thenReturn(false);
+        Job crawled = Job.builder().externalId("Google-1").title("Java Developer").platform(Platform.GOOGLE_JOBS).build();
+        when(jobSearchCrawler.crawl(new ScrapeQuery(Platform.GOOGLE_JOBS, "Java Developer", "Paris"))).thenReturn(Flux.just(crawled));
 
         SearchCriteria searchCriteria = SearchCriteria.builder()
                 .name("Test Criteria")
@@ -141,7 +150,7 @@ class GoogleScraperServiceTest {
         List<Job> jobs = googleScraperService.scrapeJobs(searchCriteria);
 
         // Then
-        assertThat(jobs).isEmpty();
+        assertThat(jobs).containsExactly(crawled);
         verify(environment, atLeastOnce()).acceptsProfiles(any(Profiles.class));
     }
 
@@ -3,7 +3,9 @@ package com.vedisee.jobstracker.service.scraper;
 import com.vedisee.jobstracker.model.Job;
 import com.vedisee.jobstracker.model.Platform;
 import com.vedisee.jobstracker.model.SearchCriteria;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
 import com.vedisee.jobstracker.service.SiteAvailabilityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -31,11 +34,15 @@ class IndeedScraperServiceTest {
     @Mock
     private SiteAvailabilityService siteAvailabilityService;
 
+    @Mock
+    private JobSearchCrawler jobSearchCrawler;
+
     private IndeedScraperService indeedScraperService;
 
     @BeforeEach
     void setUp() {
-        indeedScraperService = new IndeedScraperService(environment, siteAvailabilityService);
+        indeedScraperService = new IndeedScraperService(environment, siteAvailabilityService, new ScrapePipelineMetrics(new SimpleMeterRegistry()),
+                jobSearchCrawler);
     }
 
     @Test
@@ -127,9 +134,11 @@ class IndeedScraperServiceTest {
     }
 
     @Test
-    void scrapeJobs_NotInDevProfile_ShouldReturnEmptyList() {
+    void scrapeJobs_NotInDevProfile_ShouldCrawlPlatform() {
         // Given
         when(environment.acceptsProfiles(any(Profiles.class))).thenReturn(false);
+        Job crawled = Job.builder().externalId("Indeed-1").title("Java Developer").platform(Platform.INDEED).build();
+        when(jobSearchCrawler.crawl(new ScrapeQuery(Platform.INDEED, "Java Developer", "Paris"))).thenReturn(Flux.just(crawled));
 
         SearchCriteria searchCriteria = SearchCriteria.builder()
                 .name("Test Criteria")
@@ -141,7 +150,7 @@ class IndeedScraperServiceTest {
         List<Job> jobs = indeedScraperService.scrapeJobs(searchCriteria);
 
         // Then
-        assertThat(jobs).isEmpty();
+        assertThat(jobs).containsExactly(crawled);
         verify(environment, atLeastOnce()).acceptsProfiles(any(Profiles.class));
     }
 
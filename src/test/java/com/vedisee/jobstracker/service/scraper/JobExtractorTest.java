@@ -0,0 +1,178 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperExtractionProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class JobExtractorTest {
+
+    private final JobExtractor jobExtractor = new JobExtractor(shippedRules());
+
+    @Test
+    void extract_LinkedInFixture_ShouldMapCardsAndSkipCardsWithoutPostingId() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.LINKEDIN, "java developer", "paris");
+
+        // When
+        ExtractedPage page = jobExtractor.extract(Platform.LINKEDIN, fixture(Platform.LINKEDIN), jobExtractor.searchUrl(query));
+
+        // Then
+        assertThat(page.items()).isEqualTo(3);
+        assertThat(page.skipped()).isEqualTo(1);
+        assertThat(page.jobs()).extracting(Job::getExternalId, Job::getTitle, Job::getCompany, Job::getLocation, Job::getUrl)
+                .containsExactly(
+                        tuple("LinkedIn-3912345601", "Senior Java Developer", "Acme", "Paris, Île-de-France, France",
+                                "https://fr.linkedin.com/jobs/view/senior-java-developer-at-acme-3912345601"),
+                        tuple("LinkedIn-3912345602", "Backend Engineer (Java)", "Globex", "Lyon, Auvergne-Rhône-Alpes, France",
+                                "https://fr.linkedin.com/jobs/view/backend-engineer-java-at-globex-3912345602"));
+        assertThat(page.jobs()).allSatisfy(job -> assertThat(job.getPlatform()).isEqualTo(Platform.LINKEDIN));
+        assertThat(page.jobs().getFirst().getDescription()).contains("Be an early applicant");
+    }
+
+    @Test
+    void extract_IndeedFixture_ShouldResolveRelativeLinks() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.INDEED, "java developer", "paris");
+
+        // When
+        ExtractedPage page = jobExtractor.extract(Platform.INDEED, fixture(Platform.INDEED), jobExtractor.searchUrl(query));
+
+        // Then
+        assertThat(page.skipped()).isZero();
+        assertThat(page.jobs()).extracting(Job::getExternalId, Job::getTitle, Job::getCompany, Job::getLocation)
+                .containsExactly(
+                        tuple("Indeed-4a1b2c3d4e5f6a7b", "Java Developer", "Initech", "75002 Paris"),
+                        tuple("Indeed-9f8e7d6c5b4a3928", "Développeur Java / Kotlin H/F", "Umbrella Corp",
+                                "Télétravail à 92100 Boulogne-Billancourt"));
+        assertThat(page.jobs().getFirst().getUrl()).isEqualTo("https://www.indeed.com/rc/clk?jk=4a1b2c3d4e5f6a7b");
+        assertThat(page.jobs().getFirst().getDescription())
+                .isEqualTo("Design and build Java micro-services with Spring Boot. Work with PostgreSQL and Kafka.");
+    }
+
+    @Test
+    void extract_OverlongFields_ShouldCutThemToTheirColumnLengthAndSkipOverlongIds() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.INDEED, "java developer", "paris");
+
+        // When
+        ExtractedPage page = jobExtractor.extract(Platform.INDEED, fixture(Platform.INDEED, "overlong"), jobExtractor.searchUrl(query));
+
+        // Then
+        assertThat(page.items()).isEqualTo(2);
+        assertThat(page.skipped()).isEqualTo(1);
+        Job job = page.jobs().getFirst();
+        assertThat(job.getExternalId()).isEqualTo("Indeed-0a1b2c3d4e5f6a7b");
+        assertThat(job.getTitle()).startsWith("Senior Java Developer").hasSize(255);
+        assertThat(job.getCompany()).startsWith("Initech").hasSize(255);
+        assertThat(job.getLocation()).startsWith("75002 Paris").hasSize(255);
+        assertThat(job.getUrl()).startsWith("https://www.indeed.com/rc/clk-").hasSize(255);
+        assertThat(job.getDescription()).hasSize(2000);
+    }
+
+    @Test
+    void extract_GoogleFixture_ShouldUseFixedCompanyAndFindNextLink() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.GOOGLE_JOBS, "java", "paris");
+
+        // When
+        ExtractedPage page = jobExtractor.extract(Platform.GOOGLE_JOBS, fixture(Platform.GOOGLE_JOBS), jobExtractor.searchUrl(query));
+
+        // Then
+        assertThat(page.jobs()).extracting(Job::getExternalId, Job::getCompany, Job::getLocation, Job::getUrl)
+                .containsExactly(
+                        tuple("Google Jobs-112233445566778899", "Google", "Paris, France",
+                                "https://careers.google.com/jobs/results/112233445566778899-software-engineer-iii-infrastructure"),
+                        tuple("Google Jobs-998877665544332211", "Google", "Zürich, Switzerland",
+                                "https://careers.google.com/jobs/results/998877665544332211-site-reliability-engineer-cloud"));
+        assertThat(jobExtractor.nextUrl(query, 0, page)).isEqualTo("https://careers.google.com/jobs/results/?q=java&location=Paris&page=2");
+        assertThat(jobExtractor.nextUrl(query, 4, page)).isNull();
+    }
+
+    @Test
+    void searchUrl_ShouldEncodeQueryAndFollowOffsets() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.INDEED, "C++ developer", "Saint-Étienne");
+
+        // When
+        String first = jobExtractor.searchUrl(query);
+        String second = jobExtractor.nextUrl(query, 0, new ExtractedPage(List.of(), 10, 0, null));
+        String afterShortPage = jobExtractor.nextUrl(query, 0, new ExtractedPage(List.of(), 7, 0, null));
+        String afterLastPage = jobExtractor.nextUrl(query, 4, new ExtractedPage(List.of(), 10, 0, null));
+
+        // Then
+        assertThat(first).isEqualTo("https://www.indeed.com/jobs?q=c%2B%2B+developer&l=saint-%C3%A9tienne&start=0");
+        assertThat(second).endsWith("&start=10");
+        assertThat(afterShortPage).isNull();
+        assertThat(afterLastPage).isNull();
+    }
+
+    @Test
+    void extract_EmptyPage_ShouldStopPagination() {
+        // Given
+        ScrapeQuery query = ScrapeQuery.of(Platform.LINKEDIN, "java", "paris");
+
+        // When
+        ExtractedPage page = jobExtractor.extract(Platform.LINKEDIN, "", jobExtractor.searchUrl(query));
+
+        // Then
+        assertThat(page.jobs()).isEmpty();
+        assertThat(jobExtractor.nextUrl(query, 0, page)).isNull();
+    }
+
+    @Test
+    void constructor_WithoutTitleSelector_ShouldFail() {
+        // Given
+        ScraperExtractionProperties.Field id = new ScraperExtractionProperties.Field(null, null, "data-id", null,
+                ScraperExtractionProperties.Mapper.TEXT);
+        ScraperExtractionProperties.Site site = new ScraperExtractionProperties.Site("https://www.indeed.com/jobs?q={keyword}", "div.job",
+                new ScraperExtractionProperties.Fields(id, null, null, null, null, null),
+                new ScraperExtractionProperties.Pagination(ScraperExtractionProperties.Pagination.Mode.OFFSET, 10, 1, null, 1));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> new JobExtractor(new ScraperExtractionProperties("agent", Map.of(Platform.INDEED, site))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * The rules shipped in {@code scrapers.yml}, bound the way the application binds them.
+     */
+    static ScraperExtractionProperties shippedRules() {
+        try {
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                    new YamlPropertySourceLoader().load("scrapers", new ClassPathResource("scrapers.yml"))));
+            return binder.bind("job.scraping.extraction", ScraperExtractionProperties.class).get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String fixture(Platform platform) {
+        return fixture(platform, "search");
+    }
+
+    static String fixture(Platform platform, String page) {
+        try {
+            return new ClassPathResource("fixtures/" + platform.name().toLowerCase(Locale.ROOT) + "/" + page + ".html")
+                    .getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
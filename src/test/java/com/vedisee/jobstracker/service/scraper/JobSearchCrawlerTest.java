@@ -0,0 +1,211 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperExtractionProperties;
+import com.vedisee.jobstracker.config.ScraperRateLimitProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobSearchCrawlerTest {
+
+    private final ScraperExtractionProperties properties = JobExtractorTest.shippedRules();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    void crawl_ShouldFollowPagesUntilTheLastOne() {
+        // Given
+        JobSearchCrawler crawler = crawler(request -> request.url().getQuery().contains("page=2")
+                ? "<html><body><ul></ul></body></html>"
+                : JobExtractorTest.fixture(Platform.GOOGLE_JOBS));
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.GOOGLE_JOBS, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).hasSize(2);
+        assertThat(requests).extracting(request -> request.url().toString()).containsExactly(
+                "https://careers.google.com/jobs/results/?q=java&location=paris&page=1",
+                "https://careers.google.com/jobs/results/?q=java&location=Paris&page=2");
+        assertThat(requests.getFirst().headers().getFirst(HttpHeaders.USER_AGENT)).isEqualTo(properties.userAgent());
+        assertThat(meterRegistry.get("scraper.pipeline.stage.jobs").tags("stage", "parse", "platform", "GOOGLE_JOBS")
+                .summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void crawl_WhenConsumerStops_ShouldNotFetchFurtherPages() {
+        // Given
+        JobSearchCrawler crawler = crawler(request -> JobExtractorTest.fixture(Platform.GOOGLE_JOBS));
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.GOOGLE_JOBS, "java", "paris"))
+                .takeWhile(job -> !job.getExternalId().endsWith("112233445566778899"))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(jobs).isEmpty();
+        assertThat(requests).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void crawl_WithoutRulesForPlatform_ShouldReturnNothing() {
+        // Given
+        JobSearchCrawler crawler = new JobSearchCrawler(WebClient.builder(), new JobExtractor(new ScraperExtractionProperties("agent", Map.of())),
+                properties, rateLimit(8), new ScrapePipelineMetrics(meterRegistry));
+        crawler.init();
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).isEmpty();
+    }
+
+    @Test
+    void crawl_WithPrefetch_ShouldKeepPagesInFlightAndDeliverThemInOrder() {
+        // Given
+        JobSearchCrawler crawler = prefetchingCrawler(3, 8, page -> page == 2 ? items(page, 1) : items(page, 2));
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).extracting(Job::getExternalId).containsExactly(
+                "Indeed-0-0", "Indeed-0-1", "Indeed-1-0", "Indeed-1-1", "Indeed-2-0");
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void crawl_WithPrefetch_ShouldNotExceedRateLimitConcurrency() {
+        // Given
+        JobSearchCrawler crawler = prefetchingCrawler(4, 2, page -> items(page, 2));
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).hasSize(10);
+        assertThat(maxInFlight.get()).isEqualTo(2);
+    }
+
+    @Test
+    void crawl_WithPrefetch_ShouldIgnoreFailuresOfPagesPastTheLastOne() {
+        // Given
+        JobSearchCrawler crawler = prefetchingCrawler(3, 8, page -> switch (page) {
+            case 0 -> items(page, 2);
+            case 1 -> "";
+            default -> null;
+        });
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).extracting(Job::getExternalId).containsExactly("Indeed-0-0", "Indeed-0-1");
+    }
+
+    @Test
+    void crawl_WithPrefetch_WhenAPageInOrderFails_ShouldFail() {
+        // Given
+        JobSearchCrawler crawler = prefetchingCrawler(3, 8, page -> page == 1 ? null : items(page, 2));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block())
+                .isInstanceOf(WebClientResponseException.class);
+    }
+
+    @Test
+    void crawl_WithPrefetch_WhenConsumerStopsAtWatermark_ShouldNotRequestFurtherPages() {
+        // Given
+        JobSearchCrawler crawler = prefetchingCrawler(2, 8, page -> items(page, 2));
+
+        // When
+        List<Job> jobs = crawler.crawl(ScrapeQuery.of(Platform.INDEED, "java", "paris"))
+                .takeWhile(job -> !job.getExternalId().equals("Indeed-0-1"))
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(jobs).extracting(Job::getExternalId).containsExactly("Indeed-0-0");
+        assertThat(requests).hasSizeLessThanOrEqualTo(3);
+    }
+
+    private JobSearchCrawler crawler(Function<ClientRequest, String> pages) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).body(pages.apply(request)).build());
+        });
+        JobSearchCrawler crawler = new JobSearchCrawler(builder, new JobExtractor(properties), properties, rateLimit(8),
+                new ScrapePipelineMetrics(meterRegistry));
+        crawler.init();
+        return crawler;
+    }
+
+    /**
+     * Offset-paginated platform of 2 items per page and 5 pages at most, answering after a short delay;
+     * a {@code null} page answers 500.
+     */
+    private JobSearchCrawler prefetchingCrawler(int prefetch, int maxConcurrency, IntFunction<String> pages) {
+        ScraperExtractionProperties.Field id = new ScraperExtractionProperties.Field(null, null, "data-id", null,
+                ScraperExtractionProperties.Mapper.TEXT);
+        ScraperExtractionProperties.Field title = new ScraperExtractionProperties.Field(null, null, null, null,
+                ScraperExtractionProperties.Mapper.TEXT);
+        ScraperExtractionProperties.Site site = new ScraperExtractionProperties.Site("https://www.indeed.com/jobs?q={keyword}&start={offset}",
+                "li.job", new ScraperExtractionProperties.Fields(id, title, null, null, null, null),
+                new ScraperExtractionProperties.Pagination(ScraperExtractionProperties.Pagination.Mode.OFFSET, 2, 5, null, prefetch));
+        ScraperExtractionProperties rules = new ScraperExtractionProperties("agent", Map.of(Platform.INDEED, site));
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            int page = Integer.parseInt(request.url().getQuery().replaceAll(".*start=", "")) / 2;
+            String body = pages.apply(page);
+            return Mono.delay(Duration.ofMillis(50))
+                    .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doOnNext(ignored -> inFlight.decrementAndGet())
+                    .doOnCancel(inFlight::decrementAndGet)
+                    .map(ignored -> body == null
+                            ? ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()
+                            : ClientResponse.create(HttpStatus.OK).body(body).build());
+        });
+        JobSearchCrawler crawler = new JobSearchCrawler(builder, new JobExtractor(rules), rules, rateLimit(maxConcurrency),
+                new ScrapePipelineMetrics(meterRegistry));
+        crawler.init();
+        return crawler;
+    }
+
+    private static String items(int page, int count) {
+        StringBuilder html = new StringBuilder("<ul>");
+        for (int i = 0; i < count; i++) {
+            html.append("<li class=\"job\" data-id=\"").append(page).append('-').append(i).append("\">Job</li>");
+        }
+        return html.append("</ul>").toString();
+    }
+
+    private static ScraperRateLimitProperties rateLimit(int maxConcurrency) {
+        return new ScraperRateLimitProperties(true, new ScraperRateLimitProperties.Limit(1, 5, 1, 1, maxConcurrency),
+                Map.of(), Duration.ofSeconds(5), 0.5);
+    }
+}
@@ -0,0 +1,124 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.sun.net.httpserver.HttpServer;
+import com.vedisee.jobstracker.config.ScraperHttpClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PlatformHttpConnectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private PlatformHttpConnector connector;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/jobs", exchange -> {
+            acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] body = gzip("<html>jobs</html>");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        ScraperHttpClientProperties.Pool pool = new ScraperHttpClientProperties.Pool(2, 8, Duration.ofSeconds(5),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(30));
+        ScraperHttpClientProperties properties = new ScraperHttpClientProperties(Duration.ofSeconds(2), Duration.ofSeconds(2),
+                Duration.ofMillis(200), true, true, pool, Map.of());
+        connector = new PlatformHttpConnector(properties, meterRegistry);
+        webClient = WebClient.builder().clientConnector(connector).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connector.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void connect_ShouldRequestAndDecodeCompressedResponsesThroughThePool() {
+        // When
+        String first = webClient.get().uri(url("/jobs")).retrieve().bodyToMono(String.class).block();
+        await().atMost(Duration.ofSeconds(5)).until(() -> connections("idle") == 1);
+        String second = webClient.get().uri(url("/jobs")).retrieve().bodyToMono(String.class).block();
+
+        // Then
+        assertThat(first).isEqualTo("<html>jobs</html>");
+        assertThat(second).isEqualTo(first);
+        assertThat(acceptEncodings).allSatisfy(encoding -> assertThat(encoding).contains("gzip"));
+        assertThat(connections("total")).isEqualTo(1);
+        assertThat(meterRegistry.get("scraper.http.pool.max.connections")
+                .tag("pool", PlatformHttpConnector.DEFAULT_POOL).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void connect_WhenResponseIsLate_ShouldTimeOut() {
+        // When
+        // Then
+        assertThatThrownBy(() -> webClient.get().uri(url("/slow")).retrieve().toBodilessEntity().block())
+                .hasRootCauseInstanceOf(ReadTimeoutException.class);
+    }
+
+    @Test
+    void poolName_ShouldRouteEachPlatformHostToItsOwnPool() {
+        // When
+        // Then
+        assertThat(connector.poolName(URI.create("https://www.linkedin.com/jobs-guest/jobs/api/seeMoreJobPostings/search")))
+                .isEqualTo("scraper-linkedin");
+        assertThat(connector.poolName(URI.create("https://WWW.INDEED.COM/jobs?q=java"))).isEqualTo("scraper-indeed");
+        assertThat(connector.poolName(URI.create("https://careers.google.com/jobs/results/"))).isEqualTo("scraper-google_jobs");
+        assertThat(connector.poolName(URI.create("https://example.org/"))).isEqualTo(PlatformHttpConnector.DEFAULT_POOL);
+    }
+
+    private double connections(String state) {
+        return meterRegistry.get("scraper.http.pool.connections")
+                .tags("pool", PlatformHttpConnector.DEFAULT_POOL, "state", state).gauge().value();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
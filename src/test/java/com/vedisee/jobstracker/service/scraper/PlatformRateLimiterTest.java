@@ -0,0 +1,214 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperRateLimitProperties;
+import com.vedisee.jobstracker.model.Platform;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlatformRateLimiterTest {
+
+    private static final String URL = "https://www.indeed.com/jobs?q=java&l=paris";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<ClientRequest> exchanged = new ArrayList<>();
+
+    @Test
+    void filter_WhenBurstIsSpent_ShouldDelayUntilBucketRefills() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(20, 2, 4, 1, 8));
+        WebClient webClient = webClient(limiter, request -> ok());
+
+        // When
+        long start = System.nanoTime();
+        get(webClient, URL);
+        get(webClient, URL);
+        long afterBurst = System.nanoTime();
+        get(webClient, URL);
+        long afterThird = System.nanoTime();
+
+        // Then
+        assertThat(exchanged).hasSize(3);
+        assertThat(Duration.ofNanos(afterBurst - start)).isLessThan(Duration.ofMillis(40));
+        assertThat(Duration.ofNanos(afterThird - afterBurst)).isGreaterThanOrEqualTo(Duration.ofMillis(40));
+    }
+
+    @Test
+    void filter_OnTooManyRequests_ShouldHalveConcurrencyAndCountThrottle() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 4, 1, 8));
+        WebClient webClient = webClient(limiter, request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()));
+
+        // When
+        int status = get(webClient, URL);
+
+        // Then
+        assertThat(status).isEqualTo(429);
+        assertThat(limiter.throttle(Platform.INDEED).concurrencyLimit()).isEqualTo(2.0);
+        assertThat(limiter.throttle(Platform.INDEED).inFlight()).isZero();
+        assertThat(meterRegistry.counter("scraper.rate.limit.throttled", "platform", "INDEED", "reason", "429").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("scraper.rate.limit.concurrency").tag("platform", "INDEED").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void filter_WhenHealthy_ShouldGrowConcurrencyAdditivelyUpToMax() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(1000, 100, 2, 1, 3));
+        WebClient webClient = webClient(limiter, request -> ok());
+
+        // When
+        get(webClient, URL);
+        get(webClient, URL);
+        double afterTwo = limiter.throttle(Platform.INDEED).concurrencyLimit();
+        for (int i = 0; i < 20; i++) {
+            get(webClient, URL);
+        }
+
+        // Then
+        assertThat(afterTwo).isGreaterThan(2.5).isLessThan(3.0);
+        assertThat(limiter.throttle(Platform.INDEED).concurrencyLimit()).isEqualTo(3.0);
+    }
+
+    @Test
+    void filter_OnLatencySpike_ShouldBackOff() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 4, 1, 8));
+        WebClient webClient = webClient(limiter, request -> {
+            nanoTime.addAndGet(Duration.ofSeconds(6).toNanos());
+            return ok();
+        });
+
+        // When
+        get(webClient, URL);
+
+        // Then
+        assertThat(limiter.throttle(Platform.INDEED).concurrencyLimit()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("scraper.rate.limit.throttled", "platform", "INDEED", "reason", "latency").count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_ShouldBackOffOnceForRequestsAlreadyInFlight() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 8, 1, 8));
+        AdaptiveThrottle throttle = limiter.throttle(Platform.INDEED);
+        AdaptiveThrottle.Permit first = throttle.acquire().block();
+        AdaptiveThrottle.Permit second = throttle.acquire().block();
+        nanoTime.addAndGet(1);
+
+        // When
+        boolean firstBackedOff = throttle.release(first, AdaptiveThrottle.Outcome.THROTTLED);
+        boolean secondBackedOff = throttle.release(second, AdaptiveThrottle.Outcome.THROTTLED);
+
+        // Then
+        assertThat(firstBackedOff).isTrue();
+        assertThat(secondBackedOff).isFalse();
+        assertThat(throttle.concurrencyLimit()).isEqualTo(4.0);
+    }
+
+    @Test
+    void acquire_WhenConcurrencyLimitReached_ShouldQueueUntilRelease() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 1, 1, 1));
+        AdaptiveThrottle throttle = limiter.throttle(Platform.INDEED);
+        AdaptiveThrottle.Permit first = throttle.acquire().block();
+        List<AdaptiveThrottle.Permit> granted = new ArrayList<>();
+
+        // When
+        Disposable waiting = throttle.acquire().subscribe(granted::add);
+        int queuedBeforeRelease = throttle.queued();
+        throttle.release(first, AdaptiveThrottle.Outcome.SUCCESS);
+
+        // Then
+        assertThat(queuedBeforeRelease).isEqualTo(1);
+        assertThat(granted).hasSize(1);
+        assertThat(throttle.inFlight()).isEqualTo(1);
+        waiting.dispose();
+    }
+
+    @Test
+    void acquire_WhenWaiterCancelled_ShouldLeaveQueue() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 1, 1, 1));
+        AdaptiveThrottle throttle = limiter.throttle(Platform.INDEED);
+        AdaptiveThrottle.Permit first = throttle.acquire().block();
+
+        // When
+        throttle.acquire().subscribe().dispose();
+        throttle.release(first, AdaptiveThrottle.Outcome.SUCCESS);
+
+        // Then
+        assertThat(throttle.queued()).isZero();
+        assertThat(throttle.inFlight()).isZero();
+    }
+
+    @Test
+    void filter_OnRetryAfter_ShouldEmptyBucket() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 4, 1, 8));
+        WebClient webClient = webClient(limiter, request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build()));
+
+        // When
+        get(webClient, URL);
+
+        // Then
+        assertThat(limiter.throttle(Platform.INDEED).availableTokens()).isZero();
+        assertThat(meterRegistry.counter("scraper.rate.limit.throttled", "platform", "INDEED", "reason", "503").count()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_ForOtherHosts_ShouldNotBeLimited() {
+        // Given
+        PlatformRateLimiter limiter = limiter(new ScraperRateLimitProperties.Limit(100, 10, 4, 1, 8));
+        WebClient webClient = webClient(limiter, request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build()));
+
+        // When
+        get(webClient, "https://example.com/jobs");
+
+        // Then
+        assertThat(exchanged).hasSize(1);
+        assertThat(limiter.throttle(Platform.INDEED).concurrencyLimit()).isEqualTo(4.0);
+        assertThat(meterRegistry.find("scraper.rate.limit.throttled").counters()).isEmpty();
+    }
+
+    private PlatformRateLimiter limiter(ScraperRateLimitProperties.Limit indeed) {
+        ScraperRateLimitProperties properties = new ScraperRateLimitProperties(true,
+                new ScraperRateLimitProperties.Limit(1, 5, 2, 1, 8), Map.of(Platform.INDEED, indeed), Duration.ofSeconds(5), 0.5);
+        return new PlatformRateLimiter(properties, meterRegistry, nanoTime::get);
+    }
+
+    private WebClient webClient(PlatformRateLimiter limiter, Function<ClientRequest, Mono<ClientResponse>> server) {
+        return WebClient.builder()
+                .filter(limiter)
+                .exchangeFunction(request -> {
+                    exchanged.add(request);
+                    return server.apply(request);
+                })
+                .build();
+    }
+
+    private static Mono<ClientResponse> ok() {
+        return Mono.just(ClientResponse.create(HttpStatus.OK).body("page").build());
+    }
+
+    private static int get(WebClient webClient, String url) {
+        return webClient.get().uri(url).exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value())).block();
+    }
+}
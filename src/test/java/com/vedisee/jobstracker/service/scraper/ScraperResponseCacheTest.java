@@ -0,0 +1,182 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.ScraperHttpCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScraperResponseCacheTest {
+
+    private static final String URL = "https://www.indeed.com/jobs?q=java&l=paris";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final List<ClientRequest> exchanged = new ArrayList<>();
+
+    @Test
+    void filter_WithinTtl_ShouldServeFromCache() {
+        // Given
+        WebClient webClient = webClient(cache(10), request -> ok("page", null));
+
+        // When
+        String first = get(webClient, URL);
+        String second = get(webClient, "https://WWW.INDEED.COM/jobs?l=paris&q=java");
+
+        // Then
+        assertThat(first).isEqualTo("page");
+        assertThat(second).isEqualTo("page");
+        assertThat(exchanged).hasSize(1);
+        assertThat(counter("miss")).isEqualTo(1);
+        assertThat(counter("hit")).isEqualTo(1);
+        assertThat(meterRegistry.counter("scraper.http.cache.saved.bytes", "platform", "INDEED").count()).isEqualTo(4);
+    }
+
+    @Test
+    void filter_WhenStaleWithEtag_ShouldRevalidateAndReuseBodyOnNotModified() {
+        // Given
+        WebClient webClient = webClient(cache(10), request -> exchanged.size() == 1
+                ? ok("page", "\"v1\"")
+                : Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build()));
+        get(webClient, URL);
+        clock.advance(Duration.ofMinutes(11));
+
+        // When
+        String body = get(webClient, URL);
+
+        // Then
+        assertThat(body).isEqualTo("page");
+        assertThat(exchanged).hasSize(2);
+        assertThat(exchanged.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(counter("revalidated")).isEqualTo(1);
+    }
+
+    @Test
+    void filter_WhenStaleWithoutValidators_ShouldFetchAgain() {
+        // Given
+        WebClient webClient = webClient(cache(10), request -> ok("page-" + exchanged.size(), null));
+        get(webClient, URL);
+        clock.advance(Duration.ofMinutes(11));
+
+        // When
+        String body = get(webClient, URL);
+
+        // Then
+        assertThat(body).isEqualTo("page-2");
+        assertThat(counter("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void filter_ShouldEvictLeastRecentlyUsedEntriesPastMaxEntries() {
+        // Given
+        ScraperResponseCache cache = cache(2);
+        WebClient webClient = webClient(cache, request -> ok("page", null));
+
+        // When
+        get(webClient, URL + "&p=1");
+        get(webClient, URL + "&p=2");
+        get(webClient, URL + "&p=3");
+        get(webClient, URL + "&p=1");
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(exchanged).hasSize(4);
+        assertThat(meterRegistry.counter("scraper.http.cache.evictions").count()).isEqualTo(2);
+    }
+
+    @Test
+    void filter_ShouldNotCacheNonGetOrErrorResponses() {
+        // Given
+        ScraperResponseCache cache = cache(10);
+        WebClient webClient = webClient(cache, request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        // When
+        webClient.head().uri(URL).exchangeToMono(ClientResponse::releaseBody).block();
+        webClient.get().uri(URL).exchangeToMono(ClientResponse::releaseBody).block();
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(exchanged).hasSize(2);
+    }
+
+    @Test
+    void key_ShouldNormalizeHostAndQueryOrder() {
+        assertThat(ScraperResponseCache.key(URI.create("HTTPS://Example.COM/jobs?b=2&a=1")))
+                .isEqualTo(ScraperResponseCache.key(URI.create("https://example.com/jobs?a=1&b=2")));
+    }
+
+    private ScraperResponseCache cache(int maxEntries) {
+        return new ScraperResponseCache(new ScraperHttpCacheProperties(true, Duration.ofMinutes(10), maxEntries, DataSize.ofMegabytes(1)),
+                meterRegistry, clock);
+    }
+
+    private WebClient webClient(ScraperResponseCache cache, Function<ClientRequest, Mono<ClientResponse>> server) {
+        return WebClient.builder()
+                .filter(cache)
+                .exchangeFunction(request -> {
+                    exchanged.add(request);
+                    return server.apply(request);
+                })
+                .build();
+    }
+
+    private static Mono<ClientResponse> ok(String body, String etag) {
+        ClientResponse.Builder builder = ClientResponse.create(HttpStatus.OK).body(body);
+        if (etag != null) {
+            builder.header(HttpHeaders.ETAG, etag);
+        }
+        return Mono.just(builder.build());
+    }
+
+    private static String get(WebClient webClient, String url) {
+        return webClient.get().uri(url).retrieve().bodyToMono(String.class).block();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.counter("scraper.http.cache.requests", "result", result, "platform", "INDEED").count();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
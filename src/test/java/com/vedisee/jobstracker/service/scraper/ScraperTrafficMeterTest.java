@@ -0,0 +1,49 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScraperTrafficMeterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WebClient webClient = WebClient.builder()
+            .filter(new ScraperTrafficMeter(new ScrapePipelineMetrics(meterRegistry)))
+            .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("twelve bytes").build()))
+            .build();
+
+    @Test
+    void filter_ShouldAddDownloadedBytesToTallyOfTheTask() {
+        // Given
+        LongAdder bytes = new LongAdder();
+        Flux<String> pages = Flux.just("https://www.indeed.com/jobs?q=java", "https://www.indeed.com/jobs?q=kotlin")
+                .concatMap(url -> webClient.get().uri(url).retrieve().bodyToMono(String.class));
+
+        // When
+        List<String> bodies = ScraperTrafficMeter.tally(pages, bytes).collectList().block();
+
+        // Then
+        assertThat(bodies).hasSize(2);
+        assertThat(bytes.sum()).isEqualTo(24);
+        assertThat(meterRegistry.get("scraper.http.response.size").tag("platform", "INDEED").summary().totalAmount()).isEqualTo(24);
+    }
+
+    @Test
+    void filter_WhenUrlIsNotAPlatform_ShouldNotCount() {
+        // When
+        webClient.get().uri("https://example.org/").retrieve().bodyToMono(String.class).block();
+
+        // Then
+        assertThat(meterRegistry.find("scraper.http.response.size").summary()).isNull();
+    }
+}
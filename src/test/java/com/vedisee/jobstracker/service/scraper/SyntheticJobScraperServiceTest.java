@@ -0,0 +1,133 @@
+package com.vedisee.jobstracker.service.scraper;
+
+import com.vedisee.jobstracker.config.SyntheticScraperProperties;
+import com.vedisee.jobstracker.model.Job;
+import com.vedisee.jobstracker.model.Platform;
+import com.vedisee.jobstracker.service.ScrapePipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyntheticJobScraperServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fetch_ShouldGenerateTheConfiguredVolumeDeterministically() {
+        // Given
+        SyntheticScraperProperties properties = properties(42, 0.2, 0);
+        ScrapeQuery query = ScrapeQuery.of(Platform.INDEED, "java", "paris");
+
+        // When
+        List<Job> first = scraper(properties).fetch(query).collectList().block();
+        List<Job> second = scraper(properties).fetch(query).collectList().block();
+        List<Job> otherSeed = scraper(properties(7, 0.2, 0)).fetch(query).collectList().block();
+
+        // Then
+        assertThat(first).hasSize(1000);
+        assertThat(first).usingRecursiveFieldByFieldElementComparator().isEqualTo(second);
+        assertThat(first).allSatisfy(job -> {
+            assertThat(job.getPlatform()).isEqualTo(Platform.INDEED);
+            assertThat(job.getExternalId()).startsWith("Indeed-synthetic-");
+            assertThat(job.getDescription()).hasSize(300);
+        });
+        assertThat(ids(otherSeed)).doesNotContainAnyElementsOf(ids(first));
+        assertThat(meterRegistry.get("scraper.pipeline.stage.jobs").tags("stage", "parse", "platform", "INDEED")
+                .summary().totalAmount()).isEqualTo(3000);
+    }
+
+    @Test
+    void fetch_ShouldShareTheDuplicateRateBetweenQueries() {
+        // Given
+        SyntheticJobScraperService scraper = scraper(properties(42, 0.3, 0));
+
+        // When
+        Set<String> java = ids(scraper.fetch(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block());
+        Set<String> kotlin = ids(scraper.fetch(ScrapeQuery.of(Platform.INDEED, "kotlin", "lyon")).collectList().block());
+        Set<String> linkedIn = ids(scraper(Platform.LINKEDIN, properties(42, 0.3, 0))
+                .fetch(ScrapeQuery.of(Platform.LINKEDIN, "java", "paris")).collectList().block());
+
+        // Then
+        Set<String> shared = new HashSet<>(java);
+        shared.retainAll(kotlin);
+        assertThat(shared.size()).isBetween(50, 150);
+        assertThat(linkedIn).doesNotContainAnyElementsOf(java);
+    }
+
+    @Test
+    void fetch_WithoutDuplicates_ShouldGenerateDistinctJobsPerQuery() {
+        // Given
+        SyntheticJobScraperService scraper = scraper(properties(42, 0, 0));
+
+        // When
+        Set<String> java = ids(scraper.fetch(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block());
+        Set<String> kotlin = ids(scraper.fetch(ScrapeQuery.of(Platform.INDEED, "kotlin", "paris")).collectList().block());
+
+        // Then
+        assertThat(java).hasSize(1000);
+        assertThat(kotlin).hasSize(1000).doesNotContainAnyElementsOf(java);
+    }
+
+    @Test
+    void fetch_WhenPagesFail_ShouldFailTheQuery() {
+        // Given
+        SyntheticJobScraperService scraper = scraper(properties(42, 0, 1));
+
+        // When
+        // Then
+        assertThatThrownBy(() -> scraper.fetch(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Synthetic failure of page 1");
+    }
+
+    @Test
+    void fetch_ShouldSimulatePageLatency() {
+        // Given
+        SyntheticJobScraperService scraper = scraper(new SyntheticScraperProperties(42, 40, 10, 0, 100,
+                Duration.ofMillis(20), 0, 0));
+
+        // When
+        long start = System.nanoTime();
+        List<Job> jobs = scraper.fetch(ScrapeQuery.of(Platform.INDEED, "java", "paris")).collectList().block();
+
+        // Then
+        assertThat(jobs).hasSize(40);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(80));
+    }
+
+    @Test
+    void scraper_ShouldNotNeedTheNetwork() {
+        // Given
+        SyntheticJobScraperService scraper = scraper(properties(42, 0, 0));
+
+        // When
+        // Then
+        assertThat(scraper.isAvailable()).isTrue();
+        assertThat(scraper.isRemote()).isFalse();
+    }
+
+    private SyntheticJobScraperService scraper(SyntheticScraperProperties properties) {
+        return scraper(Platform.INDEED, properties);
+    }
+
+    private SyntheticJobScraperService scraper(Platform platform, SyntheticScraperProperties properties) {
+        return new SyntheticJobScraperService(platform, properties, new ScrapePipelineMetrics(meterRegistry));
+    }
+
+    private static SyntheticScraperProperties properties(long seed, double duplicateRate, double errorRate) {
+        return new SyntheticScraperProperties(seed, 1000, 25, duplicateRate, 300, Duration.ZERO, 0.5, errorRate);
+    }
+
+    private static Set<String> ids(List<Job> jobs) {
+        Set<String> ids = new HashSet<>();
+        jobs.forEach(job -> ids.add(job.getExternalId()));
+        return ids;
+    }
+}